@@ -1,9 +1,30 @@
 package com.mechtrack.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mechtrack.model.dto.AnalyticsBucketDto;
+import com.mechtrack.model.dto.AnalyticsComparisonDto;
+import com.mechtrack.model.dto.AnalyticsTrendDto;
+import com.mechtrack.model.dto.CarModelRankingDto;
+import com.mechtrack.model.dto.CustomerValueDto;
 import com.mechtrack.model.dto.DailyAnalyticsDto;
+import com.mechtrack.model.dto.DashboardDto;
+import com.mechtrack.model.dto.DistributionDto;
+import com.mechtrack.model.dto.JobBreakdownDto;
+import com.mechtrack.model.dto.JobProfitabilityDto;
 import com.mechtrack.model.dto.MonthlyAnalyticsDto;
+import com.mechtrack.model.dto.RollupDiscrepancyDto;
+import com.mechtrack.model.enums.CarModelMetric;
+import com.mechtrack.model.enums.ComparisonPeriod;
+import com.mechtrack.model.enums.CustomerRanking;
+import com.mechtrack.model.enums.ExportFormat;
 import com.mechtrack.model.enums.TimeInterval;
+import com.mechtrack.service.AnalyticsCarModelService;
+import com.mechtrack.service.AnalyticsCustomerService;
+import com.mechtrack.service.AnalyticsDistributionService;
+import com.mechtrack.service.AnalyticsRollupService;
 import com.mechtrack.service.AnalyticsService;
+import com.mechtrack.service.ExportWriter;
+import com.mechtrack.service.analytics.BucketSize;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,12 +34,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @RestController
@@ -28,7 +54,23 @@ import java.util.List;
 @Tag(name = "Analytics", description = "Financial analytics and reporting operations")
 public class AnalyticsController {
 
+    private static final int MAX_TREND_WINDOWS = 4;
+    private static final int MAX_TREND_WINDOW = 366;
+    private static final int MAX_SERIES_BUCKETS = 3660;
+    private static final List<ExportWriter.Column<DailyAnalyticsDto>> DAILY_EXPORT_COLUMNS = List.of(
+            new ExportWriter.Column<>("date", DailyAnalyticsDto::date),
+            new ExportWriter.Column<>("totalIncome", DailyAnalyticsDto::totalIncome),
+            new ExportWriter.Column<>("totalExpenses", DailyAnalyticsDto::totalExpenses),
+            new ExportWriter.Column<>("netProfit", DailyAnalyticsDto::netProfit),
+            new ExportWriter.Column<>("jobCount", DailyAnalyticsDto::jobCount),
+            new ExportWriter.Column<>("partCount", DailyAnalyticsDto::partCount));
+
     private final AnalyticsService analyticsService;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final AnalyticsDistributionService analyticsDistributionService;
+    private final AnalyticsCustomerService analyticsCustomerService;
+    private final AnalyticsCarModelService analyticsCarModelService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/monthly")
     @Operation(
@@ -149,6 +191,26 @@ public class AnalyticsController {
         return ResponseEntity.ok(summary);
     }
 
+    @GetMapping("/dashboard")
+    @Operation(
+        summary = "Get all dashboard analytics in one request",
+        description = "Returns the 12-month summary, the last 12 months and the daily analytics of the last 7 and 30 days together, " +
+                     "computed from one read of daily analytics. Each part equals the response of its standalone endpoint."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Dashboard analytics retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = DashboardDto.class)
+            )
+        )
+    })
+    public ResponseEntity<DashboardDto> getDashboard() {
+        return ResponseEntity.ok(analyticsService.getDashboard());
+    }
+
     @GetMapping("/daily")
     @Operation(
         summary = "Get daily analytics",
@@ -269,4 +331,547 @@ public class AnalyticsController {
         DailyAnalyticsDto analytics = analyticsService.getDailyAnalytics(date);
         return ResponseEntity.ok(analytics);
     }
-} 
+
+    @GetMapping("/series")
+    @Operation(
+        summary = "Get analytics series",
+        description = "Retrieves income, expenses, and profit for a date range split into buckets of the requested size: " +
+                     "day, ISO week, month, quarter, year, or a fixed number of days. " +
+                     "The first and last bucket are clipped to the requested range. " +
+                     "A series can have at most " + MAX_SERIES_BUCKETS + " buckets."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Analytics series retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AnalyticsBucketDto.class),
+                examples = @ExampleObject(
+                    name = "Weekly Series Response",
+                    value = """
+                    [
+                        {
+                            "start": "2025-09-01",
+                            "end": "2025-09-07",
+                            "totalIncome": 1250.00,
+                            "totalExpenses": 340.00,
+                            "netProfit": 910.00,
+                            "jobCount": 5,
+                            "partCount": 11
+                        },
+                        {
+                            "start": "2025-09-08",
+                            "end": "2025-09-10",
+                            "totalIncome": 300.00,
+                            "totalExpenses": 0.00,
+                            "netProfit": 300.00,
+                            "jobCount": 1,
+                            "partCount": 0
+                        }
+                    ]
+                    """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid bucket or date range")
+    })
+    public ResponseEntity<List<AnalyticsBucketDto>> getSeries(
+        @Parameter(
+            description = "Bucket size: day, week, month, quarter, year, or a number of days such as 14d",
+            example = "week"
+        )
+        @RequestParam(value = "bucket", defaultValue = "day")
+        String bucketCode,
+
+        @Parameter(description = "Start date in YYYY-MM-DD format", example = "2025-09-01", required = true)
+        @RequestParam("start")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate start,
+
+        @Parameter(description = "End date in YYYY-MM-DD format", example = "2025-09-10", required = true)
+        @RequestParam("end")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate end) {
+
+        BucketSize bucketSize = BucketSize.fromCode(bucketCode);
+        validateSeriesRange(bucketSize, start, end);
+
+        return ResponseEntity.ok(analyticsService.getSeries(bucketSize, start, end));
+    }
+
+    @GetMapping("/series/trend")
+    @Operation(
+        summary = "Get analytics trend",
+        description = "Retrieves net profit per bucket together with moving averages over the given window sizes " +
+                     "and the running year-to-date total. Defaults to 7 and 30 bucket windows over daily buckets. " +
+                     "A trend can have at most " + MAX_SERIES_BUCKETS + " buckets."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Analytics trend retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AnalyticsTrendDto.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid bucket, window or date range")
+    })
+    public ResponseEntity<List<AnalyticsTrendDto>> getTrend(
+        @Parameter(
+            description = "Bucket size: day, week, month, quarter, year, or a number of days such as 14d",
+            example = "day"
+        )
+        @RequestParam(value = "bucket", defaultValue = "day")
+        String bucketCode,
+
+        @Parameter(description = "Start date in YYYY-MM-DD format", example = "2025-09-01", required = true)
+        @RequestParam("start")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate start,
+
+        @Parameter(description = "End date in YYYY-MM-DD format", example = "2025-09-30", required = true)
+        @RequestParam("end")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate end,
+
+        @Parameter(description = "Moving average window sizes in buckets (1 to " + MAX_TREND_WINDOW + ")", example = "7,30")
+        @RequestParam(value = "windows", defaultValue = "7,30")
+        List<Integer> windows) {
+
+        BucketSize bucketSize = BucketSize.fromCode(bucketCode);
+        validateSeriesRange(bucketSize, start, end);
+        if (windows.isEmpty() || windows.size() > MAX_TREND_WINDOWS
+                || windows.stream().anyMatch(window -> window == null || window < 1 || window > MAX_TREND_WINDOW)) {
+            throw new IllegalArgumentException("Windows must be 1 to " + MAX_TREND_WINDOWS +
+                " sizes between 1 and " + MAX_TREND_WINDOW);
+        }
+
+        return ResponseEntity.ok(analyticsService.getTrend(bucketSize, start, end, windows.stream().distinct().toList()));
+    }
+
+    @GetMapping("/compare")
+    @Operation(
+        summary = "Compare a period with a baseline",
+        description = "Returns income, expenses, net profit and counts for a date range next to the same dates one year earlier " +
+                     "or the previous period of equal length, with absolute and percentage changes. Defaults to the current month against last year."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Comparison retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AnalyticsComparisonDto.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid comparison period or date range")
+    })
+    public ResponseEntity<AnalyticsComparisonDto> compare(
+        @Parameter(description = "Start date in YYYY-MM-DD format (defaults to the start of the current month)", example = "2025-09-01")
+        @RequestParam(value = "start", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate start,
+
+        @Parameter(description = "End date in YYYY-MM-DD format (defaults to today)", example = "2025-09-20")
+        @RequestParam(value = "end", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate end,
+
+        @Parameter(
+            description = "Baseline: year (same dates last year) or previous (previous period of equal length)",
+            example = "year",
+            schema = @Schema(allowableValues = {"year", "previous"})
+        )
+        @RequestParam(value = "against", defaultValue = "year")
+        String againstCode) {
+
+        ComparisonPeriod comparedTo = ComparisonPeriod.fromCode(againstCode);
+        if (start == null || end == null) {
+            end = LocalDate.now();
+            start = end.withDayOfMonth(1);
+        } else if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+
+        return ResponseEntity.ok(analyticsService.compare(start, end, comparedTo));
+    }
+
+    @GetMapping("/daily/export")
+    @Operation(
+        summary = "Export daily analytics",
+        description = "Streams daily financial analytics for a date range as NDJSON, one JSON array or CSV. " +
+                     "Rows are written as they are read, so long ranges such as multi-year exports use constant memory."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Daily analytics export streamed successfully",
+            content = {
+                @Content(mediaType = "application/x-ndjson"),
+                @Content(mediaType = "application/json"),
+                @Content(mediaType = "text/csv")
+            }
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid export format or date range")
+    })
+    public ResponseEntity<StreamingResponseBody> exportDailyAnalytics(
+        @Parameter(description = "Start date in YYYY-MM-DD format", example = "2015-01-01", required = true)
+        @RequestParam("start")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate start,
+
+        @Parameter(description = "End date in YYYY-MM-DD format", example = "2025-09-20", required = true)
+        @RequestParam("end")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate end,
+
+        @Parameter(
+            description = "Export format",
+            example = "ndjson",
+            schema = @Schema(allowableValues = {"ndjson", "json", "csv"})
+        )
+        @RequestParam(value = "format", defaultValue = "ndjson")
+        String formatCode) {
+
+        ExportFormat format = ExportFormat.fromCode(formatCode);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            ExportWriter<DailyAnalyticsDto> writer =
+                    new ExportWriter<>(outputStream, format, objectMapper, DAILY_EXPORT_COLUMNS);
+            writer.writeHeader();
+            analyticsService.streamDailyAnalytics(start, end, writer);
+            writer.writeFooter();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"daily-analytics-" + start + "-" + end + "." + format.getCode() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/breakdown")
+    @Operation(
+        summary = "Get revenue breakdown by job type and status",
+        description = "Returns income, job count and average ticket per job type plus job counts per status. " +
+                     "Defaults to the current month; a start and end date select a custom range instead."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Breakdown retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = JobBreakdownDto.class)
+            )
+        )
+    })
+    public ResponseEntity<JobBreakdownDto> getJobBreakdown(
+        @Parameter(description = "Month in YYYY-MM format (defaults to the current month)", example = "2025-09")
+        @RequestParam(value = "month", required = false)
+        @DateTimeFormat(pattern = "yyyy-MM")
+        YearMonth month,
+
+        @Parameter(description = "Start date in YYYY-MM-DD format (optional, overrides month)", example = "2025-09-01")
+        @RequestParam(value = "start", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate start,
+
+        @Parameter(description = "End date in YYYY-MM-DD format (optional, overrides month)", example = "2025-09-20")
+        @RequestParam(value = "end", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate end) {
+
+        JobBreakdownDto breakdown;
+
+        if (start != null && end != null) {
+            breakdown = analyticsService.getJobBreakdown(start, end);
+        } else {
+            breakdown = analyticsService.getJobBreakdown(month != null ? month : YearMonth.now());
+        }
+
+        return ResponseEntity.ok(breakdown);
+    }
+
+    @GetMapping("/distribution")
+    @Operation(
+        summary = "Get job income and part cost percentiles",
+        description = "Returns p50, p90 and p99 of job income and part cost per month and over the whole range. " +
+                     "Values are estimated from quantile sketches with at most 1% relative error. Returns the last 12 months by default."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Distribution retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = DistributionDto.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid month range")
+    })
+    public ResponseEntity<DistributionDto> getDistribution(
+        @Parameter(description = "Start month in YYYY-MM format", example = "2025-01")
+        @RequestParam(value = "start", required = false)
+        @DateTimeFormat(pattern = "yyyy-MM")
+        YearMonth start,
+
+        @Parameter(description = "End month in YYYY-MM format", example = "2025-12")
+        @RequestParam(value = "end", required = false)
+        @DateTimeFormat(pattern = "yyyy-MM")
+        YearMonth end,
+
+        @Parameter(description = "Number of months to include from current month backwards", example = "6")
+        @RequestParam(value = "months", required = false, defaultValue = "12")
+        Integer months) {
+
+        if (start == null || end == null) {
+            end = YearMonth.now();
+            start = end.minusMonths(months - 1);
+        } else if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start month must not be after end month");
+        }
+
+        return ResponseEntity.ok(analyticsDistributionService.getDistribution(start, end));
+    }
+
+    @GetMapping("/jobs/profitability")
+    @Operation(
+        summary = "Get jobs ranked by profitability",
+        description = "Returns a page of jobs ranked by profit (income minus the cost of their parts). " +
+                     "Defaults to the most profitable jobs of the current month; a start and end date select a custom range instead."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Job profitability ranking retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = JobProfitabilityDto.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid order or date range")
+    })
+    public ResponseEntity<Page<JobProfitabilityDto>> getJobProfitability(
+        @Parameter(description = "Month in YYYY-MM format (defaults to the current month)", example = "2025-09")
+        @RequestParam(value = "month", required = false)
+        @DateTimeFormat(pattern = "yyyy-MM")
+        YearMonth month,
+
+        @Parameter(description = "Start date in YYYY-MM-DD format (optional, overrides month)", example = "2025-09-01")
+        @RequestParam(value = "start", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate start,
+
+        @Parameter(description = "End date in YYYY-MM-DD format (optional, overrides month)", example = "2025-09-20")
+        @RequestParam(value = "end", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate end,
+
+        @Parameter(
+            description = "Ranking order: most or least profitable first",
+            example = "most",
+            schema = @Schema(allowableValues = {"most", "least"})
+        )
+        @RequestParam(value = "order", defaultValue = "most")
+        String order,
+
+        @Parameter(description = "Zero-based page number", example = "0")
+        @RequestParam(value = "page", defaultValue = "0")
+        int page,
+
+        @Parameter(description = "Page size (at most " + AnalyticsService.MAX_PROFITABILITY_PAGE_SIZE + ")", example = "10")
+        @RequestParam(value = "size", defaultValue = "10")
+        int size) {
+
+        boolean mostProfitableFirst;
+        if ("most".equalsIgnoreCase(order)) {
+            mostProfitableFirst = true;
+        } else if ("least".equalsIgnoreCase(order)) {
+            mostProfitableFirst = false;
+        } else {
+            throw new IllegalArgumentException("Invalid order: " + order + ". Valid orders are: most, least");
+        }
+
+        if (start == null || end == null) {
+            YearMonth selected = month != null ? month : YearMonth.now();
+            start = selected.atDay(1);
+            end = selected.atEndOfMonth();
+        } else if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+
+        return ResponseEntity.ok(analyticsService.getJobProfitability(start, end, mostProfitableFirst, page, size));
+    }
+
+    @GetMapping("/customers")
+    @Operation(
+        summary = "Get customers ranked by lifetime value",
+        description = "Returns a page of customers with their total spend, visit count, first and last visit and average ticket. " +
+                     "Totals cover all of a customer's jobs and are kept current on every job write."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Customer ranking retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = CustomerValueDto.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid ranking")
+    })
+    public ResponseEntity<Page<CustomerValueDto>> getCustomers(
+        @Parameter(
+            description = "Ranking: highest total spend, most visits or most recent visit first",
+            example = "spend",
+            schema = @Schema(allowableValues = {"spend", "visits", "recent"})
+        )
+        @RequestParam(value = "sort", defaultValue = "spend")
+        String sortCode,
+
+        @Parameter(description = "Zero-based page number", example = "0")
+        @RequestParam(value = "page", defaultValue = "0")
+        int page,
+
+        @Parameter(description = "Page size (at most " + AnalyticsCustomerService.MAX_CUSTOMER_PAGE_SIZE + ")", example = "20")
+        @RequestParam(value = "size", defaultValue = "20")
+        int size) {
+
+        return ResponseEntity.ok(analyticsCustomerService.getCustomers(CustomerRanking.fromCode(sortCode), page, size));
+    }
+
+    @GetMapping("/car-models")
+    @Operation(
+        summary = "Get top car models by jobs or revenue",
+        description = "Returns the car models with the most jobs or the highest income over a range of months. " +
+                     "Values are estimated from per-month heavy-hitter summaries and may overestimate by at most maxError; " +
+                     "exact=true counts with a full GROUP BY instead, for verification. Returns the last 12 months by default."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Car model ranking retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = CarModelRankingDto.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid metric or month range")
+    })
+    public ResponseEntity<CarModelRankingDto> getTopCarModels(
+        @Parameter(description = "Start month in YYYY-MM format", example = "2025-01")
+        @RequestParam(value = "start", required = false)
+        @DateTimeFormat(pattern = "yyyy-MM")
+        YearMonth start,
+
+        @Parameter(description = "End month in YYYY-MM format", example = "2025-12")
+        @RequestParam(value = "end", required = false)
+        @DateTimeFormat(pattern = "yyyy-MM")
+        YearMonth end,
+
+        @Parameter(description = "Number of months to include from current month backwards", example = "6")
+        @RequestParam(value = "months", required = false, defaultValue = "12")
+        Integer months,
+
+        @Parameter(
+            description = "Rank by number of jobs or by revenue",
+            example = "jobs",
+            schema = @Schema(allowableValues = {"jobs", "revenue"})
+        )
+        @RequestParam(value = "by", defaultValue = "jobs")
+        String metricCode,
+
+        @Parameter(description = "Number of car models (at most " + AnalyticsCarModelService.MAX_CAR_MODELS + ")", example = "10")
+        @RequestParam(value = "limit", defaultValue = "10")
+        int limit,
+
+        @Parameter(description = "Count exactly instead of estimating (slower)", example = "false")
+        @RequestParam(value = "exact", defaultValue = "false")
+        boolean exact) {
+
+        CarModelMetric metric = CarModelMetric.fromCode(metricCode);
+        if (start == null || end == null) {
+            end = YearMonth.now();
+            start = end.minusMonths(months - 1);
+        } else if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start month must not be after end month");
+        }
+
+        return ResponseEntity.ok(analyticsCarModelService.getTopCarModels(start, end, metric, limit, exact));
+    }
+
+    @GetMapping("/rollup/discrepancies")
+    @Operation(
+        summary = "Check the analytics rollup",
+        description = "Recomputes daily totals from jobs and parts and returns every day where the stored rollup disagrees. " +
+                     "An empty list means the rollup is consistent for the range. " +
+                     "The range can span at most " + AnalyticsRollupService.MAX_RANGE_DAYS + " days."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Consistency check completed",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = RollupDiscrepancyDto.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<RollupDiscrepancyDto>> getRollupDiscrepancies(
+        @Parameter(description = "Start date in YYYY-MM-DD format", example = "2025-01-01")
+        @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+
+        @Parameter(description = "End date in YYYY-MM-DD format", example = "2025-12-31")
+        @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+
+        validateRollupRange(start, end);
+        return ResponseEntity.ok(analyticsRollupService.findDiscrepancies(start, end));
+    }
+
+    @PostMapping("/rollup/rebuild")
+    @Operation(
+        summary = "Rebuild the analytics rollup",
+        description = "Replaces the rollup rows in the date range with values recomputed from jobs and parts. " +
+                     "The range can span at most " + AnalyticsRollupService.MAX_RANGE_DAYS + " days."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rollup rebuilt; returns the number of rows written"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<Integer> rebuildRollup(
+        @Parameter(description = "Start date in YYYY-MM-DD format", example = "2025-01-01")
+        @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+
+        @Parameter(description = "End date in YYYY-MM-DD format", example = "2025-12-31")
+        @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+
+        validateRollupRange(start, end);
+        return ResponseEntity.ok(analyticsRollupService.rebuild(start, end));
+    }
+
+    private void validateSeriesRange(BucketSize bucketSize, LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        if (bucketSize.bucketCount(start, end) > MAX_SERIES_BUCKETS) {
+            throw new IllegalArgumentException("Date range must not span more than " + MAX_SERIES_BUCKETS +
+                " " + bucketSize + " buckets");
+        }
+    }
+
+    private void validateRollupRange(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= AnalyticsRollupService.MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + AnalyticsRollupService.MAX_RANGE_DAYS + " days");
+        }
+    }
+}
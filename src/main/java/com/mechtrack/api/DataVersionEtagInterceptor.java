@@ -0,0 +1,33 @@
+package com.mechtrack.api;
+
+import com.mechtrack.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+
+/**
+ * Tags GET responses with a strong ETag derived from the data version and the current date (relative
+ * ranges such as "last 7 days" move with the date). A request whose If-None-Match matches is answered
+ * with 304 before the controller runs, so no repository is touched.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersionEtagInterceptor implements HandlerInterceptor {
+
+    private final DataVersionService dataVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String etag = "\"" + dataVersionService.current() + "-" + LocalDate.now() + "\"";
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
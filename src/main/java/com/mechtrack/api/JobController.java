@@ -1,10 +1,16 @@
 package com.mechtrack.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mechtrack.model.dto.CreateJobRequest;
+import com.mechtrack.model.dto.JobCursorPageDto;
 import com.mechtrack.model.dto.JobDto;
 import com.mechtrack.model.dto.JobSearchCriteria;
+import com.mechtrack.model.dto.JobSummaryDto;
+import com.mechtrack.model.enums.ExportFormat;
 import com.mechtrack.model.enums.JobStatus;
 import com.mechtrack.model.enums.JobType;
+import com.mechtrack.service.ExportWriter;
+import com.mechtrack.service.JobFullTextSearch;
 import com.mechtrack.service.JobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,11 +24,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -35,7 +45,19 @@ import java.util.UUID;
 @Tag(name = "Jobs", description = "Operations related to automotive repair jobs management")
 public class JobController {
 
+    private static final List<ExportWriter.Column<JobDto>> EXPORT_COLUMNS = List.of(
+            new ExportWriter.Column<>("id", JobDto::id),
+            new ExportWriter.Column<>("customerName", JobDto::customerName),
+            new ExportWriter.Column<>("carModel", JobDto::carModel),
+            new ExportWriter.Column<>("description", JobDto::description),
+            new ExportWriter.Column<>("date", JobDto::date),
+            new ExportWriter.Column<>("income", JobDto::income),
+            new ExportWriter.Column<>("status", JobDto::status),
+            new ExportWriter.Column<>("type", JobDto::type),
+            new ExportWriter.Column<>("partCount", job -> job.parts().size()));
+
     private final JobService jobService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(
@@ -96,7 +118,8 @@ public class JobController {
     @GetMapping
     @Operation(
         summary = "Get all jobs",
-        description = "Retrieves a list of all automotive repair jobs in the system. Supports pagination for large datasets."
+        description = "Retrieves a list of all automotive repair jobs in the system, built in memory. " +
+                      "Large datasets should use /api/jobs/export or /api/jobs/cursor instead."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -113,6 +136,49 @@ public class JobController {
         return ResponseEntity.ok(jobs);
     }
 
+    @GetMapping("/export")
+    @Operation(
+        summary = "Export all jobs",
+        description = "Streams every job with its parts, newest first, as NDJSON or as one JSON array, " +
+                      "or as CSV with one row per job and its number of parts. " +
+                      "Jobs are written as they are read from the database, so memory use does not grow with the number of jobs."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Job export streamed successfully",
+            content = {
+                @Content(mediaType = "application/x-ndjson"),
+                @Content(mediaType = "application/json"),
+                @Content(mediaType = "text/csv")
+            }
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid export format")
+    })
+    public ResponseEntity<StreamingResponseBody> exportJobs(
+        @Parameter(
+            description = "Export format",
+            example = "ndjson",
+            schema = @Schema(allowableValues = {"ndjson", "json", "csv"})
+        )
+        @RequestParam(value = "format", defaultValue = "ndjson")
+        String formatCode) {
+
+        ExportFormat format = ExportFormat.fromCode(formatCode);
+
+        StreamingResponseBody body = outputStream -> {
+            ExportWriter<JobDto> writer = new ExportWriter<>(outputStream, format, objectMapper, EXPORT_COLUMNS);
+            writer.writeHeader();
+            jobService.exportJobs(writer);
+            writer.writeFooter();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"jobs." + format.getCode() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/paged")
     @Operation(
         summary = "Get all jobs with pagination",
@@ -126,6 +192,42 @@ public class JobController {
         return ResponseEntity.ok(jobs);
     }
 
+    @GetMapping("/summaries")
+    @Operation(
+        summary = "Get the job list",
+        description = "Retrieves a paginated list of jobs with only the columns the job list shows, plus the number " +
+                      "and total cost of their parts. Descriptions and parts are not loaded; use /api/jobs/{id} for those. " +
+                      "Sortable by date, customerName, carModel, status, type, income and id; ties are broken by id."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Unsupported sort property")
+    })
+    public ResponseEntity<Page<JobSummaryDto>> getJobSummaries(
+        @PageableDefault(size = 20, sort = "date", direction = Sort.Direction.DESC)
+        @Parameter(description = "Pagination parameters (page, size, sort)")
+        Pageable pageable) {
+        return ResponseEntity.ok(jobService.getJobSummaries(pageable));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(
+        summary = "Get jobs page by page with a cursor",
+        description = "Retrieves jobs newest first. Pass the returned nextCursor to get the following page; " +
+                      "unlike offset paging, a page costs the same however far into the list it is."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<JobCursorPageDto> getJobsByCursor(
+        @Parameter(description = "Cursor from the previous page; omit for the first page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size, at most " + JobService.MAX_CURSOR_PAGE_SIZE, example = "20")
+        @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(jobService.getJobsAfter(cursor, size));
+    }
+
     @GetMapping("/{id}")
     @Operation(
         summary = "Get job by ID",
@@ -152,13 +254,18 @@ public class JobController {
     @GetMapping("/search")
     @Operation(
         summary = "Search jobs with comprehensive filters",
-        description = "Search jobs by any combination of customer name, car model, description, date range, income range, status, type, and part information. All parameters are optional and can be combined for powerful filtering."
+        description = "Search jobs by any combination of customer name, car model, description, date range, income range, status, type, and part information. All parameters are optional and can be combined for powerful filtering. " +
+                      "With q, jobs matching the free-text query are ranked by relevance and the other parameters filter them."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid search parameters")
     })
     public ResponseEntity<List<JobDto>> searchJobs(
+        @Parameter(description = "Free-text search over customer name, car model, description and part names. " +
+                                 "Results are ordered by relevance, at most " + JobFullTextSearch.MAX_RESULTS, example = "smith brake")
+        @RequestParam(name = "q", required = false) String query,
+
         @Parameter(description = "Customer name (partial match, case-insensitive)", example = "John")
         @RequestParam(required = false) String customerName,
         
@@ -203,6 +310,7 @@ public class JobController {
         
         JobSearchCriteria criteria = buildSearchCriteria(customerName, carModel, description, startDate, endDate, 
                 minIncome, maxIncome, status, statuses, type, types, partName, minPartCost, maxPartCost);
+        criteria.setQuery(query);
         
         List<JobDto> jobs = jobService.searchJobs(criteria, Pageable.unpaged()).getContent();
         return ResponseEntity.ok(jobs);
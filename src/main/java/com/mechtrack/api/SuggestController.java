@@ -0,0 +1,67 @@
+package com.mechtrack.api;
+
+import com.mechtrack.model.dto.SuggestionDto;
+import com.mechtrack.model.enums.SuggestField;
+import com.mechtrack.service.SuggestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/suggest")
+@RequiredArgsConstructor
+@Tag(name = "Suggestions", description = "Typeahead suggestions for search fields")
+public class SuggestController {
+
+    private final SuggestionService suggestionService;
+
+    @GetMapping
+    @Operation(
+        summary = "Suggest values while typing",
+        description = "Returns customer names, car models or part names containing the typed text, those starting with it first, " +
+                     "then the most used. Answered from memory, so it can be called on every keystroke."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Suggestions retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = SuggestionDto.class))
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid field")
+    })
+    public ResponseEntity<List<SuggestionDto>> suggest(
+        @Parameter(
+            description = "Field to suggest values for",
+            example = "car-model",
+            schema = @Schema(allowableValues = {"customer", "car-model", "part"})
+        )
+        @RequestParam("field")
+        String fieldCode,
+
+        @Parameter(description = "Text typed so far (any case)", example = "golf")
+        @RequestParam(value = "q", defaultValue = "")
+        String query,
+
+        @Parameter(description = "Number of suggestions (at most " + SuggestionService.MAX_SUGGESTIONS + ")", example = "10")
+        @RequestParam(value = "limit", defaultValue = "10")
+        int limit) {
+
+        return ResponseEntity.ok(suggestionService.suggest(SuggestField.fromCode(fieldCode), query, limit));
+    }
+}
@@ -0,0 +1,113 @@
+package com.mechtrack.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tuning properties for analytics computation and caching.
+ * All values have defaults suitable for a single workshop.
+ */
+@Component
+@ConfigurationProperties(prefix = "mechtrack.analytics")
+@Data
+public class AnalyticsProperties {
+
+    private Cache cache = new Cache();
+
+    private Export export = new Export();
+
+    private Columnar columnar = new Columnar();
+
+    private Parallel parallel = new Parallel();
+
+    private Warmup warmup = new Warmup();
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Maximum number of cached buckets before least recently used ones are evicted
+         * Property: mechtrack.analytics.cache.max-entries
+         */
+        private int maxEntries = 10000;
+
+        /**
+         * How long buckets of the current (open) month may be served without a write touching them.
+         * Closed months are only dropped by writes or eviction.
+         * Property: mechtrack.analytics.cache.open-bucket-ttl
+         */
+        private Duration openBucketTtl = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Export {
+
+        /**
+         * Number of days read from the rollup per query while streaming an export.
+         * Bounds memory per chunk independently of the exported range.
+         * Property: mechtrack.analytics.export.chunk-days
+         */
+        private int chunkDays = 92;
+    }
+
+    @Data
+    public static class Columnar {
+
+        /**
+         * Keep job and part amounts in memory as primitive arrays and answer range queries from them.
+         * Costs about 14 bytes per job and 12 bytes per part.
+         * Property: mechtrack.analytics.columnar.enabled
+         */
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class Parallel {
+
+        public static final int DEFAULT_MAX_THREADS = 4;
+
+        /**
+         * Size of the dedicated pool that aggregates long in-memory series; 1 disables parallel aggregation,
+         * 0 uses one thread per available processor, at most {@value #DEFAULT_MAX_THREADS}.
+         * Property: mechtrack.analytics.parallel.threads
+         */
+        private int threads = 0;
+
+        /**
+         * Minimum number of buckets before a series is split across the pool
+         * Property: mechtrack.analytics.parallel.min-buckets
+         */
+        private int minBuckets = 512;
+    }
+
+    @Data
+    public static class Warmup {
+
+        /**
+         * Precompute the standard dashboard windows on schedule and after writes
+         * Property: mechtrack.analytics.warmup.enabled
+         */
+        private boolean enabled = true;
+
+        /**
+         * When the nightly warm-up runs, just after the day (and possibly the month) rolls over
+         * Property: mechtrack.analytics.warmup.cron
+         */
+        private String cron = "0 5 0 * * *";
+
+        /**
+         * How often to check for writes since the last warm-up, as an ISO-8601 duration (e.g. PT10S)
+         * Property: mechtrack.analytics.warmup.check-interval
+         */
+        private Duration checkInterval = Duration.ofSeconds(10);
+
+        /**
+         * How long writes must have stopped before warming up again, so a bulk import triggers one warm-up
+         * Property: mechtrack.analytics.warmup.write-quiet-period
+         */
+        private Duration writeQuietPeriod = Duration.ofSeconds(30);
+    }
+}
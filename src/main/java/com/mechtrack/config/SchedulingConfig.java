@@ -0,0 +1,12 @@
+package com.mechtrack.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as the analytics warm-up
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
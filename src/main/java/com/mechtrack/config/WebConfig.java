@@ -0,0 +1,27 @@
+package com.mechtrack.config;
+
+import com.mechtrack.api.DataVersionEtagInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DataVersionEtagInterceptor dataVersionEtagInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Responses of these endpoints depend only on job and part data and the current date.
+        // The rollup endpoints look for changes made outside the application, which the data version never sees,
+        // and the exports stream asynchronously, so a 304 would only have saved the first round trip.
+        registry.addInterceptor(dataVersionEtagInterceptor)
+                .addPathPatterns("/api/analytics/**", "/api/jobs/**", "/api/jobs", "/api/suggest")
+                .excludePathPatterns("/api/analytics/rollup/**", "/api/analytics/daily/export", "/api/jobs/export");
+    }
+}
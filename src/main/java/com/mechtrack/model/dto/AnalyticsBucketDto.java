@@ -0,0 +1,30 @@
+package com.mechtrack.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Analytics for one bucket of a series showing income, expenses, and profit")
+public record AnalyticsBucketDto(
+    @Schema(description = "First day of the bucket", example = "2025-09-15")
+    LocalDate start,
+    
+    @Schema(description = "Last day of the bucket (inclusive)", example = "2025-09-21")
+    LocalDate end,
+    
+    @Schema(description = "Total income from jobs in this bucket", example = "1250.00")
+    BigDecimal totalIncome,
+    
+    @Schema(description = "Total expenses from parts purchased in this bucket", example = "340.00")
+    BigDecimal totalExpenses,
+    
+    @Schema(description = "Net profit (income - expenses) for this bucket", example = "910.00")
+    BigDecimal netProfit,
+    
+    @Schema(description = "Number of jobs in this bucket", example = "5")
+    Integer jobCount,
+    
+    @Schema(description = "Number of parts purchased in this bucket", example = "11")
+    Integer partCount
+) {}
@@ -0,0 +1,31 @@
+package com.mechtrack.model.dto;
+
+import com.mechtrack.model.enums.ComparisonPeriod;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Totals of a period next to a baseline period with absolute and percentage changes")
+public record AnalyticsComparisonDto(
+    @Schema(description = "Which baseline the current period is compared against", example = "PREVIOUS_YEAR")
+    ComparisonPeriod comparedTo,
+    
+    @Schema(description = "Totals for the requested period")
+    AnalyticsBucketDto current,
+    
+    @Schema(description = "Totals for the baseline period")
+    AnalyticsBucketDto baseline,
+    
+    @Schema(description = "Change in total income")
+    MetricDeltaDto totalIncome,
+    
+    @Schema(description = "Change in total expenses")
+    MetricDeltaDto totalExpenses,
+    
+    @Schema(description = "Change in net profit")
+    MetricDeltaDto netProfit,
+    
+    @Schema(description = "Change in job count")
+    MetricDeltaDto jobCount,
+    
+    @Schema(description = "Change in part count")
+    MetricDeltaDto partCount
+) {}
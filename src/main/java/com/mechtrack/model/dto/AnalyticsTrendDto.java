@@ -0,0 +1,26 @@
+package com.mechtrack.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Schema(description = "Net profit of one series bucket with moving averages and the running year-to-date total")
+public record AnalyticsTrendDto(
+    @Schema(description = "First day of the bucket", example = "2025-09-15")
+    LocalDate start,
+    
+    @Schema(description = "Last day of the bucket (inclusive)", example = "2025-09-15")
+    LocalDate end,
+    
+    @Schema(description = "Net profit (income - expenses) for this bucket", example = "330.00")
+    BigDecimal netProfit,
+    
+    @Schema(description = "Moving average of net profit keyed by window size in buckets, including this bucket",
+            example = "{\"7\": 285.71, \"30\": 240.10}")
+    Map<Integer, BigDecimal> movingAverages,
+    
+    @Schema(description = "Net profit from the start of the bucket's year up to and including this bucket", example = "48210.00")
+    BigDecimal yearToDateNetProfit
+) {}
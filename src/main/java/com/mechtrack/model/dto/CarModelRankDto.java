@@ -0,0 +1,17 @@
+package com.mechtrack.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "A car model with its job count or revenue")
+public record CarModelRankDto(
+    @Schema(description = "Car model as entered on the jobs", example = "Toyota Camry 2020")
+    String carModel,
+    
+    @Schema(description = "Job count or revenue, depending on the ranking metric", example = "42")
+    BigDecimal value,
+    
+    @Schema(description = "How much the value may overestimate the true value (0 for exact results)", example = "3")
+    BigDecimal maxError
+) {}
@@ -0,0 +1,25 @@
+package com.mechtrack.model.dto;
+
+import com.mechtrack.model.enums.CarModelMetric;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Schema(description = "Top car models of a range of months")
+public record CarModelRankingDto(
+    @Schema(description = "First month of the range", example = "2025-01")
+    YearMonth startMonth,
+    
+    @Schema(description = "Last month of the range", example = "2025-12")
+    YearMonth endMonth,
+    
+    @Schema(description = "Metric the models are ranked by", example = "jobs")
+    CarModelMetric metric,
+    
+    @Schema(description = "Whether the values were counted exactly instead of estimated from summaries", example = "false")
+    Boolean exact,
+    
+    @Schema(description = "Car models, highest value first")
+    List<CarModelRankDto> models
+) {}
@@ -0,0 +1,27 @@
+package com.mechtrack.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Lifetime value of a customer across all of their jobs")
+public record CustomerValueDto(
+    @Schema(description = "Customer name", example = "John Smith")
+    String customerName,
+    
+    @Schema(description = "Total income from the customer's jobs", example = "2450.00")
+    BigDecimal totalSpend,
+    
+    @Schema(description = "Number of jobs (visits)", example = "7")
+    Integer visitCount,
+    
+    @Schema(description = "Date of the first job", example = "2023-04-12")
+    LocalDate firstVisit,
+    
+    @Schema(description = "Date of the most recent job", example = "2025-09-20")
+    LocalDate lastVisit,
+    
+    @Schema(description = "Average income per visit", example = "350.00")
+    BigDecimal averageTicket
+) {}
@@ -0,0 +1,20 @@
+package com.mechtrack.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Everything the dashboard shows on load, computed from one read of daily analytics")
+public record DashboardDto(
+    @Schema(description = "Totals of the last 12 months, as returned by /summary")
+    MonthlyAnalyticsDto summary,
+    
+    @Schema(description = "The last 12 months including the current one, as returned by /monthly?months=12")
+    List<MonthlyAnalyticsDto> monthly,
+    
+    @Schema(description = "The last 7 days, as returned by /daily?interval=7d")
+    List<DailyAnalyticsDto> lastSevenDays,
+    
+    @Schema(description = "The last 30 days, as returned by /daily?interval=1m")
+    List<DailyAnalyticsDto> lastMonth
+) {}
@@ -0,0 +1,24 @@
+package com.mechtrack.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Schema(description = "Job income and part cost percentiles for a range of months, overall and per month")
+public record DistributionDto(
+    @Schema(description = "First month of the range", example = "2025-01")
+    YearMonth startMonth,
+    
+    @Schema(description = "Last month of the range", example = "2025-12")
+    YearMonth endMonth,
+    
+    @Schema(description = "Percentiles of job income over the whole range")
+    PercentilesDto jobIncome,
+    
+    @Schema(description = "Percentiles of part cost over the whole range")
+    PercentilesDto partCost,
+    
+    @Schema(description = "Percentiles per month")
+    List<MonthlyDistributionDto> months
+) {}
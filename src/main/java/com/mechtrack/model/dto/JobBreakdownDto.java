@@ -0,0 +1,30 @@
+package com.mechtrack.model.dto;
+
+import com.mechtrack.model.enums.JobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Income and job counts broken down by job type and job status for a period")
+public record JobBreakdownDto(
+    @Schema(description = "First day of the period (inclusive)", example = "2025-09-01")
+    LocalDate startDate,
+
+    @Schema(description = "Last day of the period (inclusive)", example = "2025-09-30")
+    LocalDate endDate,
+
+    @Schema(description = "Total income from all jobs in the period", example = "4200.00")
+    BigDecimal totalIncome,
+
+    @Schema(description = "Number of jobs in the period", example = "21")
+    Integer jobCount,
+
+    @Schema(description = "Income, job count and average ticket per job type")
+    List<JobTypeBreakdownDto> byType,
+
+    @Schema(description = "Number of jobs per status", example = "{\"WAITING\": 3, \"IN_PROGRESS\": 2, \"DONE\": 16}")
+    Map<JobStatus, Integer> byStatus
+) {}
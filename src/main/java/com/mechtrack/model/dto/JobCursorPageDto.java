@@ -0,0 +1,14 @@
+package com.mechtrack.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of jobs, newest first, with the cursor of the next page")
+public record JobCursorPageDto(
+    @Schema(description = "Jobs of this page, including their parts")
+    List<JobDto> jobs,
+    
+    @Schema(description = "Opaque cursor to pass as 'cursor' for the next page; null on the last page", example = "MjAyNS0wNi0xNHw1NTBlODQwMC1lMjliLTQxZDQtYTcxNi00NDY2NTU0NDAwMDE")
+    String nextCursor
+) {}
@@ -0,0 +1,42 @@
+package com.mechtrack.model.dto;
+
+import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.enums.JobType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Schema(description = "Profitability of a single job: its income minus the cost of its parts")
+public record JobProfitabilityDto(
+    @Schema(description = "Job unique identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+    UUID jobId,
+    
+    @Schema(description = "Customer name", example = "John Smith")
+    String customerName,
+    
+    @Schema(description = "Car model", example = "Toyota Camry 2020")
+    String carModel,
+    
+    @Schema(description = "Job date", example = "2025-09-20")
+    LocalDate date,
+    
+    @Schema(description = "Job type", example = "BRAKE_SERVICE")
+    JobType type,
+    
+    @Schema(description = "Job status", example = "DONE")
+    JobStatus status,
+    
+    @Schema(description = "Income from the job", example = "450.00")
+    BigDecimal income,
+    
+    @Schema(description = "Total cost of the job's parts", example = "120.00")
+    BigDecimal partsCost,
+    
+    @Schema(description = "Profit (income - parts cost)", example = "330.00")
+    BigDecimal profit,
+    
+    @Schema(description = "Number of parts used on the job", example = "3")
+    Integer partCount
+) {}
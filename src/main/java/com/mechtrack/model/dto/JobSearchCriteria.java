@@ -18,6 +18,10 @@ import java.util.List;
 @Schema(description = "Search criteria for filtering jobs with multiple optional parameters")
 public class JobSearchCriteria {
 
+    @Schema(description = "Free-text search over customer name, car model, description and part names; results are ranked by relevance", 
+            example = "smith brake")
+    private String query;
+
     @Schema(description = "Filter by customer name (case-insensitive, partial match)", 
             example = "John Smith")
     private String customerName;
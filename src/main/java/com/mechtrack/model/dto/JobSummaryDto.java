@@ -0,0 +1,39 @@
+package com.mechtrack.model.dto;
+
+import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.enums.JobType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Schema(description = "Job as shown in the job list: without description or parts, with part totals")
+public record JobSummaryDto(
+    @Schema(description = "Unique identifier for the job", example = "550e8400-e29b-41d4-a716-446655440001")
+    UUID id,
+    
+    @Schema(description = "Name of the customer", example = "John Smith")
+    String customerName,
+    
+    @Schema(description = "Car model and year", example = "Toyota Camry 2018")
+    String carModel,
+    
+    @Schema(description = "Date when the job was performed", example = "2023-12-01")
+    LocalDate date,
+    
+    @Schema(description = "Current status of the job", example = "IN_PROGRESS")
+    JobStatus status,
+    
+    @Schema(description = "Type of job/service", example = "MAINTENANCE")
+    JobType type,
+    
+    @Schema(description = "Income from the job", example = "450.00")
+    BigDecimal income,
+    
+    @Schema(description = "Number of parts used on the job", example = "3")
+    Integer partCount,
+    
+    @Schema(description = "Total cost of the job's parts", example = "120.00")
+    BigDecimal partsCost
+) {}
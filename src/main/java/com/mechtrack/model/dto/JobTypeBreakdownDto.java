@@ -0,0 +1,21 @@
+package com.mechtrack.model.dto;
+
+import com.mechtrack.model.enums.JobType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Revenue figures for one job type")
+public record JobTypeBreakdownDto(
+    @Schema(description = "Job type", example = "BRAKE_SERVICE")
+    JobType type,
+
+    @Schema(description = "Total income from jobs of this type", example = "1250.00")
+    BigDecimal totalIncome,
+
+    @Schema(description = "Number of jobs of this type", example = "5")
+    Integer jobCount,
+
+    @Schema(description = "Average income per job of this type", example = "250.00")
+    BigDecimal averageTicket
+) {}
@@ -0,0 +1,14 @@
+package com.mechtrack.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Change of a metric between the baseline and the current period")
+public record MetricDeltaDto(
+    @Schema(description = "Current minus baseline value", example = "350.00")
+    BigDecimal absolute,
+    
+    @Schema(description = "Change relative to the baseline in percent; null when the baseline is zero", example = "12.50")
+    BigDecimal percent
+) {}
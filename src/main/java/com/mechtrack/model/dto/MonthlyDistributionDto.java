@@ -0,0 +1,17 @@
+package com.mechtrack.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.YearMonth;
+
+@Schema(description = "Job income and part cost percentiles for one month")
+public record MonthlyDistributionDto(
+    @Schema(description = "Month and year", example = "2025-09")
+    YearMonth month,
+    
+    @Schema(description = "Percentiles of job income")
+    PercentilesDto jobIncome,
+    
+    @Schema(description = "Percentiles of part cost")
+    PercentilesDto partCost
+) {}
@@ -0,0 +1,20 @@
+package com.mechtrack.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Estimated percentiles of a set of amounts (within 1% relative error); null when there are no values")
+public record PercentilesDto(
+    @Schema(description = "Number of values", example = "42")
+    Long count,
+    
+    @Schema(description = "Median", example = "180.00")
+    BigDecimal p50,
+    
+    @Schema(description = "90th percentile", example = "640.00")
+    BigDecimal p90,
+    
+    @Schema(description = "99th percentile", example = "1850.00")
+    BigDecimal p99
+) {}
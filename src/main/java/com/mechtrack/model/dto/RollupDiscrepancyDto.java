@@ -0,0 +1,17 @@
+package com.mechtrack.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "A day where the analytics rollup disagrees with a recomputation from raw jobs and parts")
+public record RollupDiscrepancyDto(
+    @Schema(description = "Affected date", example = "2025-09-20")
+    LocalDate date,
+
+    @Schema(description = "Values recomputed from the job and part tables")
+    DailyAnalyticsDto expected,
+
+    @Schema(description = "Values currently stored in the rollup")
+    DailyAnalyticsDto actual
+) {}
@@ -0,0 +1,12 @@
+package com.mechtrack.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A typeahead suggestion")
+public record SuggestionDto(
+    @Schema(description = "Value as first entered", example = "VW Golf 2019")
+    String value,
+    
+    @Schema(description = "Number of jobs or parts with this value", example = "12")
+    Integer count
+) {}
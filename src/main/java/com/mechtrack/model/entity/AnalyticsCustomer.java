@@ -0,0 +1,39 @@
+package com.mechtrack.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lifetime totals of one customer, kept current by job writes
+ */
+@Entity
+@Table(name = "analytics_customer")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsCustomer {
+
+    @Id
+    @Column(name = "customer_name")
+    private String customerName;
+
+    @Column(name = "total_spend", precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalSpend = BigDecimal.ZERO;
+
+    @Column(name = "visit_count", nullable = false)
+    private int visitCount;
+
+    @Column(name = "first_visit")
+    private LocalDate firstVisit;
+
+    @Column(name = "last_visit")
+    private LocalDate lastVisit;
+}
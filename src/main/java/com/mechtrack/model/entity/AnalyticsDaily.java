@@ -0,0 +1,39 @@
+package com.mechtrack.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Daily income/expense rollup, kept current by job and part writes
+ */
+@Entity
+@Table(name = "analytics_daily")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsDaily {
+
+    @Id
+    @Column(name = "date")
+    private LocalDate date;
+
+    @Column(name = "income_total", precision = 14, scale = 2, nullable = false)
+    private BigDecimal incomeTotal = BigDecimal.ZERO;
+
+    @Column(name = "expense_total", precision = 14, scale = 2, nullable = false)
+    private BigDecimal expenseTotal = BigDecimal.ZERO;
+
+    @Column(name = "job_count", nullable = false)
+    private int jobCount;
+
+    @Column(name = "part_count", nullable = false)
+    private int partCount;
+}
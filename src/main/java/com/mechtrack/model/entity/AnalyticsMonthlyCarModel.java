@@ -0,0 +1,32 @@
+package com.mechtrack.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Serialized heavy-hitter summaries of car models for one month, by job count and by revenue in cents
+ */
+@Entity
+@Table(name = "analytics_monthly_car_model")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsMonthlyCarModel {
+
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Column(name = "jobs_summary", columnDefinition = "TEXT", nullable = false)
+    private String jobsSummary;
+
+    @Column(name = "revenue_summary", columnDefinition = "TEXT", nullable = false)
+    private String revenueSummary;
+}
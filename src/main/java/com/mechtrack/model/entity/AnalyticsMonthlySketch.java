@@ -0,0 +1,32 @@
+package com.mechtrack.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Serialized quantile sketches of job income and part cost for one closed month
+ */
+@Entity
+@Table(name = "analytics_monthly_sketch")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsMonthlySketch {
+
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Column(name = "income_sketch", columnDefinition = "TEXT", nullable = false)
+    private String incomeSketch;
+
+    @Column(name = "cost_sketch", columnDefinition = "TEXT", nullable = false)
+    private String costSketch;
+}
@@ -0,0 +1,47 @@
+package com.mechtrack.model.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Enum representing what car models are ranked by
+ */
+@Schema(description = "Metric car models are ranked by")
+public enum CarModelMetric {
+    
+    @Schema(description = "Number of jobs")
+    JOBS("jobs"),
+    
+    @Schema(description = "Total job income")
+    REVENUE("revenue");
+    
+    private final String code;
+    
+    CarModelMetric(String code) {
+        this.code = code;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    /**
+     * Get CarModelMetric from string code
+     * @param code The string code (jobs, revenue)
+     * @return The corresponding CarModelMetric
+     * @throws IllegalArgumentException if code is not valid
+     */
+    public static CarModelMetric fromCode(String code) {
+        for (CarModelMetric metric : values()) {
+            if (metric.code.equalsIgnoreCase(code)) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Invalid car model metric: " + code + 
+            ". Valid metrics are: jobs, revenue");
+    }
+    
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,64 @@
+package com.mechtrack.model.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Enum representing which earlier period a date range is compared against
+ */
+@Schema(description = "Baseline period for analytics comparisons")
+public enum ComparisonPeriod {
+    
+    @Schema(description = "The period of equal length immediately before")
+    PREVIOUS_PERIOD("previous"),
+    
+    @Schema(description = "The same dates one year earlier")
+    PREVIOUS_YEAR("year");
+    
+    private final String code;
+    
+    ComparisonPeriod(String code) {
+        this.code = code;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    /**
+     * @return Start of the baseline period for the range starting at {@code start} and ending at {@code end}
+     */
+    public LocalDate baselineStart(LocalDate start, LocalDate end) {
+        return this == PREVIOUS_YEAR ? start.minusYears(1) : start.minusDays(ChronoUnit.DAYS.between(start, end) + 1);
+    }
+    
+    /**
+     * @return End of the baseline period for the range starting at {@code start} and ending at {@code end}
+     */
+    public LocalDate baselineEnd(LocalDate start, LocalDate end) {
+        return this == PREVIOUS_YEAR ? end.minusYears(1) : start.minusDays(1);
+    }
+    
+    /**
+     * Get ComparisonPeriod from string code
+     * @param code The string code (previous, year)
+     * @return The corresponding ComparisonPeriod
+     * @throws IllegalArgumentException if code is not valid
+     */
+    public static ComparisonPeriod fromCode(String code) {
+        for (ComparisonPeriod period : values()) {
+            if (period.code.equalsIgnoreCase(code)) {
+                return period;
+            }
+        }
+        throw new IllegalArgumentException("Invalid comparison period: " + code + 
+            ". Valid periods are: previous, year");
+    }
+    
+    @Override
+    public String toString() {
+        return code;
+    }
+}
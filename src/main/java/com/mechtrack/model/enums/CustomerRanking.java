@@ -0,0 +1,60 @@
+package com.mechtrack.model.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Enum representing the orders customers can be ranked in
+ */
+@Schema(description = "Customer ranking order")
+public enum CustomerRanking {
+    
+    @Schema(description = "Highest total spend first")
+    SPEND("spend", "totalSpend"),
+    
+    @Schema(description = "Most visits first")
+    VISITS("visits", "visitCount"),
+    
+    @Schema(description = "Most recent visit first")
+    RECENT("recent", "lastVisit");
+    
+    private final String code;
+    private final String property;
+    
+    CustomerRanking(String code, String property) {
+        this.code = code;
+        this.property = property;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    /**
+     * @return Descending sort on the ranked column with the customer name as tie-breaker, matching its index
+     */
+    public Sort toSort() {
+        return Sort.by(Sort.Order.desc(property), Sort.Order.asc("customerName"));
+    }
+    
+    /**
+     * Get CustomerRanking from string code
+     * @param code The string code (spend, visits, recent)
+     * @return The corresponding CustomerRanking
+     * @throws IllegalArgumentException if code is not valid
+     */
+    public static CustomerRanking fromCode(String code) {
+        for (CustomerRanking ranking : values()) {
+            if (ranking.code.equalsIgnoreCase(code)) {
+                return ranking;
+            }
+        }
+        throw new IllegalArgumentException("Invalid customer ranking: " + code + 
+            ". Valid rankings are: spend, visits, recent");
+    }
+    
+    @Override
+    public String toString() {
+        return code;
+    }
+}
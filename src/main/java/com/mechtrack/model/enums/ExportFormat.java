@@ -0,0 +1,56 @@
+package com.mechtrack.model.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Enum representing the formats jobs and analytics can be exported in
+ */
+@Schema(description = "Format for streamed exports")
+public enum ExportFormat {
+    
+    @Schema(description = "Newline-delimited JSON, one object per line")
+    NDJSON("ndjson", "application/x-ndjson"),
+    
+    @Schema(description = "A single JSON array, written element by element")
+    JSON("json", "application/json"),
+    
+    @Schema(description = "Comma-separated values with a header row")
+    CSV("csv", "text/csv");
+    
+    private final String code;
+    private final String mediaType;
+    
+    ExportFormat(String code, String mediaType) {
+        this.code = code;
+        this.mediaType = mediaType;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    public String getMediaType() {
+        return mediaType;
+    }
+    
+    /**
+     * Get ExportFormat from string code
+     * @param code The string code (ndjson, json, csv)
+     * @return The corresponding ExportFormat
+     * @throws IllegalArgumentException if code is not valid
+     */
+    public static ExportFormat fromCode(String code) {
+        for (ExportFormat format : values()) {
+            if (format.code.equalsIgnoreCase(code)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Invalid export format: " + code + 
+            ". Valid formats are: ndjson, json, csv");
+    }
+    
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,50 @@
+package com.mechtrack.model.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Enum representing the fields typeahead suggestions are offered for
+ */
+@Schema(description = "Field to suggest values for")
+public enum SuggestField {
+    
+    @Schema(description = "Customer names of jobs")
+    CUSTOMER("customer"),
+    
+    @Schema(description = "Car models of jobs")
+    CAR_MODEL("car-model"),
+    
+    @Schema(description = "Part names")
+    PART("part");
+    
+    private final String code;
+    
+    SuggestField(String code) {
+        this.code = code;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    /**
+     * Get SuggestField from string code
+     * @param code The string code (customer, car-model, part)
+     * @return The corresponding SuggestField
+     * @throws IllegalArgumentException if code is not valid
+     */
+    public static SuggestField fromCode(String code) {
+        for (SuggestField field : values()) {
+            if (field.code.equalsIgnoreCase(code)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Invalid suggest field: " + code + 
+            ". Valid fields are: customer, car-model, part");
+    }
+    
+    @Override
+    public String toString() {
+        return code;
+    }
+}
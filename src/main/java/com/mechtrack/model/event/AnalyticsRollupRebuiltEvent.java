@@ -0,0 +1,9 @@
+package com.mechtrack.model.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published by AnalyticsRollupService after the rollup rows of a date range were recomputed
+ */
+public record AnalyticsRollupRebuiltEvent(LocalDate startDate, LocalDate endDate) {
+}
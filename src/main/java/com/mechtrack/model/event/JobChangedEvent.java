@@ -0,0 +1,38 @@
+package com.mechtrack.model.event;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Published by JobService whenever a job is created, updated or deleted.
+ * {@code before} is null for creations and {@code after} is null for deletions.
+ */
+public record JobChangedEvent(JobSnapshot before, JobSnapshot after) {
+
+    public static JobChangedEvent created(JobSnapshot job) {
+        return new JobChangedEvent(null, job);
+    }
+
+    public static JobChangedEvent updated(JobSnapshot before, JobSnapshot after) {
+        return new JobChangedEvent(before, after);
+    }
+
+    public static JobChangedEvent deleted(JobSnapshot job) {
+        return new JobChangedEvent(job, null);
+    }
+
+    /**
+     * Dates whose analytics are affected by this change (old and new job date)
+     */
+    public Set<LocalDate> affectedDates() {
+        Set<LocalDate> dates = new HashSet<>();
+        if (before != null && before.date() != null) {
+            dates.add(before.date());
+        }
+        if (after != null && after.date() != null) {
+            dates.add(after.date());
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,35 @@
+package com.mechtrack.model.event;
+
+import com.mechtrack.model.entity.Job;
+import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.enums.JobType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Immutable copy of the job fields that derived data (analytics, indexes) depends on
+ */
+public record JobSnapshot(
+    UUID id,
+    String customerName,
+    String carModel,
+    LocalDate date,
+    BigDecimal income,
+    JobStatus status,
+    JobType type
+) {
+
+    public static JobSnapshot of(Job job) {
+        return new JobSnapshot(
+                job.getId(),
+                job.getCustomerName(),
+                job.getCarModel(),
+                job.getDate(),
+                job.getIncome(),
+                job.getStatus(),
+                job.getType()
+        );
+    }
+}
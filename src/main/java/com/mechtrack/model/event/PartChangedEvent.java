@@ -0,0 +1,38 @@
+package com.mechtrack.model.event;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Published by PartService (and JobService for cascaded deletes) whenever a part is created, updated or deleted.
+ * {@code before} is null for creations and {@code after} is null for deletions.
+ */
+public record PartChangedEvent(PartSnapshot before, PartSnapshot after) {
+
+    public static PartChangedEvent created(PartSnapshot part) {
+        return new PartChangedEvent(null, part);
+    }
+
+    public static PartChangedEvent updated(PartSnapshot before, PartSnapshot after) {
+        return new PartChangedEvent(before, after);
+    }
+
+    public static PartChangedEvent deleted(PartSnapshot part) {
+        return new PartChangedEvent(part, null);
+    }
+
+    /**
+     * Dates whose analytics are affected by this change (old and new purchase date)
+     */
+    public Set<LocalDate> affectedDates() {
+        Set<LocalDate> dates = new HashSet<>();
+        if (before != null && before.purchaseDate() != null) {
+            dates.add(before.purchaseDate());
+        }
+        if (after != null && after.purchaseDate() != null) {
+            dates.add(after.purchaseDate());
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,29 @@
+package com.mechtrack.model.event;
+
+import com.mechtrack.model.entity.Part;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Immutable copy of the part fields that derived data (analytics, indexes) depends on
+ */
+public record PartSnapshot(
+    UUID id,
+    UUID jobId,
+    String name,
+    LocalDate purchaseDate,
+    BigDecimal cost
+) {
+
+    public static PartSnapshot of(Part part) {
+        return new PartSnapshot(
+                part.getId(),
+                part.getJob() != null ? part.getJob().getId() : null,
+                part.getName(),
+                part.getPurchaseDate(),
+                part.getCost()
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.mechtrack.model.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * analytics_daily rows summed over one time bucket, identified by its bucket index
+ */
+public interface BucketRollup {
+
+    Integer getBucket();
+
+    BigDecimal getIncomeTotal();
+
+    BigDecimal getExpenseTotal();
+
+    Long getJobCount();
+
+    Long getPartCount();
+}
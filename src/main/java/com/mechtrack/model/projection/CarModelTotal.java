@@ -0,0 +1,15 @@
+package com.mechtrack.model.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Job count and summed income of one car model, aggregated in the database
+ */
+public interface CarModelTotal {
+
+    String getCarModel();
+
+    Long getJobCount();
+
+    BigDecimal getRevenue();
+}
@@ -0,0 +1,18 @@
+package com.mechtrack.model.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lifetime totals of one customer's jobs, aggregated in the database
+ */
+public interface CustomerTotals {
+
+    BigDecimal getTotalSpend();
+
+    Long getVisitCount();
+
+    LocalDate getFirstVisit();
+
+    LocalDate getLastVisit();
+}
@@ -0,0 +1,20 @@
+package com.mechtrack.model.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only view of one analytics_daily row
+ */
+public interface DailyRollup {
+
+    LocalDate getDate();
+
+    BigDecimal getIncomeTotal();
+
+    BigDecimal getExpenseTotal();
+
+    Integer getJobCount();
+
+    Integer getPartCount();
+}
@@ -0,0 +1,16 @@
+package com.mechtrack.model.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Aggregated amount and row count for a single day
+ */
+public interface DailyTotal {
+
+    LocalDate getDate();
+
+    BigDecimal getAmount();
+
+    Long getCount();
+}
@@ -0,0 +1,14 @@
+package com.mechtrack.model.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A single job income or part cost with its date, read without loading the entity
+ */
+public interface DatedAmount {
+
+    LocalDate getDate();
+
+    BigDecimal getAmount();
+}
@@ -0,0 +1,16 @@
+package com.mechtrack.model.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Car model and income of a single job, for building heavy-hitter summaries
+ */
+public interface DatedCarModel {
+
+    LocalDate getDate();
+
+    String getCarModel();
+
+    BigDecimal getIncome();
+}
@@ -0,0 +1,20 @@
+package com.mechtrack.model.projection;
+
+import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.enums.JobType;
+
+import java.math.BigDecimal;
+
+/**
+ * Income total and job count for one (type, status) combination
+ */
+public interface JobBreakdownRow {
+
+    JobType getType();
+
+    JobStatus getStatus();
+
+    BigDecimal getIncome();
+
+    Long getCount();
+}
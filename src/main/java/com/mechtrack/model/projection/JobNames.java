@@ -0,0 +1,11 @@
+package com.mechtrack.model.projection;
+
+/**
+ * Customer name and car model of one job, the fields the typeahead indexes are built from
+ */
+public interface JobNames {
+
+    String getCustomerName();
+
+    String getCarModel();
+}
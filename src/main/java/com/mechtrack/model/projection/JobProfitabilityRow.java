@@ -0,0 +1,32 @@
+package com.mechtrack.model.projection;
+
+import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.enums.JobType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One job with the summed cost of its parts, aggregated in the database
+ */
+public interface JobProfitabilityRow {
+
+    UUID getId();
+
+    String getCustomerName();
+
+    String getCarModel();
+
+    LocalDate getDate();
+
+    JobType getType();
+
+    JobStatus getStatus();
+
+    BigDecimal getIncome();
+
+    BigDecimal getPartsCost();
+
+    Long getPartCount();
+}
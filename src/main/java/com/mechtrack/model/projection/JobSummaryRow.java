@@ -0,0 +1,32 @@
+package com.mechtrack.model.projection;
+
+import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.enums.JobType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The list columns of one job with its part count and cost, aggregated in the database
+ */
+public interface JobSummaryRow {
+
+    UUID getId();
+
+    String getCustomerName();
+
+    String getCarModel();
+
+    LocalDate getDate();
+
+    JobStatus getStatus();
+
+    JobType getType();
+
+    BigDecimal getIncome();
+
+    Long getPartCount();
+
+    BigDecimal getPartsCost();
+}
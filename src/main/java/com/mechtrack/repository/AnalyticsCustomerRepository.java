@@ -0,0 +1,28 @@
+package com.mechtrack.repository;
+
+import com.mechtrack.model.entity.AnalyticsCustomer;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AnalyticsCustomerRepository extends JpaRepository<AnalyticsCustomer, String> {
+
+    // Creates an empty row for a new customer, so it can be locked before the first totals are written;
+    // waits for a concurrent transaction that is inserting or deleting the same row
+    @Modifying
+    @Query("INSERT INTO AnalyticsCustomer c (c.customerName, c.totalSpend, c.visitCount) " +
+           "VALUES (:customerName, 0, 0) ON CONFLICT (c.customerName) DO NOTHING")
+    int insertIfAbsent(@Param("customerName") String customerName);
+
+    // Locked so concurrent job writes for the same customer recompute its totals one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM AnalyticsCustomer c WHERE c.customerName = :customerName")
+    Optional<AnalyticsCustomer> findForUpdate(@Param("customerName") String customerName);
+}
@@ -0,0 +1,62 @@
+package com.mechtrack.repository;
+
+import com.mechtrack.model.entity.AnalyticsDaily;
+import com.mechtrack.model.projection.BucketRollup;
+import com.mechtrack.model.projection.DailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AnalyticsDailyRepository extends JpaRepository<AnalyticsDaily, LocalDate> {
+
+    // Rollup rows in a date range, read as projections so stale managed entities are never returned
+    @Query("SELECT a.date AS date, a.incomeTotal AS incomeTotal, a.expenseTotal AS expenseTotal, " +
+           "a.jobCount AS jobCount, a.partCount AS partCount FROM AnalyticsDaily a " +
+           "WHERE a.date BETWEEN :startDate AND :endDate ORDER BY a.date")
+    List<DailyRollup> findRollupsBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Rollup rows summed per bucket of :months calendar months, numbered from January of year 0
+    @Query("SELECT b.bucket AS bucket, SUM(b.incomeTotal) AS incomeTotal, SUM(b.expenseTotal) AS expenseTotal, " +
+           "SUM(b.jobCount) AS jobCount, SUM(b.partCount) AS partCount FROM (" +
+           "SELECT CAST(FLOOR((YEAR(a.date) * 12 + MONTH(a.date) - 1) / :months) AS Integer) AS bucket, " +
+           "a.incomeTotal AS incomeTotal, a.expenseTotal AS expenseTotal, a.jobCount AS jobCount, a.partCount AS partCount " +
+           "FROM AnalyticsDaily a WHERE a.date BETWEEN :startDate AND :endDate) b GROUP BY b.bucket")
+    List<BucketRollup> sumRollupsByMonthBucket(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                               @Param("months") int months);
+
+    // Add a delta to a day, creating its row on the first write; a single upsert, so concurrent first writes of a day
+    // cannot both insert (ON CONFLICT on PostgreSQL, MERGE on H2)
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO AnalyticsDaily a (a.date, a.incomeTotal, a.expenseTotal, a.jobCount, a.partCount) " +
+           "VALUES (:date, :income, :expense, :jobs, :parts) ON CONFLICT (a.date) DO UPDATE SET " +
+           "a.incomeTotal = a.incomeTotal + excluded.incomeTotal, a.expenseTotal = a.expenseTotal + excluded.expenseTotal, " +
+           "a.jobCount = a.jobCount + excluded.jobCount, a.partCount = a.partCount + excluded.partCount")
+    int addToDay(@Param("date") LocalDate date, @Param("income") BigDecimal income, @Param("expense") BigDecimal expense,
+                 @Param("jobs") int jobs, @Param("parts") int parts);
+
+    // Set a day to recomputed values, replacing any row a concurrent write created since the range was cleared
+    @Modifying
+    @Query("INSERT INTO AnalyticsDaily a (a.date, a.incomeTotal, a.expenseTotal, a.jobCount, a.partCount) " +
+           "VALUES (:date, :income, :expense, :jobs, :parts) ON CONFLICT (a.date) DO UPDATE SET " +
+           "a.incomeTotal = excluded.incomeTotal, a.expenseTotal = excluded.expenseTotal, " +
+           "a.jobCount = excluded.jobCount, a.partCount = excluded.partCount")
+    void setDay(@Param("date") LocalDate date, @Param("income") BigDecimal income, @Param("expense") BigDecimal expense,
+                @Param("jobs") int jobs, @Param("parts") int parts);
+
+    // PostgreSQL only: make writers' upserts wait for the current transaction, and wait for those already done to commit.
+    // Plain reads are not blocked.
+    @Modifying
+    @Query(value = "LOCK TABLE analytics_daily IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockAgainstWrites();
+
+    @Modifying
+    @Query("DELETE FROM AnalyticsDaily a WHERE a.date BETWEEN :startDate AND :endDate")
+    int deleteBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,32 @@
+package com.mechtrack.repository;
+
+import com.mechtrack.model.entity.AnalyticsMonthlyCarModel;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AnalyticsMonthlyCarModelRepository extends JpaRepository<AnalyticsMonthlyCarModel, LocalDate> {
+
+    List<AnalyticsMonthlyCarModel> findByMonthStartBetween(LocalDate startMonth, LocalDate endMonth);
+
+    // Two readers can build the same month at once; the second one keeps the row the first one stored
+    @Modifying
+    @Query("INSERT INTO AnalyticsMonthlyCarModel s (s.monthStart, s.jobsSummary, s.revenueSummary) " +
+           "VALUES (:monthStart, :jobsSummary, :revenueSummary) ON CONFLICT (s.monthStart) DO NOTHING")
+    int insertIfAbsent(@Param("monthStart") LocalDate monthStart, @Param("jobsSummary") String jobsSummary,
+                       @Param("revenueSummary") String revenueSummary);
+
+    // Locked so concurrent job writes to the same month apply their changes one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AnalyticsMonthlyCarModel s WHERE s.monthStart = :monthStart")
+    Optional<AnalyticsMonthlyCarModel> findForUpdate(@Param("monthStart") LocalDate monthStart);
+}
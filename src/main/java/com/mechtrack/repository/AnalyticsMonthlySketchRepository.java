@@ -0,0 +1,24 @@
+package com.mechtrack.repository;
+
+import com.mechtrack.model.entity.AnalyticsMonthlySketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AnalyticsMonthlySketchRepository extends JpaRepository<AnalyticsMonthlySketch, LocalDate> {
+
+    List<AnalyticsMonthlySketch> findByMonthStartBetween(LocalDate startMonth, LocalDate endMonth);
+
+    // Two readers can build the same month at once; the second one keeps the row the first one stored
+    @Modifying
+    @Query("INSERT INTO AnalyticsMonthlySketch s (s.monthStart, s.incomeSketch, s.costSketch) " +
+           "VALUES (:monthStart, :incomeSketch, :costSketch) ON CONFLICT (s.monthStart) DO NOTHING")
+    int insertIfAbsent(@Param("monthStart") LocalDate monthStart, @Param("incomeSketch") String incomeSketch,
+                       @Param("costSketch") String costSketch);
+}
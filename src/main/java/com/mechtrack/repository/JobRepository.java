@@ -1,21 +1,39 @@
 package com.mechtrack.repository;
 
 import com.mechtrack.model.entity.Job;
+import com.mechtrack.model.event.JobSnapshot;
+import com.mechtrack.model.projection.CarModelTotal;
+import com.mechtrack.model.projection.CustomerTotals;
+import com.mechtrack.model.projection.DailyTotal;
+import com.mechtrack.model.projection.DatedAmount;
+import com.mechtrack.model.projection.DatedCarModel;
+import com.mechtrack.model.projection.JobBreakdownRow;
+import com.mechtrack.model.projection.JobNames;
+import com.mechtrack.model.projection.JobProfitabilityRow;
+import com.mechtrack.model.projection.JobSummaryRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, UUID>, JpaSpecificationExecutor<Job> {
 
+    // Rows fetched per round trip while streaming the export, and jobs written per batch
+    int EXPORT_FETCH_SIZE = 500;
+
     // Find jobs by customer name (case-insensitive)
     List<Job> findByCustomerNameContainingIgnoreCase(String customerName);
 
@@ -36,10 +54,45 @@ public interface JobRepository extends JpaRepository<Job, UUID>, JpaSpecificatio
     @Query("SELECT DISTINCT j FROM Job j LEFT JOIN FETCH j.parts ORDER BY j.date DESC")
     List<Job> findAllWithParts();
     
-    // Find all jobs with parts - paginated version
-    @Query(value = "SELECT DISTINCT j FROM Job j LEFT JOIN FETCH j.parts",
-           countQuery = "SELECT COUNT(DISTINCT j) FROM Job j")
-    Page<Job> findAllWithParts(Pageable pageable);
+    // Every job, newest first, read through a forward-only cursor for the export; must be consumed inside a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT j FROM Job j ORDER BY j.date DESC, j.id DESC")
+    Stream<Job> streamAllForExport();
+
+    // Job list rows with part count and cost aggregated in SQL; neither the description nor the parts are loaded.
+    // The part totals are correlated subqueries through idx_part_job_id, evaluated for the rows of the page only,
+    // so a sort that matches a job index stops reading at the LIMIT instead of grouping the whole join first
+    @Query(value = "SELECT j.id AS id, j.customerName AS customerName, j.carModel AS carModel, j.date AS date, j.status AS status, " +
+           "j.type AS type, j.income AS income, " +
+           "(SELECT COUNT(p) FROM Part p WHERE p.job = j) AS partCount, " +
+           "(SELECT COALESCE(SUM(p.cost), 0) FROM Part p WHERE p.job = j) AS partsCost " +
+           "FROM Job j",
+           countQuery = "SELECT COUNT(j) FROM Job j")
+    Page<JobSummaryRow> findSummaries(Pageable pageable);
+
+    // Jobs with parts for a page of job ids; pages are selected without the fetch join so the database applies the limit
+    @Query("SELECT DISTINCT j FROM Job j LEFT JOIN FETCH j.parts WHERE j.id IN :ids")
+    List<Job> findAllWithPartsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // First keyset page, newest first; jobs without a date are paged after all dated ones
+    @Query("SELECT j FROM Job j WHERE j.date IS NOT NULL ORDER BY j.date DESC, j.id DESC")
+    List<Job> findFirstByDateDesc(Pageable pageable);
+
+    // Keyset page after the (date, id) of the previous page's last job; the row-value comparison is a range
+    // bound on idx_job_date_id, which an OR of the two columns is not. NULL dates never compare, so are excluded
+    @Query("SELECT j FROM Job j WHERE (j.date, j.id) < (:date, :id) ORDER BY j.date DESC, j.id DESC")
+    List<Job> findAfterByDateDesc(@Param("date") LocalDate date, @Param("id") UUID id, Pageable pageable);
+
+    // First keyset page of the jobs without a date, by id; IS NULL is an equality on the leading column of idx_job_date_id
+    @Query("SELECT j FROM Job j WHERE j.date IS NULL ORDER BY j.id DESC")
+    List<Job> findFirstUndatedByIdDesc(Pageable pageable);
+
+    // Keyset page of the jobs without a date after the id of the previous page's last one
+    @Query("SELECT j FROM Job j WHERE j.date IS NULL AND j.id < :id ORDER BY j.id DESC")
+    List<Job> findUndatedAfterByIdDesc(@Param("id") UUID id, Pageable pageable);
     
     // Optimized search queries with fetch joins
     @Query("SELECT DISTINCT j FROM Job j LEFT JOIN FETCH j.parts WHERE UPPER(j.customerName) LIKE UPPER(CONCAT('%', :customerName, '%'))")
@@ -47,4 +100,63 @@ public interface JobRepository extends JpaRepository<Job, UUID>, JpaSpecificatio
     
     @Query("SELECT DISTINCT j FROM Job j LEFT JOIN FETCH j.parts WHERE j.date BETWEEN :startDate AND :endDate ORDER BY j.date DESC")
     List<Job> findByDateBetweenWithParts(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-} 
\ No newline at end of file
+
+    // Income totals and job counts per day (one row per day that has jobs)
+    @Query("SELECT j.date AS date, SUM(j.income) AS amount, COUNT(j) AS count FROM Job j " +
+           "WHERE j.date BETWEEN :startDate AND :endDate GROUP BY j.date")
+    List<DailyTotal> sumIncomeByDay(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Income totals and job counts per (type, status) pair in a single scan
+    @Query("SELECT j.type AS type, j.status AS status, SUM(j.income) AS income, COUNT(j) AS count FROM Job j " +
+           "WHERE j.date BETWEEN :startDate AND :endDate GROUP BY j.type, j.status")
+    List<JobBreakdownRow> sumIncomeByTypeAndStatus(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Profit of a row of findProfitability, for ordering it with JpaSort.unsafe
+    String PROFIT_EXPRESSION = "COALESCE(j.income, 0) - COALESCE(SUM(p.cost), 0)";
+
+    // Jobs with their summed part cost, in the order of the pageable's sort; parts are aggregated, never loaded
+    @Query(value = "SELECT j.id AS id, j.customerName AS customerName, j.carModel AS carModel, j.date AS date, j.type AS type, " +
+           "j.status AS status, j.income AS income, COALESCE(SUM(p.cost), 0) AS partsCost, COUNT(p) AS partCount " +
+           "FROM Job j LEFT JOIN Part p ON p.job = j WHERE j.date BETWEEN :startDate AND :endDate " +
+           "GROUP BY j.id, j.customerName, j.carModel, j.date, j.type, j.status, j.income",
+           countQuery = "SELECT COUNT(j) FROM Job j WHERE j.date BETWEEN :startDate AND :endDate")
+    Page<JobProfitabilityRow> findProfitability(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                                Pageable pageable);
+
+    // Individual job incomes in a date range, for building distributions
+    @Query("SELECT j.date AS date, j.income AS amount FROM Job j WHERE j.date BETWEEN :startDate AND :endDate")
+    List<DatedAmount> findIncomesBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Car model and income of every job in a date range, for building heavy-hitter summaries
+    @Query("SELECT j.date AS date, j.carModel AS carModel, j.income AS income FROM Job j " +
+           "WHERE j.date BETWEEN :startDate AND :endDate AND j.carModel IS NOT NULL")
+    List<DatedCarModel> findCarModelsBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Exact car model ranking by job count; a full GROUP BY over the free-text column, used for verification
+    @Query("SELECT j.carModel AS carModel, COUNT(j) AS jobCount, SUM(j.income) AS revenue FROM Job j " +
+           "WHERE j.date BETWEEN :startDate AND :endDate AND j.carModel IS NOT NULL " +
+           "GROUP BY j.carModel ORDER BY COUNT(j) DESC, j.carModel")
+    List<CarModelTotal> findTopCarModelsByJobs(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
+
+    // Exact car model ranking by income; a full GROUP BY over the free-text column, used for verification
+    @Query("SELECT j.carModel AS carModel, COUNT(j) AS jobCount, SUM(j.income) AS revenue FROM Job j " +
+           "WHERE j.date BETWEEN :startDate AND :endDate AND j.carModel IS NOT NULL " +
+           "GROUP BY j.carModel ORDER BY COALESCE(SUM(j.income), 0) DESC, j.carModel")
+    List<CarModelTotal> findTopCarModelsByRevenue(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
+
+    // Lifetime totals of one customer; reads only that customer's jobs through idx_job_customer_name_date
+    @Query("SELECT SUM(j.income) AS totalSpend, COUNT(j) AS visitCount, MIN(j.date) AS firstVisit, MAX(j.date) AS lastVisit " +
+           "FROM Job j WHERE j.customerName = :customerName")
+    CustomerTotals sumByCustomer(@Param("customerName") String customerName);
+
+    // Every job as a snapshot, in date order, for loading in-memory analytics; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.mechtrack.model.event.JobSnapshot(j.id, j.customerName, j.carModel, j.date, j.income, j.status, j.type) " +
+           "FROM Job j ORDER BY j.date")
+    Stream<JobSnapshot> streamAllSnapshots();
+
+    // Customer name and car model of every job, unordered, for building the typeahead indexes; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT j.customerName AS customerName, j.carModel AS carModel FROM Job j")
+    Stream<JobNames> streamAllNames();
+}
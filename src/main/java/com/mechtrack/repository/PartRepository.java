@@ -1,15 +1,23 @@
 package com.mechtrack.repository;
 
 import com.mechtrack.model.entity.Part;
+import com.mechtrack.model.event.PartSnapshot;
+import com.mechtrack.model.projection.DailyTotal;
+import com.mechtrack.model.projection.DatedAmount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PartRepository extends JpaRepository<Part, UUID>, JpaSpecificationExecutor<Part> {
@@ -17,6 +25,11 @@ public interface PartRepository extends JpaRepository<Part, UUID>, JpaSpecificat
     // Find parts by job ID - corrected to use job.id relationship path
     List<Part> findByJobId(UUID jobId);
 
+    // Delete all parts of a job in one statement, so the search vector trigger refreshes the job once
+    @Modifying
+    @Query("DELETE FROM Part p WHERE p.job.id = :jobId")
+    int deleteByJobId(@Param("jobId") UUID jobId);
+
     // Find parts by name (case-insensitive)
     List<Part> findByNameContainingIgnoreCase(String name);
     
@@ -32,4 +45,24 @@ public interface PartRepository extends JpaRepository<Part, UUID>, JpaSpecificat
 
     @Query("SELECT p FROM Part p WHERE UPPER(p.name) LIKE UPPER(CONCAT('%', :name, '%')) AND p.job.id = :jobId")
     List<Part> findPartsByNameAndJobId(@Param("name") String name, @Param("jobId") UUID jobId);
+
+    // Cost totals and part counts per purchase day (one row per day that has parts)
+    @Query("SELECT p.purchaseDate AS date, SUM(p.cost) AS amount, COUNT(p) AS count FROM Part p " +
+           "WHERE p.purchaseDate BETWEEN :startDate AND :endDate GROUP BY p.purchaseDate")
+    List<DailyTotal> sumCostByDay(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Individual part costs in a purchase date range, for building distributions
+    @Query("SELECT p.purchaseDate AS date, p.cost AS amount FROM Part p WHERE p.purchaseDate BETWEEN :startDate AND :endDate")
+    List<DatedAmount> findCostsBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Every part as a snapshot, in purchase date order, for loading in-memory analytics; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + JobRepository.EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.mechtrack.model.event.PartSnapshot(p.id, p.job.id, p.name, p.purchaseDate, p.cost) " +
+           "FROM Part p ORDER BY p.purchaseDate")
+    Stream<PartSnapshot> streamAllSnapshots();
+
+    // Name of every part, unordered, for building the typeahead index; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + JobRepository.EXPORT_FETCH_SIZE))
+    @Query("SELECT p.name FROM Part p")
+    Stream<String> streamAllNames();
 }
@@ -11,6 +11,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 public class GenericQuerySpec {
 
@@ -22,17 +23,18 @@ public class GenericQuerySpec {
         };
     }
 
+    // UPPER(column) LIKE '%FRAGMENT%' is the shape the trigram indexes on UPPER(column) serve (PostgreSQL)
     public static <T> void addStringFilter(Root<T> root, CriteriaBuilder cb, List<Predicate> predicates, 
                                           String fieldName, String value) {
         if (StringUtils.hasText(value)) {
-            predicates.add(cb.like(cb.upper(root.get(fieldName)), "%" + value.toUpperCase() + "%"));
+            predicates.add(cb.like(cb.upper(root.get(fieldName)), "%" + value.toUpperCase(Locale.ROOT) + "%"));
         }
     }
 
     public static <T, Y> void addStringFilter(Join<T, Y> join, CriteriaBuilder cb, List<Predicate> predicates, 
                                              String fieldName, String value) {
         if (StringUtils.hasText(value)) {
-            predicates.add(cb.like(cb.upper(join.get(fieldName)), "%" + value.toUpperCase() + "%"));
+            predicates.add(cb.like(cb.upper(join.get(fieldName)), "%" + value.toUpperCase(Locale.ROOT) + "%"));
         }
     }
 
@@ -3,12 +3,15 @@ package com.mechtrack.repository.specification;
 import com.mechtrack.model.dto.JobSearchCriteria;
 import com.mechtrack.model.entity.Job;
 import com.mechtrack.model.entity.Part;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Locale;
+
 public class JobSpecifications {
 
     public static Specification<Job> withCriteria(JobSearchCriteria criteria) {
@@ -63,14 +66,20 @@ public class JobSpecifications {
                                      java.util.List<jakarta.persistence.criteria.Predicate> predicates, 
                                      JobSearchCriteria criteria) {
         if (StringUtils.hasText(criteria.getPartName()) || criteria.getMinPartCost() != null || criteria.getMaxPartCost() != null) {
-            Join<Job, Part> partJoin = root.join("parts", JoinType.LEFT);
+            // EXISTS rather than a join, so each job is returned once without DISTINCT, which would keep a
+            // free-text search from ordering by its rank
+            Subquery<Integer> parts = query.subquery(Integer.class);
+            Root<Part> part = parts.from(Part.class);
+            java.util.List<jakarta.persistence.criteria.Predicate> partPredicates = new ArrayList<>();
+            partPredicates.add(cb.equal(part.get("job"), root));
             
             if (StringUtils.hasText(criteria.getPartName())) {
-                predicates.add(cb.like(cb.upper(partJoin.get("name")), "%" + criteria.getPartName().toUpperCase() + "%"));
+                partPredicates.add(cb.like(cb.upper(part.get("name")), "%" + criteria.getPartName().toUpperCase(Locale.ROOT) + "%"));
             }
             
-            GenericQuerySpec.addDecimalRangeFilter(partJoin, cb, predicates, "cost", criteria.getMinPartCost(), criteria.getMaxPartCost());
-            query.distinct(true);
+            GenericQuerySpec.addDecimalRangeFilter(part, cb, partPredicates, "cost", criteria.getMinPartCost(), criteria.getMaxPartCost());
+            parts.select(cb.literal(1)).where(partPredicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
+            predicates.add(cb.exists(parts));
         }
     }
 
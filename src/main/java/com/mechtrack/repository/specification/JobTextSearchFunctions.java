@@ -0,0 +1,76 @@
+package com.mechtrack.repository.specification;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionArgumentTypeResolvers;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.Expression;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+
+/**
+ * Criteria functions over the PostgreSQL {@code job.search_vector} column, which the V9 migration's triggers maintain
+ * and the entity does not map, so full-text matching and ranking can share a query with the other job filters:
+ * <ul>
+ *     <li>{@code job_text_match(job.id, query)}: whether the job matches, through idx_job_search_vector</li>
+ *     <li>{@code job_text_rank(job.id, query)}: its {@code ts_rank}, higher is better</li>
+ * </ul>
+ * The id argument only locates the job table in the query. Registered for PostgreSQL only.
+ */
+public class JobTextSearchFunctions implements FunctionContributor {
+
+    public static final String MATCH = "job_text_match";
+    public static final String RANK = "job_text_rank";
+
+    @Override
+    public void contributeFunctions(FunctionContributions contributions) {
+        if (!(contributions.getDialect() instanceof PostgreSQLDialect)) {
+            return;
+        }
+        BasicType<Boolean> booleanType = contributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Float> floatType = contributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.FLOAT);
+        contributions.getFunctionRegistry().register(MATCH, new SearchVectorFunction(MATCH, booleanType,
+                "(%s @@ websearch_to_tsquery('simple', ", "))"));
+        contributions.getFunctionRegistry().register(RANK, new SearchVectorFunction(RANK, floatType,
+                "ts_rank(%s, websearch_to_tsquery('simple', ", "))"));
+    }
+
+    /**
+     * Renders {@code prefix} with the search vector column of the job in the first argument, the query argument,
+     * then {@code suffix}
+     */
+    private static class SearchVectorFunction extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        private final String prefix;
+        private final String suffix;
+
+        SearchVectorFunction(String name, BasicType<?> returnType, String prefix, String suffix) {
+            super(name, StandardArgumentsValidators.exactly(2),
+                    StandardFunctionReturnTypeResolvers.invariant(returnType), StandardFunctionArgumentTypeResolvers.NULL);
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public void render(SqlAppender sqlAppender, List<? extends SqlAstNode> arguments, ReturnableType<?> returnType,
+                           SqlAstTranslator<?> walker) {
+            ColumnReference jobId = ((Expression) arguments.get(0)).getColumnReference();
+            if (jobId == null || jobId.getQualifier() == null) {
+                throw new IllegalArgumentException(getName() + " expects the id of a job as its first argument");
+            }
+            sqlAppender.appendSql(prefix.formatted(jobId.getQualifier() + ".search_vector"));
+            arguments.get(1).accept(walker);
+            sqlAppender.appendSql(suffix);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.mechtrack.service;
+
+import com.mechtrack.model.dto.CarModelRankDto;
+import com.mechtrack.model.dto.CarModelRankingDto;
+import com.mechtrack.model.entity.AnalyticsMonthlyCarModel;
+import com.mechtrack.model.enums.CarModelMetric;
+import com.mechtrack.model.event.JobChangedEvent;
+import com.mechtrack.model.event.JobSnapshot;
+import com.mechtrack.model.projection.CarModelTotal;
+import com.mechtrack.model.projection.DatedCarModel;
+import com.mechtrack.repository.AnalyticsMonthlyCarModelRepository;
+import com.mechtrack.repository.JobRepository;
+import com.mechtrack.service.analytics.AnalyticsCache;
+import com.mechtrack.service.analytics.Cents;
+import com.mechtrack.service.analytics.HeavyHitters;
+import com.mechtrack.service.analytics.MonthlySummaryGuard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Top car models by job count or revenue, backed by per-month heavy-hitter summaries.
+ * A month is summarized from its jobs on first use and stored; job writes then patch the stored summary
+ * of their month in place, and ranges merge the monthly summaries. A write to a month without a stored summary
+ * deletes any a concurrent reader stores from pre-commit data, see {@link MonthlySummaryGuard}. Dashboard
+ * refreshes therefore never group the free-text car model column; the exact GROUP BY remains available for
+ * verification.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class AnalyticsCarModelService {
+
+    public static final int MAX_CAR_MODELS = 20;
+
+    private final AnalyticsMonthlyCarModelRepository summaryRepository;
+    private final JobRepository jobRepository;
+    private final AnalyticsCache analyticsCache;
+    private final MonthlySummaryGuard summaryGuard;
+
+    /**
+     * Get the top car models of a range of months
+     * @param startMonth Start month (inclusive)
+     * @param endMonth End month (inclusive)
+     * @param metric Job count or revenue
+     * @param limit Number of models, capped at {@value #MAX_CAR_MODELS}
+     * @param exact Count exactly with a GROUP BY instead of merging the monthly summaries
+     * @return Car models, highest value first
+     */
+    public CarModelRankingDto getTopCarModels(YearMonth startMonth, YearMonth endMonth, CarModelMetric metric, int limit, boolean exact) {
+        log.info("Ranking car models by {} from {} to {}{}", metric, startMonth, endMonth, exact ? " (exact)" : "");
+
+        int size = Math.clamp(limit, 1, MAX_CAR_MODELS);
+        List<CarModelRankDto> models = exact
+                ? countExactly(startMonth, endMonth, metric, size)
+                : estimate(startMonth, endMonth, metric, size);
+        return new CarModelRankingDto(startMonth, endMonth, metric, exact, models);
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        JobSnapshot before = countable(event.before());
+        JobSnapshot after = countable(event.after());
+
+        if (before != null && after != null
+                && YearMonth.from(before.date()).equals(YearMonth.from(after.date()))
+                && before.carModel().equals(after.carModel())
+                && Cents.of(before.income()) == Cents.of(after.income())) {
+            // Status, type or description only
+            return;
+        }
+
+        // Months without a stored summary are built from the jobs table on first read, so they need no patch,
+        // but a reader may be storing one from the data as it was before this write
+        Map<YearMonth, AnalyticsMonthlyCarModel> summaries = new TreeMap<>();
+        Set<YearMonth> unsummarized = new TreeSet<>();
+        if (before != null) {
+            patch(summaries, unsummarized, before, false);
+        }
+        if (after != null) {
+            patch(summaries, unsummarized, after, true);
+        }
+        if (!unsummarized.isEmpty()) {
+            summaryGuard.deleteAfterCommit(unsummarized, summaryRepository::deleteAllByIdInBatch);
+        }
+    }
+
+    private List<CarModelRankDto> countExactly(YearMonth startMonth, YearMonth endMonth, CarModelMetric metric, int size) {
+        LocalDate startDate = startMonth.atDay(1);
+        LocalDate endDate = endMonth.atEndOfMonth();
+        PageRequest firstPage = PageRequest.of(0, size);
+        List<CarModelTotal> rows = metric == CarModelMetric.JOBS
+                ? jobRepository.findTopCarModelsByJobs(startDate, endDate, firstPage)
+                : jobRepository.findTopCarModelsByRevenue(startDate, endDate, firstPage);
+
+        return rows.stream()
+                .map(row -> toRank(row.getCarModel(), metric,
+                        metric == CarModelMetric.JOBS ? row.getJobCount() : Cents.of(row.getRevenue()), 0))
+                .toList();
+    }
+
+    private List<CarModelRankDto> estimate(YearMonth startMonth, YearMonth endMonth, CarModelMetric metric, int size) {
+        Map<YearMonth, HeavyHitters[]> summaries = new HashMap<>();
+        for (AnalyticsMonthlyCarModel stored : summaryRepository.findByMonthStartBetween(startMonth.atDay(1), endMonth.atDay(1))) {
+            summaries.put(YearMonth.from(stored.getMonthStart()), new HeavyHitters[] {
+                    HeavyHitters.deserialize(stored.getJobsSummary()),
+                    HeavyHitters.deserialize(stored.getRevenueSummary())
+            });
+        }
+
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
+            if (!summaries.containsKey(month)) {
+                missing.add(month);
+            }
+        }
+        if (!missing.isEmpty()) {
+            summaries.putAll(buildSummaries(missing));
+        }
+
+        int index = metric == CarModelMetric.JOBS ? 0 : 1;
+        HeavyHitters merged = new HeavyHitters();
+        for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
+            merged.merge(summaries.get(month)[index]);
+        }
+
+        return merged.top(size).stream()
+                .map(estimate -> toRank(estimate.item(), metric, estimate.weight(), estimate.error()))
+                .toList();
+    }
+
+    /**
+     * @param weight Job count, or revenue in cents
+     */
+    private CarModelRankDto toRank(String carModel, CarModelMetric metric, long weight, long error) {
+        return metric == CarModelMetric.JOBS
+                ? new CarModelRankDto(carModel, BigDecimal.valueOf(weight), BigDecimal.valueOf(error))
+                : new CarModelRankDto(carModel, Cents.toAmount(weight), Cents.toAmount(error));
+    }
+
+    /**
+     * Summarize the given months from their jobs in one read, and store them unless a write touched
+     * them while they were being read, or touches them before this transaction commits
+     */
+    private Map<YearMonth, HeavyHitters[]> buildSummaries(List<YearMonth> months) {
+        YearMonth first = months.getFirst();
+        YearMonth last = months.getLast();
+
+        Map<YearMonth, Long> versions = new HashMap<>();
+        Map<YearMonth, HeavyHitters[]> summaries = new HashMap<>();
+        for (YearMonth month : months) {
+            versions.put(month, analyticsCache.version(summaryKey(month)));
+            summaries.put(month, new HeavyHitters[] { new HeavyHitters(), new HeavyHitters() });
+        }
+
+        for (DatedCarModel job : jobRepository.findCarModelsBetween(first.atDay(1), last.atEndOfMonth())) {
+            HeavyHitters[] monthSummaries = summaries.get(YearMonth.from(job.getDate()));
+            if (monthSummaries != null) {
+                monthSummaries[0].add(job.getCarModel(), 1);
+                monthSummaries[1].add(job.getCarModel(), Cents.of(job.getIncome()));
+            }
+        }
+
+        Map<YearMonth, Long> stored = new HashMap<>();
+        for (YearMonth month : months) {
+            if (analyticsCache.version(summaryKey(month)) == versions.get(month)) {
+                HeavyHitters[] monthSummaries = summaries.get(month);
+                summaryRepository.insertIfAbsent(month.atDay(1), monthSummaries[0].serialize(), monthSummaries[1].serialize());
+                stored.put(month, versions.get(month));
+            }
+        }
+        if (!stored.isEmpty()) {
+            summaryGuard.verifyAfterCommit(stored, this::summaryKey, summaryRepository::deleteAllByIdInBatch);
+        }
+
+        return summaries;
+    }
+
+    private void patch(Map<YearMonth, AnalyticsMonthlyCarModel> summaries, Set<YearMonth> unsummarized,
+                       JobSnapshot job, boolean add) {
+        YearMonth month = YearMonth.from(job.date());
+        if (unsummarized.contains(month)) {
+            return;
+        }
+        AnalyticsMonthlyCarModel stored = summaries.computeIfAbsent(month,
+                m -> summaryRepository.findForUpdate(m.atDay(1)).orElse(null));
+        if (stored == null) {
+            unsummarized.add(month);
+            return;
+        }
+
+        HeavyHitters jobs = HeavyHitters.deserialize(stored.getJobsSummary());
+        HeavyHitters revenue = HeavyHitters.deserialize(stored.getRevenueSummary());
+        if (add) {
+            jobs.add(job.carModel(), 1);
+            revenue.add(job.carModel(), Cents.of(job.income()));
+        } else {
+            jobs.remove(job.carModel(), 1);
+            revenue.remove(job.carModel(), Cents.of(job.income()));
+        }
+        stored.setJobsSummary(jobs.serialize());
+        stored.setRevenueSummary(revenue.serialize());
+    }
+
+    private JobSnapshot countable(JobSnapshot job) {
+        return job != null && job.date() != null && job.carModel() != null ? job : null;
+    }
+
+    private AnalyticsCache.Key summaryKey(YearMonth month) {
+        return new AnalyticsCache.Key("car-models", month.atDay(1), month.atEndOfMonth());
+    }
+}
@@ -0,0 +1,116 @@
+package com.mechtrack.service;
+
+import com.mechtrack.model.dto.CustomerValueDto;
+import com.mechtrack.model.entity.AnalyticsCustomer;
+import com.mechtrack.model.enums.CustomerRanking;
+import com.mechtrack.model.event.JobChangedEvent;
+import com.mechtrack.model.event.JobSnapshot;
+import com.mechtrack.model.projection.CustomerTotals;
+import com.mechtrack.repository.AnalyticsCustomerRepository;
+import com.mechtrack.repository.JobRepository;
+import com.mechtrack.service.analytics.Cents;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Customer lifetime value: total spend, visits, first and last visit per customer name.
+ * The analytics_customer table holds one row per customer and is recomputed for the affected customers
+ * inside every job write, from that customer's jobs only, with the row locked so concurrent writes for one
+ * customer recompute one after another. Rankings page over the table through an index per order, so their
+ * cost does not grow with the number of jobs.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class AnalyticsCustomerService {
+
+    public static final int MAX_CUSTOMER_PAGE_SIZE = 100;
+
+    private final AnalyticsCustomerRepository customerRepository;
+    private final JobRepository jobRepository;
+
+    /**
+     * Get customers ranked by lifetime value
+     * @param ranking Order to rank customers in
+     * @param page Zero-based page number
+     * @param size Page size, capped at {@value #MAX_CUSTOMER_PAGE_SIZE}
+     * @return Page of customers with their lifetime totals
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerValueDto> getCustomers(CustomerRanking ranking, int page, int size) {
+        log.info("Ranking customers by {}", ranking);
+
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, MAX_CUSTOMER_PAGE_SIZE), ranking.toSort());
+        return customerRepository.findAll(pageable).map(this::toDto);
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        JobSnapshot before = event.before();
+        JobSnapshot after = event.after();
+
+        if (before != null && after != null
+                && Objects.equals(before.customerName(), after.customerName())
+                && Objects.equals(before.date(), after.date())
+                && amountEquals(before.income(), after.income())) {
+            // Status, type or description only
+            return;
+        }
+
+        Set<String> customerNames = new TreeSet<>();
+        if (before != null && before.customerName() != null) {
+            customerNames.add(before.customerName());
+        }
+        if (after != null && after.customerName() != null) {
+            customerNames.add(after.customerName());
+        }
+        customerNames.forEach(this::recompute);
+    }
+
+    private void recompute(String customerName) {
+        // Once the lock is held, other writers of this customer have committed, so the sum below sees their jobs
+        AnalyticsCustomer customer = customerRepository.findForUpdate(customerName).orElseGet(() -> {
+            customerRepository.insertIfAbsent(customerName);
+            return customerRepository.findForUpdate(customerName)
+                    .orElseThrow(() -> new IllegalStateException("No analytics row for customer " + customerName));
+        });
+
+        // The query flushes the pending job write first, so it sees the job as changed
+        CustomerTotals totals = jobRepository.sumByCustomer(customerName);
+        if (totals.getVisitCount() == 0) {
+            customerRepository.delete(customer);
+            return;
+        }
+        customer.setTotalSpend(totals.getTotalSpend() != null ? totals.getTotalSpend() : BigDecimal.ZERO);
+        customer.setVisitCount(totals.getVisitCount().intValue());
+        customer.setFirstVisit(totals.getFirstVisit());
+        customer.setLastVisit(totals.getLastVisit());
+    }
+
+    private CustomerValueDto toDto(AnalyticsCustomer customer) {
+        long spend = Cents.of(customer.getTotalSpend());
+        return new CustomerValueDto(
+                customer.getCustomerName(),
+                Cents.toAmount(spend),
+                customer.getVisitCount(),
+                customer.getFirstVisit(),
+                customer.getLastVisit(),
+                customer.getVisitCount() == 0 ? BigDecimal.ZERO : Cents.divide(spend, customer.getVisitCount())
+        );
+    }
+
+    private boolean amountEquals(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+}
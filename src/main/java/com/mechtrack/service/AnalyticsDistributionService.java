@@ -0,0 +1,168 @@
+package com.mechtrack.service;
+
+import com.mechtrack.model.dto.DistributionDto;
+import com.mechtrack.model.dto.MonthlyDistributionDto;
+import com.mechtrack.model.dto.PercentilesDto;
+import com.mechtrack.model.entity.AnalyticsMonthlySketch;
+import com.mechtrack.model.event.JobChangedEvent;
+import com.mechtrack.model.event.PartChangedEvent;
+import com.mechtrack.model.projection.DatedAmount;
+import com.mechtrack.repository.AnalyticsMonthlySketchRepository;
+import com.mechtrack.repository.JobRepository;
+import com.mechtrack.repository.PartRepository;
+import com.mechtrack.service.analytics.AnalyticsCache;
+import com.mechtrack.service.analytics.MonthlySummaryGuard;
+import com.mechtrack.service.analytics.QuantileSketch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Job income and part cost percentiles per month, backed by mergeable quantile sketches.
+ * Sketches of closed months are persisted on first use and merged for multi-month ranges, so a yearly
+ * query reads twelve stored sketches instead of every value. A write touching a closed month deletes
+ * its sketch in the same transaction and again after commit, see {@link MonthlySummaryGuard}; the current
+ * month is always sketched from the raw values.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class AnalyticsDistributionService {
+
+    private final AnalyticsMonthlySketchRepository sketchRepository;
+    private final JobRepository jobRepository;
+    private final PartRepository partRepository;
+    private final AnalyticsCache analyticsCache;
+    private final MonthlySummaryGuard summaryGuard;
+
+    /**
+     * Get job income and part cost percentiles for a range of months
+     * @param startMonth Start month (inclusive)
+     * @param endMonth End month (inclusive)
+     * @return Percentiles over the whole range and per month
+     */
+    public DistributionDto getDistribution(YearMonth startMonth, YearMonth endMonth) {
+        log.info("Calculating income and cost distribution from {} to {}", startMonth, endMonth);
+
+        Map<YearMonth, QuantileSketch[]> sketches = new HashMap<>();
+        for (AnalyticsMonthlySketch stored : sketchRepository.findByMonthStartBetween(startMonth.atDay(1), endMonth.atDay(1))) {
+            sketches.put(YearMonth.from(stored.getMonthStart()), new QuantileSketch[] {
+                    QuantileSketch.deserialize(stored.getIncomeSketch()),
+                    QuantileSketch.deserialize(stored.getCostSketch())
+            });
+        }
+
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
+            if (!sketches.containsKey(month)) {
+                missing.add(month);
+            }
+        }
+        if (!missing.isEmpty()) {
+            sketches.putAll(buildSketches(missing));
+        }
+
+        QuantileSketch incomeTotal = new QuantileSketch();
+        QuantileSketch costTotal = new QuantileSketch();
+        List<MonthlyDistributionDto> months = new ArrayList<>();
+        for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
+            QuantileSketch[] monthSketches = sketches.get(month);
+            incomeTotal.merge(monthSketches[0]);
+            costTotal.merge(monthSketches[1]);
+            months.add(new MonthlyDistributionDto(month, toPercentiles(monthSketches[0]), toPercentiles(monthSketches[1])));
+        }
+
+        return new DistributionDto(startMonth, endMonth, toPercentiles(incomeTotal), toPercentiles(costTotal), months);
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        deleteClosedMonths(event.affectedDates());
+    }
+
+    @EventListener
+    public void onPartChanged(PartChangedEvent event) {
+        deleteClosedMonths(event.affectedDates());
+    }
+
+    /**
+     * Sketch the given months from the raw values in one read per table, and persist the closed ones
+     * unless a write touched them while they were being read, or touches them before this transaction commits
+     */
+    private Map<YearMonth, QuantileSketch[]> buildSketches(List<YearMonth> months) {
+        YearMonth first = months.getFirst();
+        YearMonth last = months.getLast();
+        YearMonth currentMonth = YearMonth.now();
+
+        Map<YearMonth, Long> versions = new HashMap<>();
+        Map<YearMonth, QuantileSketch[]> sketches = new HashMap<>();
+        for (YearMonth month : months) {
+            versions.put(month, analyticsCache.version(sketchKey(month)));
+            sketches.put(month, new QuantileSketch[] { new QuantileSketch(), new QuantileSketch() });
+        }
+
+        for (DatedAmount income : jobRepository.findIncomesBetween(first.atDay(1), last.atEndOfMonth())) {
+            QuantileSketch[] monthSketches = sketches.get(YearMonth.from(income.getDate()));
+            if (monthSketches != null) {
+                monthSketches[0].add(income.getAmount());
+            }
+        }
+        for (DatedAmount cost : partRepository.findCostsBetween(first.atDay(1), last.atEndOfMonth())) {
+            QuantileSketch[] monthSketches = sketches.get(YearMonth.from(cost.getDate()));
+            if (monthSketches != null) {
+                monthSketches[1].add(cost.getAmount());
+            }
+        }
+
+        Map<YearMonth, Long> stored = new HashMap<>();
+        for (YearMonth month : months) {
+            if (month.isBefore(currentMonth) && analyticsCache.version(sketchKey(month)) == versions.get(month)) {
+                QuantileSketch[] monthSketches = sketches.get(month);
+                sketchRepository.insertIfAbsent(month.atDay(1), monthSketches[0].serialize(), monthSketches[1].serialize());
+                stored.put(month, versions.get(month));
+            }
+        }
+        if (!stored.isEmpty()) {
+            summaryGuard.verifyAfterCommit(stored, this::sketchKey, sketchRepository::deleteAllByIdInBatch);
+        }
+
+        return sketches;
+    }
+
+    private void deleteClosedMonths(Collection<LocalDate> dates) {
+        YearMonth currentMonth = YearMonth.now();
+        Set<YearMonth> months = new TreeSet<>();
+        for (LocalDate date : dates) {
+            YearMonth month = YearMonth.from(date);
+            if (month.isBefore(currentMonth)) {
+                months.add(month);
+            }
+        }
+        if (!months.isEmpty()) {
+            // Entity deletes rather than a bulk delete, so a sketch loaded earlier in this transaction is not left stale
+            sketchRepository.deleteAllById(months.stream().map(month -> month.atDay(1)).toList());
+            summaryGuard.deleteAfterCommit(months, sketchRepository::deleteAllByIdInBatch);
+        }
+    }
+
+    private AnalyticsCache.Key sketchKey(YearMonth month) {
+        return new AnalyticsCache.Key("sketch", month.atDay(1), month.atEndOfMonth());
+    }
+
+    private PercentilesDto toPercentiles(QuantileSketch sketch) {
+        return new PercentilesDto(sketch.getCount(), sketch.quantile(0.50), sketch.quantile(0.90), sketch.quantile(0.99));
+    }
+}
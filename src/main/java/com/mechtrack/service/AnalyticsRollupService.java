@@ -0,0 +1,222 @@
+package com.mechtrack.service;
+
+import com.mechtrack.model.dto.DailyAnalyticsDto;
+import com.mechtrack.model.dto.RollupDiscrepancyDto;
+import com.mechtrack.model.event.AnalyticsRollupRebuiltEvent;
+import com.mechtrack.model.event.JobChangedEvent;
+import com.mechtrack.model.event.JobSnapshot;
+import com.mechtrack.model.event.PartChangedEvent;
+import com.mechtrack.model.event.PartSnapshot;
+import com.mechtrack.model.projection.DailyRollup;
+import com.mechtrack.model.projection.DailyTotal;
+import com.mechtrack.repository.AnalyticsDailyRepository;
+import com.mechtrack.repository.JobRepository;
+import com.mechtrack.repository.PartRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the analytics_daily rollup. Job and part change events are applied as deltas
+ * inside the writing transaction, so the rollup commits or rolls back together with the data.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class AnalyticsRollupService {
+
+    /**
+     * Longest range, in days, that can be checked or rebuilt in one call; the check builds one entry per day
+     */
+    public static final int MAX_RANGE_DAYS = 3660;
+
+    private final AnalyticsDailyRepository analyticsDailyRepository;
+    private final JobRepository jobRepository;
+    private final PartRepository partRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        JobSnapshot before = event.before();
+        JobSnapshot after = event.after();
+
+        if (before != null && after != null
+                && before.date() != null && before.date().equals(after.date())) {
+            // Same day: only the income can have changed
+            BigDecimal incomeDelta = amountOrZero(after.income()).subtract(amountOrZero(before.income()));
+            if (incomeDelta.signum() != 0) {
+                analyticsDailyRepository.addToDay(after.date(), incomeDelta, BigDecimal.ZERO, 0, 0);
+            }
+            return;
+        }
+
+        if (before != null && before.date() != null) {
+            analyticsDailyRepository.addToDay(before.date(), amountOrZero(before.income()).negate(), BigDecimal.ZERO, -1, 0);
+        }
+        if (after != null && after.date() != null) {
+            analyticsDailyRepository.addToDay(after.date(), amountOrZero(after.income()), BigDecimal.ZERO, 1, 0);
+        }
+    }
+
+    @EventListener
+    public void onPartChanged(PartChangedEvent event) {
+        PartSnapshot before = event.before();
+        PartSnapshot after = event.after();
+
+        if (before != null && after != null
+                && before.purchaseDate() != null && before.purchaseDate().equals(after.purchaseDate())) {
+            // Same day: only the cost can have changed
+            BigDecimal costDelta = amountOrZero(after.cost()).subtract(amountOrZero(before.cost()));
+            if (costDelta.signum() != 0) {
+                analyticsDailyRepository.addToDay(after.purchaseDate(), BigDecimal.ZERO, costDelta, 0, 0);
+            }
+            return;
+        }
+
+        if (before != null && before.purchaseDate() != null) {
+            analyticsDailyRepository.addToDay(before.purchaseDate(), BigDecimal.ZERO, amountOrZero(before.cost()).negate(), 0, -1);
+        }
+        if (after != null && after.purchaseDate() != null) {
+            analyticsDailyRepository.addToDay(after.purchaseDate(), BigDecimal.ZERO, amountOrZero(after.cost()), 0, 1);
+        }
+    }
+
+    /**
+     * Compare the rollup with a recomputation from the job and part tables
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @return One entry per day where the two disagree, sorted by date
+     */
+    @Transactional(readOnly = true)
+    public List<RollupDiscrepancyDto> findDiscrepancies(LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, DailyRollup> rollups = analyticsDailyRepository.findRollupsBetween(startDate, endDate).stream()
+                .collect(Collectors.toMap(DailyRollup::getDate, Function.identity()));
+        Map<LocalDate, DailyTotal> incomeByDate = jobRepository.sumIncomeByDay(startDate, endDate).stream()
+                .collect(Collectors.toMap(DailyTotal::getDate, Function.identity()));
+        Map<LocalDate, DailyTotal> expensesByDate = partRepository.sumCostByDay(startDate, endDate).stream()
+                .collect(Collectors.toMap(DailyTotal::getDate, Function.identity()));
+
+        List<RollupDiscrepancyDto> discrepancies = new ArrayList<>();
+        LocalDate current = startDate;
+
+        while (!current.isAfter(endDate)) {
+            DailyAnalyticsDto expected = recompute(current, incomeByDate.get(current), expensesByDate.get(current));
+            DailyAnalyticsDto actual = fromRollup(current, rollups.get(current));
+            if (!sameValues(expected, actual)) {
+                discrepancies.add(new RollupDiscrepancyDto(current, expected, actual));
+            }
+            current = current.plusDays(1);
+        }
+
+        if (!discrepancies.isEmpty()) {
+            log.warn("Analytics rollup has {} inconsistent day(s) between {} and {}", discrepancies.size(), startDate, endDate);
+        }
+        return discrepancies;
+    }
+
+    /**
+     * Replace the rollup rows in a date range with a recomputation from the job and part tables.
+     * <p>
+     * On PostgreSQL the rollup table is locked against writes first, so every job and part write is either
+     * committed before the recomputation reads the tables or applies its delta after the rebuild commits.
+     * Reads are not blocked. Other databases (H2 in dev and tests) take no such lock, so a write committing
+     * during the rebuild may be lost from the rollup until the next rebuild; run it with writes quiesced there.
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @return Number of rollup rows written
+     */
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        log.info("Rebuilding analytics rollup from {} to {}", startDate, endDate);
+
+        if (isPostgres()) {
+            analyticsDailyRepository.lockAgainstWrites();
+        }
+        analyticsDailyRepository.deleteBetween(startDate, endDate);
+
+        Map<LocalDate, DailyTotal> incomeByDate = jobRepository.sumIncomeByDay(startDate, endDate).stream()
+                .collect(Collectors.toMap(DailyTotal::getDate, Function.identity()));
+        Map<LocalDate, DailyTotal> expensesByDate = partRepository.sumCostByDay(startDate, endDate).stream()
+                .collect(Collectors.toMap(DailyTotal::getDate, Function.identity()));
+
+        Set<LocalDate> dates = new TreeSet<>(incomeByDate.keySet());
+        dates.addAll(expensesByDate.keySet());
+
+        for (LocalDate date : dates) {
+            DailyTotal income = incomeByDate.get(date);
+            DailyTotal expenses = expensesByDate.get(date);
+            analyticsDailyRepository.setDay(date, amountOf(income), amountOf(expenses), countOf(income), countOf(expenses));
+        }
+
+        eventPublisher.publishEvent(new AnalyticsRollupRebuiltEvent(startDate, endDate));
+        return dates.size();
+    }
+
+    private boolean isPostgres() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                instanceof PostgreSQLDialect;
+    }
+
+    private DailyAnalyticsDto recompute(LocalDate date, DailyTotal income, DailyTotal expenses) {
+        BigDecimal totalIncome = amountOf(income);
+        BigDecimal totalExpenses = amountOf(expenses);
+        return new DailyAnalyticsDto(
+                date,
+                totalIncome,
+                totalExpenses,
+                totalIncome.subtract(totalExpenses),
+                countOf(income),
+                countOf(expenses)
+        );
+    }
+
+    private DailyAnalyticsDto fromRollup(LocalDate date, DailyRollup rollup) {
+        if (rollup == null) {
+            return new DailyAnalyticsDto(date, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0, 0);
+        }
+        return new DailyAnalyticsDto(
+                date,
+                rollup.getIncomeTotal(),
+                rollup.getExpenseTotal(),
+                rollup.getIncomeTotal().subtract(rollup.getExpenseTotal()),
+                rollup.getJobCount(),
+                rollup.getPartCount()
+        );
+    }
+
+    private boolean sameValues(DailyAnalyticsDto expected, DailyAnalyticsDto actual) {
+        return expected.totalIncome().compareTo(actual.totalIncome()) == 0
+                && expected.totalExpenses().compareTo(actual.totalExpenses()) == 0
+                && expected.jobCount().equals(actual.jobCount())
+                && expected.partCount().equals(actual.partCount());
+    }
+
+    private BigDecimal amountOf(DailyTotal total) {
+        return total != null ? amountOrZero(total.getAmount()) : BigDecimal.ZERO;
+    }
+
+    private int countOf(DailyTotal total) {
+        return total != null ? total.getCount().intValue() : 0;
+    }
+
+    private BigDecimal amountOrZero(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
+    }
+}
@@ -1,24 +1,57 @@
 package com.mechtrack.service;
 
+import com.mechtrack.config.AnalyticsProperties;
+import com.mechtrack.model.dto.AnalyticsBucketDto;
+import com.mechtrack.model.dto.AnalyticsComparisonDto;
+import com.mechtrack.model.dto.AnalyticsTrendDto;
 import com.mechtrack.model.dto.DailyAnalyticsDto;
+import com.mechtrack.model.dto.DashboardDto;
+import com.mechtrack.model.dto.JobBreakdownDto;
+import com.mechtrack.model.dto.JobProfitabilityDto;
+import com.mechtrack.model.dto.MetricDeltaDto;
+import com.mechtrack.model.dto.JobTypeBreakdownDto;
 import com.mechtrack.model.dto.MonthlyAnalyticsDto;
-import com.mechtrack.model.entity.Job;
-import com.mechtrack.model.entity.Part;
+import com.mechtrack.model.enums.ComparisonPeriod;
+import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.enums.JobType;
 import com.mechtrack.model.enums.TimeInterval;
+import com.mechtrack.model.projection.BucketRollup;
+import com.mechtrack.model.projection.DailyRollup;
+import com.mechtrack.model.projection.JobBreakdownRow;
+import com.mechtrack.model.projection.JobProfitabilityRow;
+import com.mechtrack.repository.AnalyticsDailyRepository;
 import com.mechtrack.repository.JobRepository;
-import com.mechtrack.repository.PartRepository;
+import com.mechtrack.service.analytics.AmountTotals;
+import com.mechtrack.service.analytics.AnalyticsCache;
+import com.mechtrack.service.analytics.BucketSize;
+import com.mechtrack.service.analytics.Cents;
+import com.mechtrack.service.analytics.ColumnarAnalyticsStore;
+import com.mechtrack.service.analytics.ParallelAggregator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -26,35 +59,281 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AnalyticsService {
 
+    public static final int MAX_PROFITABILITY_PAGE_SIZE = 100;
+
+    private final AnalyticsDailyRepository analyticsDailyRepository;
     private final JobRepository jobRepository;
-    private final PartRepository partRepository;
+    private final AnalyticsCache analyticsCache;
+    private final ColumnarAnalyticsStore columnarStore;
+    private final ParallelAggregator parallelAggregator;
+    private final AnalyticsProperties analyticsProperties;
 
     /**
-     * Get monthly analytics for a specific date range
-     * @param startMonth Start month (inclusive)
-     * @param endMonth End month (inclusive)
-     * @return List of monthly analytics sorted by month
+     * Get an analytics series for a date range split into buckets of the given size.
+     * The first and last bucket are clipped to the range.
+     * @param bucketSize Bucket size (day, week, month, quarter, year or N days)
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @return List of bucket analytics sorted by bucket start
      */
-    public List<MonthlyAnalyticsDto> getMonthlyAnalytics(YearMonth startMonth, YearMonth endMonth) {
-        log.info("Calculating monthly analytics from {} to {}", startMonth, endMonth);
+    public List<AnalyticsBucketDto> getSeries(BucketSize bucketSize, LocalDate startDate, LocalDate endDate) {
+        log.info("Calculating {} analytics series from {} to {}", bucketSize, startDate, endDate);
+        
+        // The in-memory store is updated after commit and never misses, so bypass the cache. A series whose buckets are
+        // all cached is read a few times faster (ColumnarSeriesBenchmark), but any write to its range drops it.
+        if (columnarStore.isReady()) {
+            return calculateSeriesRange(bucketSize, startDate, endDate);
+        }
+        
+        return getCachedBuckets(bucketKeys(bucketSize, startDate, endDate), Function.identity(), AnalyticsBucketDto.class,
+                (first, last) -> calculateSeriesRange(bucketSize, first.start(), last.end()));
+    }
+
+    private List<AnalyticsBucketDto> calculateSeriesRange(BucketSize bucketSize, LocalDate startDate, LocalDate endDate) {
+        List<AnalyticsCache.Key> buckets = bucketKeys(bucketSize, startDate, endDate);
+        
+        if (columnarStore.isReady()) {
+            // Buckets are independent range sums, so long series are split across the aggregation pool
+            List<AmountTotals> totals = columnarStore.sumEach(buckets, parallelAggregator);
+            List<AnalyticsBucketDto> result = new ArrayList<>(buckets.size());
+            for (int i = 0; i < buckets.size(); i++) {
+                result.add(toBucketDto(buckets.get(i).start(), buckets.get(i).end(), totals.get(i)));
+            }
+            return result;
+        }
+        
+        // Sum the daily rollup per bucket: month-based buckets are grouped in the database by month index, day-based
+        // buckets are folded here from the (at most one per day) daily rows, so no dialect-specific date arithmetic is needed
+        Map<LocalDate, AmountTotals> totalsByBucket = new HashMap<>();
+        if (bucketSize.isMonthBased()) {
+            for (BucketRollup rollup : analyticsDailyRepository.sumRollupsByMonthBucket(startDate, endDate, bucketSize.amount())) {
+                totalsByBucket.put(bucketSize.monthBucketStart(rollup.getBucket()), new AmountTotals(
+                        Cents.of(rollup.getIncomeTotal()), rollup.getJobCount().intValue(),
+                        Cents.of(rollup.getExpenseTotal()), rollup.getPartCount().intValue()));
+            }
+        } else {
+            for (DailyRollup day : analyticsDailyRepository.findRollupsBetween(startDate, endDate)) {
+                totalsByBucket.merge(bucketSize.bucketStart(day.getDate()), new AmountTotals(
+                        Cents.of(day.getIncomeTotal()), day.getJobCount(), Cents.of(day.getExpenseTotal()), day.getPartCount()),
+                        AmountTotals::plus);
+            }
+        }
+        
+        // Generate analytics for each bucket in the range
+        List<AnalyticsBucketDto> result = new ArrayList<>(buckets.size());
+        for (AnalyticsCache.Key bucket : buckets) {
+            AmountTotals totals = totalsByBucket.getOrDefault(bucketSize.bucketStart(bucket.start()), AmountTotals.EMPTY);
+            result.add(toBucketDto(bucket.start(), bucket.end(), totals));
+        }
         
-        LocalDate startDate = startMonth.atDay(1);
-        LocalDate endDate = endMonth.atEndOfMonth();
+        return result;
+    }
+
+    private List<AnalyticsCache.Key> bucketKeys(BucketSize bucketSize, LocalDate startDate, LocalDate endDate) {
+        List<AnalyticsCache.Key> keys = new ArrayList<>();
+        LocalDate current = startDate;
         
-        // Fetch all jobs and parts in the date range
-        List<Job> jobs = jobRepository.findByDateBetween(startDate, endDate);
-        List<Part> parts = partRepository.findByPurchaseDateBetween(startDate, endDate);
+        while (!current.isAfter(endDate)) {
+            LocalDate next = bucketSize.nextBucketStart(bucketSize.bucketStart(current));
+            LocalDate bucketEnd = next.minusDays(1);
+            keys.add(AnalyticsCache.bucketKey(bucketSize, current, bucketEnd.isAfter(endDate) ? endDate : bucketEnd));
+            current = next;
+        }
         
-        // Group jobs by month
-        Map<YearMonth, List<Job>> jobsByMonth = jobs.stream()
-                .collect(Collectors.groupingBy(job -> YearMonth.from(job.getDate())));
+        return keys;
+    }
+
+    private AnalyticsBucketDto toBucketDto(LocalDate startDate, LocalDate endDate, AmountTotals totals) {
+        // A bucket without jobs or parts reports plain zeros, whether it came from the rollup or the columnar store
+        if (totals.jobCount() == 0 && totals.partCount() == 0) {
+            return new AnalyticsBucketDto(startDate, endDate, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0, 0);
+        }
+        return new AnalyticsBucketDto(
+                startDate,
+                endDate,
+                Cents.toAmount(totals.incomeCents()),
+                Cents.toAmount(totals.expenseCents()),
+                Cents.toAmount(totals.netProfitCents()),
+                totals.jobCount(),
+                totals.partCount()
+        );
+    }
+
+    /**
+     * Get net profit per bucket with moving averages and a running year-to-date total.
+     * Buckets are whole, so the first one may start before {@code startDate}. Earlier buckets are read as
+     * lookback so the first returned points have full windows, and all columns are produced in one pass
+     * by adding the newest bucket and dropping the oldest one per window.
+     * @param bucketSize Bucket size (day, week, month, quarter, year or N days)
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @param windows Moving average window sizes in buckets
+     * @return List of trend points sorted by bucket start
+     */
+    public List<AnalyticsTrendDto> getTrend(BucketSize bucketSize, LocalDate startDate, LocalDate endDate, List<Integer> windows) {
+        int maxWindow = windows.stream().mapToInt(Integer::intValue).max().orElse(1);
+        
+        // Look back far enough for both the longest window and the start of the year
+        LocalDate windowStart = bucketSize.bucketStart(startDate);
+        for (int i = 1; i < maxWindow; i++) {
+            windowStart = bucketSize.bucketStart(windowStart.minusDays(1));
+        }
+        LocalDate yearStart = bucketSize.bucketStart(startDate.withDayOfYear(1));
+        LocalDate lookbackStart = windowStart.isBefore(yearStart) ? windowStart : yearStart;
         
-        // Group parts by month
-        Map<YearMonth, List<Part>> partsByMonth = parts.stream()
-                .collect(Collectors.groupingBy(part -> YearMonth.from(part.getPurchaseDate())));
+        List<AnalyticsBucketDto> buckets = getSeries(bucketSize, lookbackStart, endDate);
+        int firstReturned = 0;
+        while (buckets.get(firstReturned).end().isBefore(startDate)) {
+            firstReturned++;
+        }
         
-        // Generate analytics for each month in the range
-        return generateMonthlyAnalytics(startMonth, endMonth, jobsByMonth, partsByMonth);
+        // Running sums are kept in cents; amounts are only created for the returned points
+        long[] netProfits = new long[buckets.size()];
+        for (int i = 0; i < buckets.size(); i++) {
+            netProfits[i] = Cents.of(buckets.get(i).netProfit());
+        }
+        
+        long[] windowSums = new long[windows.size()];
+        long yearToDate = 0;
+        int year = Integer.MIN_VALUE;
+        List<AnalyticsTrendDto> result = new ArrayList<>(buckets.size() - firstReturned);
+        
+        for (int i = 0; i < buckets.size(); i++) {
+            AnalyticsBucketDto bucket = buckets.get(i);
+            
+            // A point's year-to-date total is for the year its bucket ends in; a bucket that starts in the
+            // previous year (a week or N days across New Year) only adds its days from January 1
+            long yearToDateDelta = netProfits[i];
+            if (bucket.end().getYear() != year) {
+                year = bucket.end().getYear();
+                yearToDate = 0;
+                if (bucket.start().getYear() != year) {
+                    yearToDateDelta = Cents.of(sumSeries(LocalDate.of(year, 1, 1), bucket.end()).netProfit());
+                }
+            }
+            yearToDate = Math.addExact(yearToDate, yearToDateDelta);
+            
+            for (int w = 0; w < windows.size(); w++) {
+                int window = windows.get(w);
+                windowSums[w] = Math.addExact(windowSums[w], netProfits[i]);
+                if (i >= window) {
+                    windowSums[w] = Math.subtractExact(windowSums[w], netProfits[i - window]);
+                }
+            }
+            
+            if (i >= firstReturned) {
+                Map<Integer, BigDecimal> movingAverages = new LinkedHashMap<>();
+                for (int w = 0; w < windows.size(); w++) {
+                    int window = windows.get(w);
+                    movingAverages.put(window, Cents.divide(windowSums[w], Math.min(i + 1, window)));
+                }
+                result.add(new AnalyticsTrendDto(bucket.start(), bucket.end(), bucket.netProfit(), movingAverages,
+                        Cents.toAmount(yearToDate)));
+            }
+        }
+        
+        return result;
+    }
+
+    /**
+     * Compare a period with the previous period of equal length or the same dates a year earlier.
+     * Both periods are summed from month buckets, so closed months come from the cache.
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @param comparedTo Baseline period
+     * @return Totals of both periods with absolute and percentage deltas
+     */
+    public AnalyticsComparisonDto compare(LocalDate startDate, LocalDate endDate, ComparisonPeriod comparedTo) {
+        AnalyticsBucketDto current = sumSeries(startDate, endDate);
+        AnalyticsBucketDto baseline = sumSeries(
+                comparedTo.baselineStart(startDate, endDate), comparedTo.baselineEnd(startDate, endDate));
+        
+        return new AnalyticsComparisonDto(
+                comparedTo,
+                current,
+                baseline,
+                delta(current.totalIncome(), baseline.totalIncome()),
+                delta(current.totalExpenses(), baseline.totalExpenses()),
+                delta(current.netProfit(), baseline.netProfit()),
+                delta(BigDecimal.valueOf(current.jobCount()), BigDecimal.valueOf(baseline.jobCount())),
+                delta(BigDecimal.valueOf(current.partCount()), BigDecimal.valueOf(baseline.partCount()))
+        );
+    }
+
+    private AnalyticsBucketDto sumSeries(LocalDate startDate, LocalDate endDate) {
+        AmountTotals totals = AmountTotals.EMPTY;
+        for (AnalyticsBucketDto bucket : getSeries(BucketSize.MONTH, startDate, endDate)) {
+            totals = totals.plus(new AmountTotals(Cents.of(bucket.totalIncome()), bucket.jobCount(),
+                    Cents.of(bucket.totalExpenses()), bucket.partCount()));
+        }
+        
+        return toBucketDto(startDate, endDate, totals);
+    }
+
+    private MetricDeltaDto delta(BigDecimal current, BigDecimal baseline) {
+        BigDecimal absolute = current.subtract(baseline);
+        BigDecimal percent = baseline.signum() == 0
+                ? null
+                : absolute.multiply(BigDecimal.valueOf(100)).divide(baseline.abs(), 2, RoundingMode.HALF_UP);
+        return new MetricDeltaDto(absolute, percent);
+    }
+
+    /**
+     * Get the dashboard views (12-month summary, last 12 months, last 7 and 30 days) in one go.
+     * All of them are derived from a single daily series over the 12-month window, so the rollup is read
+     * at most once and cached days are shared with {@link #getDailyAnalytics(TimeInterval)}.
+     * @return Dashboard views, each equal to its standalone endpoint
+     */
+    public DashboardDto getDashboard() {
+        YearMonth endMonth = YearMonth.now();
+        YearMonth startMonth = endMonth.minusMonths(11);
+        LocalDate today = LocalDate.now();
+        
+        List<AnalyticsBucketDto> days = getSeries(BucketSize.DAY, startMonth.atDay(1), endMonth.atEndOfMonth());
+        
+        Map<YearMonth, AmountTotals> totalsByMonth = new LinkedHashMap<>();
+        for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
+            totalsByMonth.put(month, AmountTotals.EMPTY);
+        }
+        for (AnalyticsBucketDto day : days) {
+            totalsByMonth.merge(YearMonth.from(day.start()), new AmountTotals(Cents.of(day.totalIncome()), day.jobCount(),
+                    Cents.of(day.totalExpenses()), day.partCount()), AmountTotals::plus);
+        }
+        
+        List<MonthlyAnalyticsDto> monthly = new ArrayList<>(totalsByMonth.size());
+        AmountTotals total = AmountTotals.EMPTY;
+        for (Map.Entry<YearMonth, AmountTotals> month : totalsByMonth.entrySet()) {
+            monthly.add(toMonthlyAnalytics(toBucketDto(month.getKey().atDay(1), month.getKey().atEndOfMonth(), month.getValue())));
+            total = total.plus(month.getValue());
+        }
+        MonthlyAnalyticsDto summary = toMonthlyAnalytics(toBucketDto(endMonth.atDay(1), endMonth.atEndOfMonth(), total));
+        
+        return new DashboardDto(
+                summary,
+                monthly,
+                lastDays(days, today, TimeInterval.SEVEN_DAYS),
+                lastDays(days, today, TimeInterval.ONE_MONTH)
+        );
+    }
+
+    private List<DailyAnalyticsDto> lastDays(List<AnalyticsBucketDto> days, LocalDate today, TimeInterval interval) {
+        LocalDate first = today.minusDays(interval.getDays() - 1);
+        return days.stream()
+                .filter(day -> !day.start().isBefore(first) && !day.start().isAfter(today))
+                .map(this::toDailyAnalytics)
+                .toList();
+    }
+
+    /**
+     * Get monthly analytics for a specific date range
+     * @param startMonth Start month (inclusive)
+     * @param endMonth End month (inclusive)
+     * @return List of monthly analytics sorted by month
+     */
+    public List<MonthlyAnalyticsDto> getMonthlyAnalytics(YearMonth startMonth, YearMonth endMonth) {
+        return getSeries(BucketSize.MONTH, startMonth.atDay(1), endMonth.atEndOfMonth()).stream()
+                .map(this::toMonthlyAnalytics)
+                .toList();
     }
 
     /**
@@ -83,66 +362,17 @@ public class AnalyticsService {
      * @return Monthly analytics for that month
      */
     public MonthlyAnalyticsDto getMonthlyAnalytics(YearMonth month) {
-        List<MonthlyAnalyticsDto> analytics = getMonthlyAnalytics(month, month);
-        return analytics.isEmpty() ? createEmptyAnalytics(month) : analytics.getFirst();
-    }
-
-    private List<MonthlyAnalyticsDto> generateMonthlyAnalytics(
-            YearMonth startMonth, 
-            YearMonth endMonth,
-            Map<YearMonth, List<Job>> jobsByMonth,
-            Map<YearMonth, List<Part>> partsByMonth) {
-        
-        List<MonthlyAnalyticsDto> result = new java.util.ArrayList<>();
-        YearMonth current = startMonth;
-        
-        while (!current.isAfter(endMonth)) {
-            result.add(calculateMonthlyAnalytics(current, jobsByMonth, partsByMonth));
-            current = current.plusMonths(1);
-        }
-        
-        return result;
-    }
-
-    private MonthlyAnalyticsDto calculateMonthlyAnalytics(
-            YearMonth month,
-            Map<YearMonth, List<Job>> jobsByMonth,
-            Map<YearMonth, List<Part>> partsByMonth) {
-        
-        List<Job> monthJobs = jobsByMonth.getOrDefault(month, List.of());
-        List<Part> monthParts = partsByMonth.getOrDefault(month, List.of());
-        
-        // Calculate totals
-        BigDecimal totalIncome = monthJobs.stream()
-                .map(Job::getIncome)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal totalExpenses = monthParts.stream()
-                .map(Part::getCost)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal netProfit = totalIncome.subtract(totalExpenses);
-        
-        return new MonthlyAnalyticsDto(
-                month,
-                totalIncome,
-                totalExpenses,
-                netProfit,
-                monthJobs.size(),
-                monthParts.size()
-        );
+        return getMonthlyAnalytics(month, month).getFirst();
     }
 
-    private MonthlyAnalyticsDto createEmptyAnalytics(YearMonth month) {
+    private MonthlyAnalyticsDto toMonthlyAnalytics(AnalyticsBucketDto bucket) {
         return new MonthlyAnalyticsDto(
-                month,
-                BigDecimal.ZERO,
-                BigDecimal.ZERO,
-                BigDecimal.ZERO,
-                0,
-                0
+                YearMonth.from(bucket.start()),
+                bucket.totalIncome(),
+                bucket.totalExpenses(),
+                bucket.netProfit(),
+                bucket.jobCount(),
+                bucket.partCount()
         );
     }
 
@@ -165,22 +395,35 @@ public class AnalyticsService {
      * @return List of daily analytics sorted by date
      */
     public List<DailyAnalyticsDto> getDailyAnalytics(LocalDate startDate, LocalDate endDate) {
-        log.info("Calculating daily analytics from {} to {}", startDate, endDate);
-        
-        // Fetch all jobs and parts in the date range
-        List<Job> jobs = jobRepository.findByDateBetween(startDate, endDate);
-        List<Part> parts = partRepository.findByPurchaseDateBetween(startDate, endDate);
-        
-        // Group jobs by date
-        Map<LocalDate, List<Job>> jobsByDate = jobs.stream()
-                .collect(Collectors.groupingBy(Job::getDate));
+        return getSeries(BucketSize.DAY, startDate, endDate).stream()
+                .map(this::toDailyAnalytics)
+                .toList();
+    }
+
+    /**
+     * Stream daily analytics for a date range, reading the rollup one chunk of days at a time.
+     * Does not start a transaction of its own, so a slow consumer does not hold a connection between chunks.
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @param chunkConsumer Receives each chunk of consecutive days in date order
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void streamDailyAnalytics(LocalDate startDate, LocalDate endDate, Consumer<List<DailyAnalyticsDto>> chunkConsumer) {
+        log.info("Streaming daily analytics from {} to {}", startDate, endDate);
         
-        // Group parts by date
-        Map<LocalDate, List<Part>> partsByDate = parts.stream()
-                .collect(Collectors.groupingBy(Part::getPurchaseDate));
+        int chunkDays = Math.max(1, analyticsProperties.getExport().getChunkDays());
+        LocalDate chunkStart = startDate;
         
-        // Generate analytics for each day in the range
-        return generateDailyAnalytics(startDate, endDate, jobsByDate, partsByDate);
+        while (!chunkStart.isAfter(endDate)) {
+            LocalDate chunkEnd = chunkStart.plusDays(chunkDays - 1);
+            if (chunkEnd.isAfter(endDate)) {
+                chunkEnd = endDate;
+            }
+            chunkConsumer.accept(calculateSeriesRange(BucketSize.DAY, chunkStart, chunkEnd).stream()
+                    .map(this::toDailyAnalytics)
+                    .toList());
+            chunkStart = chunkEnd.plusDays(1);
+        }
     }
 
     /**
@@ -189,66 +432,165 @@ public class AnalyticsService {
      * @return Daily analytics for that date
      */
     public DailyAnalyticsDto getDailyAnalytics(LocalDate date) {
-        List<DailyAnalyticsDto> analytics = getDailyAnalytics(date, date);
-        return analytics.isEmpty() ? createEmptyDailyAnalytics(date) : analytics.getFirst();
+        return getDailyAnalytics(date, date).getFirst();
     }
 
-    private List<DailyAnalyticsDto> generateDailyAnalytics(
-            LocalDate startDate, 
-            LocalDate endDate,
-            Map<LocalDate, List<Job>> jobsByDate,
-            Map<LocalDate, List<Part>> partsByDate) {
+    private DailyAnalyticsDto toDailyAnalytics(AnalyticsBucketDto bucket) {
+        return new DailyAnalyticsDto(
+                bucket.start(),
+                bucket.totalIncome(),
+                bucket.totalExpenses(),
+                bucket.netProfit(),
+                bucket.jobCount(),
+                bucket.partCount()
+        );
+    }
+
+    /**
+     * Get income and job counts per job type and status for a month.
+     * Results are cached per month like the monthly series.
+     * @param month The specific month
+     * @return Breakdown for that month
+     */
+    public JobBreakdownDto getJobBreakdown(YearMonth month) {
+        if (columnarStore.isReady()) {
+            return getJobBreakdown(month.atDay(1), month.atEndOfMonth());
+        }
+        return getCachedBuckets(List.of(month), AnalyticsCache::breakdownKey, JobBreakdownDto.class,
+                (startMonth, endMonth) -> List.of(getJobBreakdown(startMonth.atDay(1), endMonth.atEndOfMonth())))
+                .getFirst();
+    }
+
+    /**
+     * Get income and job counts per job type and status for a date range
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @return Breakdown for the range, with every type and status present
+     */
+    public JobBreakdownDto getJobBreakdown(LocalDate startDate, LocalDate endDate) {
+        log.info("Calculating job breakdown from {} to {}", startDate, endDate);
         
-        List<DailyAnalyticsDto> result = new java.util.ArrayList<>();
-        LocalDate current = startDate;
+        // Accumulate in cents indexed by ordinal, then build amounts once per type
+        long[] incomeByType = new long[JobType.values().length];
+        int[] countByType = new int[JobType.values().length];
+        int[] countByStatus = new int[JobStatus.values().length];
         
-        while (!current.isAfter(endDate)) {
-            result.add(calculateDailyAnalytics(current, jobsByDate, partsByDate));
-            current = current.plusDays(1);
+        // One aggregate per (type, status) pair, folded into both dimensions
+        if (columnarStore.isReady()) {
+            columnarStore.forEachTypeAndStatus(startDate, endDate, (type, status, incomeCents, count) -> {
+                incomeByType[type.ordinal()] = Math.addExact(incomeByType[type.ordinal()], incomeCents);
+                countByType[type.ordinal()] += count;
+                countByStatus[status.ordinal()] += count;
+            });
+        } else {
+            for (JobBreakdownRow row : jobRepository.sumIncomeByTypeAndStatus(startDate, endDate)) {
+                int count = row.getCount().intValue();
+                int type = row.getType().ordinal();
+                incomeByType[type] = Math.addExact(incomeByType[type], Cents.of(row.getIncome()));
+                countByType[type] += count;
+                countByStatus[row.getStatus().ordinal()] += count;
+            }
         }
         
-        return result;
+        List<JobTypeBreakdownDto> byType = new ArrayList<>();
+        long totalIncome = 0;
+        int jobCount = 0;
+        for (JobType type : JobType.values()) {
+            long income = incomeByType[type.ordinal()];
+            int count = countByType[type.ordinal()];
+            BigDecimal averageTicket = count == 0 ? BigDecimal.ZERO : Cents.divide(income, count);
+            byType.add(new JobTypeBreakdownDto(type, Cents.toAmount(income), count, averageTicket));
+            totalIncome = Math.addExact(totalIncome, income);
+            jobCount += count;
+        }
+        
+        Map<JobStatus, Integer> statusCounts = new EnumMap<>(JobStatus.class);
+        for (JobStatus status : JobStatus.values()) {
+            statusCounts.put(status, countByStatus[status.ordinal()]);
+        }
+        
+        return new JobBreakdownDto(startDate, endDate, Cents.toAmount(totalIncome), jobCount,
+                List.copyOf(byType), Collections.unmodifiableMap(statusCounts));
     }
 
-    private DailyAnalyticsDto calculateDailyAnalytics(
-            LocalDate date,
-            Map<LocalDate, List<Job>> jobsByDate,
-            Map<LocalDate, List<Part>> partsByDate) {
+    /**
+     * Get jobs ranked by profit (income minus the cost of their parts) for a date range.
+     * The ranking and the page limit are applied in the database; part collections are never loaded.
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @param mostProfitableFirst true for the most profitable jobs first, false for the least profitable
+     * @param page Zero-based page number
+     * @param size Page size, capped at {@value #MAX_PROFITABILITY_PAGE_SIZE}
+     * @return Page of jobs with their profitability
+     */
+    public Page<JobProfitabilityDto> getJobProfitability(
+            LocalDate startDate, LocalDate endDate, boolean mostProfitableFirst, int page, int size) {
+        log.info("Ranking job profitability from {} to {}", startDate, endDate);
         
-        List<Job> dayJobs = jobsByDate.getOrDefault(date, List.of());
-        List<Part> dayParts = partsByDate.getOrDefault(date, List.of());
+        Sort byProfit = JpaSort.unsafe(mostProfitableFirst ? Sort.Direction.DESC : Sort.Direction.ASC, JobRepository.PROFIT_EXPRESSION)
+                .and(Sort.by("id"));
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, MAX_PROFITABILITY_PAGE_SIZE), byProfit);
+        Page<JobProfitabilityRow> rows = jobRepository.findProfitability(startDate, endDate, pageable);
         
-        // Calculate totals
-        BigDecimal totalIncome = dayJobs.stream()
-                .map(Job::getIncome)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return rows.map(row -> {
+            long income = Cents.of(row.getIncome());
+            long partsCost = Cents.of(row.getPartsCost());
+            return new JobProfitabilityDto(
+                    row.getId(),
+                    row.getCustomerName(),
+                    row.getCarModel(),
+                    row.getDate(),
+                    row.getType(),
+                    row.getStatus(),
+                    Cents.toAmount(income),
+                    Cents.toAmount(partsCost),
+                    Cents.toAmount(Math.subtractExact(income, partsCost)),
+                    row.getPartCount().intValue()
+            );
+        });
+    }
+
+    /**
+     * Serve each bucket from the cache and calculate the span between the first and last miss in one go.
+     * Versions are taken before the calculation so results overlapping a concurrent write are not cached.
+     */
+    private <B, V> List<V> getCachedBuckets(
+            List<B> buckets,
+            Function<B, AnalyticsCache.Key> keyOf,
+            Class<V> type,
+            BiFunction<B, B, List<V>> calculateRange) {
         
-        BigDecimal totalExpenses = dayParts.stream()
-                .map(Part::getCost)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<V> result = new ArrayList<>(buckets.size());
+        int firstMiss = -1;
+        int lastMiss = -1;
         
-        BigDecimal netProfit = totalIncome.subtract(totalExpenses);
+        for (int i = 0; i < buckets.size(); i++) {
+            V cached = analyticsCache.get(keyOf.apply(buckets.get(i)), type);
+            result.add(cached);
+            if (cached == null) {
+                firstMiss = firstMiss < 0 ? i : firstMiss;
+                lastMiss = i;
+            }
+        }
         
-        return new DailyAnalyticsDto(
-                date,
-                totalIncome,
-                totalExpenses,
-                netProfit,
-                dayJobs.size(),
-                dayParts.size()
-        );
-    }
-
-    private DailyAnalyticsDto createEmptyDailyAnalytics(LocalDate date) {
-        return new DailyAnalyticsDto(
-                date,
-                BigDecimal.ZERO,
-                BigDecimal.ZERO,
-                BigDecimal.ZERO,
-                0,
-                0
-        );
+        if (firstMiss < 0) {
+            return result;
+        }
+        
+        List<AnalyticsCache.Key> keys = new ArrayList<>(lastMiss - firstMiss + 1);
+        long[] versions = new long[lastMiss - firstMiss + 1];
+        for (int i = firstMiss; i <= lastMiss; i++) {
+            AnalyticsCache.Key key = keyOf.apply(buckets.get(i));
+            keys.add(key);
+            versions[i - firstMiss] = analyticsCache.version(key);
+        }
+        
+        List<V> calculated = calculateRange.apply(buckets.get(firstMiss), buckets.get(lastMiss));
+        for (int i = 0; i < calculated.size(); i++) {
+            result.set(firstMiss + i, calculated.get(i));
+            analyticsCache.put(keys.get(i), calculated.get(i), versions[i]);
+        }
+        
+        return result;
     }
 } 
@@ -0,0 +1,145 @@
+package com.mechtrack.service;
+
+import com.mechtrack.config.AnalyticsProperties;
+import com.mechtrack.model.enums.TimeInterval;
+import com.mechtrack.model.event.AnalyticsRollupRebuiltEvent;
+import com.mechtrack.model.event.JobChangedEvent;
+import com.mechtrack.model.event.PartChangedEvent;
+import com.mechtrack.service.analytics.AnalyticsCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Precomputes the analytics windows the dashboard loads first, so they are served from the analytics cache:
+ * the last 12 months behind {@code /summary}, the current month, the daily series of every
+ * {@link TimeInterval}, and the days of the last 12 months behind {@code /dashboard}. Runs once the application
+ * is ready, nightly just after midnight, and after writes once they have been quiet for
+ * {@code mechtrack.analytics.warmup.write-quiet-period}.
+ * <p>
+ * Warmed buckets stay cached until a write touches their month, including those of the open month, which
+ * are exempt from {@code mechtrack.analytics.cache.open-bucket-ttl}; each warm-up recomputes the open month.
+ * Other bucket sizes, trends and breakdowns are not warmed, and with the columnar store enabled the cache is
+ * bypassed altogether.
+ */
+@Service
+@Slf4j
+public class AnalyticsWarmupService {
+
+    private final AnalyticsService analyticsService;
+    private final AnalyticsCache analyticsCache;
+    private final AnalyticsProperties.Warmup properties;
+    private final Timer duration;
+    private final Counter failures;
+
+    private volatile long lastWarmedAtMillis = -1;
+    private volatile long lastWriteAtMillis = -1;
+    private volatile boolean writesPending;
+
+    public AnalyticsWarmupService(AnalyticsService analyticsService, AnalyticsCache analyticsCache, AnalyticsProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.analyticsService = analyticsService;
+        this.analyticsCache = analyticsCache;
+        this.properties = properties.getWarmup();
+
+        this.duration = Timer.builder("mechtrack.analytics.warmup.duration")
+                .description("Time taken to precompute the standard analytics windows")
+                .register(meterRegistry);
+        this.failures = Counter.builder("mechtrack.analytics.warmup.failures")
+                .description("Analytics warm-ups that failed")
+                .register(meterRegistry);
+        Gauge.builder("mechtrack.analytics.warmup.staleness", this, AnalyticsWarmupService::stalenessSeconds)
+                .description("Seconds since the last successful analytics warm-up, NaN before the first one")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compute the standard windows now; closed buckets that are already cached are not recomputed, open ones are
+     */
+    public synchronized void warmUp() {
+        // Writes committed while warming up mark the windows dirty again
+        writesPending = false;
+        long started = System.nanoTime();
+        try {
+            analyticsCache.warmUp(() -> {
+                analyticsService.getMonthlyAnalytics(12);
+                analyticsService.getMonthlyAnalytics(YearMonth.now());
+                analyticsService.getDashboard();
+                for (TimeInterval interval : TimeInterval.values()) {
+                    analyticsService.getDailyAnalytics(interval);
+                }
+            });
+        } catch (RuntimeException e) {
+            failures.increment();
+            writesPending = true;
+            log.warn("Analytics warm-up failed", e);
+            return;
+        } finally {
+            duration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        lastWarmedAtMillis = System.currentTimeMillis();
+        log.info("Warmed up analytics windows in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (properties.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    @Scheduled(cron = "${mechtrack.analytics.warmup.cron:0 5 0 * * *}")
+    public void warmUpNightly() {
+        if (properties.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mechtrack.analytics.warmup.check-interval:PT10S}")
+    public void warmUpAfterWrites() {
+        if (properties.isEnabled() && writesPending
+                && System.currentTimeMillis() - lastWriteAtMillis >= properties.getWriteQuietPeriod().toMillis()) {
+            warmUp();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        markWritten();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartChanged(PartChangedEvent event) {
+        markWritten();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupRebuilt(AnalyticsRollupRebuiltEvent event) {
+        markWritten();
+    }
+
+    public boolean hasPendingWrites() {
+        return writesPending;
+    }
+
+    private void markWritten() {
+        lastWriteAtMillis = System.currentTimeMillis();
+        writesPending = true;
+    }
+
+    private double stalenessSeconds() {
+        long warmedAt = lastWarmedAtMillis;
+        return warmedAt < 0 ? Double.NaN : (System.currentTimeMillis() - warmedAt) / 1000.0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.mechtrack.service;
+
+import com.mechtrack.model.event.AnalyticsRollupRebuiltEvent;
+import com.mechtrack.model.event.JobChangedEvent;
+import com.mechtrack.model.event.PartChangedEvent;
+import com.mechtrack.service.analytics.AnalyticsCache;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global version of the job and part data, bumped after every committed write. GET responses are tagged
+ * with it, so a client that already has the current version can be answered with 304 without any query.
+ * <p>
+ * The bump is the last thing to run after a commit: after-commit listeners and the {@link AnalyticsCache}
+ * invalidation run in the order of their {@link Order}, all below {@link #BUMP_ORDER}. So a response tagged with
+ * the new version is computed from the committed data, never from a bucket or in-memory copy that still holds
+ * the old one. A response can still carry an older version than its data, which only costs a full response later.
+ * The counter starts at the startup time so versions keep increasing across restarts. Changes made outside
+ * the application are not seen; ETags also include the current date, so they expire at least daily.
+ */
+@Service
+public class DataVersionService {
+
+    /**
+     * After-commit order of the bump, after the {@link AnalyticsCache#INVALIDATION_ORDER cache invalidation}
+     * and every other after-commit listener that updates what GET responses are computed from
+     */
+    public static final int BUMP_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Mark every previously issued version as stale, e.g. after data was changed out of band
+     */
+    public void bump() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Bump once the current transaction has committed, for writes that publish no change event
+     */
+    public void bumpAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return BUMP_ORDER;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    bump();
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(BUMP_ORDER)
+    public void onJobChanged(JobChangedEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(BUMP_ORDER)
+    public void onPartChanged(PartChangedEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(BUMP_ORDER)
+    public void onRollupRebuilt(AnalyticsRollupRebuiltEvent event) {
+        bump();
+    }
+}
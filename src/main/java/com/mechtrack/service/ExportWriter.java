@@ -0,0 +1,108 @@
+package com.mechtrack.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mechtrack.model.enums.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes batches of rows to an output stream as NDJSON, one JSON array or CSV.
+ * Each batch is flushed as soon as it is written, so only the current batch is ever held in memory and clients can
+ * consume rows while the export is still running. CSV rows are made of the given columns, in order.
+ */
+public class ExportWriter<T> implements Consumer<List<T>> {
+
+    /**
+     * One CSV column: its header and how to read its value from a row
+     */
+    public record Column<T>(String name, Function<T, ?> value) {}
+
+    private final Writer writer;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final List<Column<T>> columns;
+
+    private boolean first = true;
+
+    public ExportWriter(OutputStream outputStream, ExportFormat format, ObjectMapper objectMapper, List<Column<T>> columns) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.columns = columns;
+    }
+
+    public void writeHeader() throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write(columns.stream().map(column -> escape(column.name())).collect(Collectors.joining(",")));
+            writer.write('\n');
+        } else if (format == ExportFormat.JSON) {
+            writer.write('[');
+        }
+    }
+
+    @Override
+    public void accept(List<T> batch) {
+        try {
+            for (T row : batch) {
+                switch (format) {
+                    case CSV -> writer.write(toCsvLine(row));
+                    case JSON -> {
+                        if (!first) {
+                            writer.write(',');
+                        }
+                        writer.write(objectMapper.writeValueAsString(row));
+                    }
+                    case NDJSON -> writer.write(objectMapper.writeValueAsString(row));
+                }
+                if (format != ExportFormat.JSON) {
+                    writer.write('\n');
+                }
+                first = false;
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export", e);
+        }
+    }
+
+    public void writeFooter() throws IOException {
+        if (format == ExportFormat.JSON) {
+            writer.write(']');
+        }
+        writer.flush();
+    }
+
+    private String toCsvLine(T row) {
+        return columns.stream()
+                .map(column -> escape(toCsvValue(column.value().apply(row))))
+                .collect(Collectors.joining(","));
+    }
+
+    private static String toCsvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        return value instanceof BigDecimal amount ? amount.toPlainString() : value.toString();
+    }
+
+    /**
+     * Quote a value containing a separator, quote or line break, doubling its quotes (RFC 4180)
+     */
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
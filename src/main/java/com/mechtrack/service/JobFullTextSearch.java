@@ -0,0 +1,73 @@
+package com.mechtrack.service;
+
+import com.mechtrack.model.entity.Job;
+import com.mechtrack.model.entity.Part;
+import com.mechtrack.repository.specification.JobTextSearchFunctions;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Ranked free-text job search over customer name, car model, part names and description.
+ * On PostgreSQL it matches the trigger-maintained {@code search_vector} column through its GIN index, ranking
+ * customer names above car models, part names and descriptions. Other databases (H2 in dev and tests) have no
+ * such column and fall back to a substring match on the same fields, newest first.
+ */
+@Component
+@Slf4j
+public class JobFullTextSearch {
+
+    public static final int MAX_RESULTS = 200;
+
+    private final boolean postgres;
+
+    public JobFullTextSearch(DataSource dataSource) {
+        this.postgres = isPostgres(dataSource);
+        log.info("Job full-text search uses {}", postgres ? "the PostgreSQL search_vector index" : "substring matching");
+    }
+
+    /**
+     * Restrict a job query to the matches of a free-text query and order it best match first, so other criteria
+     * and a limit combined with it apply in the same query
+     * @param query Words to search for; on PostgreSQL, quoted phrases, "or" and "-word" are supported
+     * @return Matching jobs, best match first; ties newest first
+     */
+    public Specification<Job> rankedMatches(String query) {
+        String trimmed = query.trim();
+        return (root, criteriaQuery, cb) -> {
+            if (postgres) {
+                Expression<Float> rank = cb.function(JobTextSearchFunctions.RANK, Float.class, root.get("id"), cb.literal(trimmed));
+                criteriaQuery.orderBy(cb.desc(rank), cb.desc(root.get("date")), cb.desc(root.get("id")));
+                return cb.isTrue(cb.function(JobTextSearchFunctions.MATCH, Boolean.class, root.get("id"), cb.literal(trimmed)));
+            }
+
+            criteriaQuery.orderBy(cb.desc(root.get("date")), cb.desc(root.get("id")));
+            String pattern = "%" + trimmed.toUpperCase(Locale.ROOT) + "%";
+            Subquery<Integer> partNames = criteriaQuery.subquery(Integer.class);
+            Root<Part> part = partNames.from(Part.class);
+            partNames.select(cb.literal(1))
+                    .where(cb.equal(part.get("job"), root), cb.like(cb.upper(part.get("name")), pattern));
+            return cb.or(
+                    cb.like(cb.upper(root.get("customerName")), pattern),
+                    cb.like(cb.upper(root.get("carModel")), pattern),
+                    cb.like(cb.upper(root.get("description")), pattern),
+                    cb.exists(partNames));
+        };
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not determine the database for job search", e);
+        }
+    }
+}
@@ -2,35 +2,78 @@ package com.mechtrack.service;
 
 import com.mechtrack.exception.EntityNotFoundException;
 import com.mechtrack.model.dto.CreateJobRequest;
+import com.mechtrack.model.dto.JobCursorPageDto;
 import com.mechtrack.model.dto.JobDto;
 import com.mechtrack.model.dto.JobSearchCriteria;
+import com.mechtrack.model.dto.JobSummaryDto;
 import com.mechtrack.model.dto.PartDto;
 import com.mechtrack.model.entity.Job;
+import com.mechtrack.model.entity.Part;
 import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.event.JobChangedEvent;
+import com.mechtrack.model.event.JobSnapshot;
+import com.mechtrack.model.event.PartChangedEvent;
+import com.mechtrack.model.event.PartSnapshot;
+import com.mechtrack.model.projection.JobSummaryRow;
 import com.mechtrack.repository.JobRepository;
+import com.mechtrack.repository.PartRepository;
 import com.mechtrack.repository.specification.JobSpecifications;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Slf4j
 public class JobService {
 
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * Job list columns the summaries can be sorted by; the part totals are computed per row of the page, so they cannot
+     */
+    public static final List<String> SUMMARY_SORT_PROPERTIES = List.of("date", "customerName", "carModel", "status", "type", "income", "id");
+
+    private static final String CURSOR_SEPARATOR = ",";
+
+    /**
+     * Position of the last job of a page in the (date DESC, id DESC) order
+     */
+    private record Cursor(LocalDate date, UUID id) {}
+
     private final JobRepository jobRepository;
+    private final PartRepository partRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final JobFullTextSearch jobFullTextSearch;
 
     public JobDto createJob(CreateJobRequest request) {
         Job job = createJobFromRequest(request);
         Job savedJob = jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.created(JobSnapshot.of(savedJob)));
         return convertToDto(savedJob);
     }
 
@@ -43,8 +86,91 @@ public class JobService {
 
     @Transactional(readOnly = true)
     public Page<JobDto> getAllJobs(Pageable pageable) {
-        return jobRepository.findAllWithParts(pageable)
-                .map(this::convertToDto);
+        Page<Job> jobs = jobRepository.findAll(pageable);
+        loadParts(jobs.getContent());
+        return jobs.map(this::convertToDto);
+    }
+
+    /**
+     * Get a page of the job list: list columns and part totals only, computed in one query.
+     * Ties are broken by id, in the direction of the last sort order, so pages never overlap.
+     * @param pageable Page and sort; sort properties must be in {@link #SUMMARY_SORT_PROPERTIES}
+     * @return Page of job summaries
+     * @throws IllegalArgumentException if a sort property is not a sortable job list column
+     */
+    @Transactional(readOnly = true)
+    public Page<JobSummaryDto> getJobSummaries(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        for (Sort.Order order : sort) {
+            if (!SUMMARY_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort the job list by " + order.getProperty()
+                        + "; sortable properties are " + SUMMARY_SORT_PROPERTIES);
+            }
+        }
+        if (sort.getOrderFor("id") == null) {
+            Sort.Direction direction = sort.isSorted() ? sort.toList().getLast().getDirection() : Sort.Direction.ASC;
+            sort = sort.and(Sort.by(direction, "id"));
+        }
+
+        return jobRepository.findSummaries(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort))
+                .map(this::toSummaryDto);
+    }
+
+    /**
+     * Get one page of jobs, newest first, continuing after the job encoded in the cursor. Jobs without a date
+     * come last, by id. Each page costs one index seek (two where the dated jobs run out) plus one parts query,
+     * however deep it is.
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param size Page size, capped at {@value #MAX_CURSOR_PAGE_SIZE}
+     * @return Jobs of the page and the cursor of the next one
+     */
+    @Transactional(readOnly = true)
+    public JobCursorPageDto getJobsAfter(String cursor, int size) {
+        PageRequest limit = PageRequest.of(0, Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE));
+        Cursor after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        List<Job> jobs;
+        if (after != null && after.date() == null) {
+            jobs = jobRepository.findUndatedAfterByIdDesc(after.id(), limit);
+        } else {
+            jobs = after == null
+                    ? jobRepository.findFirstByDateDesc(limit)
+                    : jobRepository.findAfterByDateDesc(after.date(), after.id(), limit);
+            if (jobs.size() < limit.getPageSize()) {
+                // The dated jobs ran out on this page; continue with the undated ones
+                jobs = new ArrayList<>(jobs);
+                jobs.addAll(jobRepository.findFirstUndatedByIdDesc(PageRequest.of(0, limit.getPageSize() - jobs.size())));
+            }
+        }
+        loadParts(jobs);
+
+        String nextCursor = jobs.size() < limit.getPageSize() ? null : encodeCursor(jobs.getLast());
+        return new JobCursorPageDto(jobs.stream().map(this::convertToDto).toList(), nextCursor);
+    }
+
+    /**
+     * Stream every job with its parts, newest first, in batches of {@value JobRepository#EXPORT_FETCH_SIZE}.
+     * Jobs are read through a database cursor; each batch gets its parts in one query, is handed to the consumer
+     * and is then detached, so memory stays flat however many jobs there are. The transaction, and with it
+     * a connection, is held until the consumer has received the last batch.
+     * @param batchConsumer Receives each batch of jobs in export order
+     */
+    @Transactional(readOnly = true)
+    public void exportJobs(Consumer<List<JobDto>> batchConsumer) {
+        log.info("Exporting all jobs");
+
+        List<Job> batch = new ArrayList<>(JobRepository.EXPORT_FETCH_SIZE);
+        try (Stream<Job> jobs = jobRepository.streamAllForExport()) {
+            Iterator<Job> iterator = jobs.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == JobRepository.EXPORT_FETCH_SIZE || !iterator.hasNext()) {
+                    loadParts(batch);
+                    batchConsumer.accept(batch.stream().map(this::convertToDto).toList());
+                    batch.clear();
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
     @Transactional(readOnly = true)
@@ -57,11 +183,22 @@ public class JobService {
     }
 
 
+    /**
+     * Search jobs by criteria. With a free-text query, the ranked matches are filtered by the other criteria
+     * and returned best match first; otherwise the pageable's sort applies.
+     * @param criteria Search criteria
+     * @param pageable Page and sort
+     * @return Page of matching jobs with their parts
+     */
     @Transactional(readOnly = true)
     public Page<JobDto> searchJobs(JobSearchCriteria criteria, Pageable pageable) {
         Specification<Job> spec = JobSpecifications.withCriteria(criteria);
-        return jobRepository.findAll(spec, pageable)
-                .map(this::convertToDto);
+        if (StringUtils.hasText(criteria.getQuery())) {
+            return searchRanked(criteria.getQuery(), spec, pageable);
+        }
+        Page<Job> jobs = jobRepository.findAll(spec, pageable);
+        loadParts(jobs.getContent());
+        return jobs.map(this::convertToDto);
     }
 
 
@@ -69,8 +206,10 @@ public class JobService {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Job", id.toString()));
 
+        JobSnapshot before = JobSnapshot.of(job);
         updateJobFromRequest(job, request);
         Job savedJob = jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.updated(before, JobSnapshot.of(savedJob)));
         return convertToDto(savedJob);
     }
 
@@ -78,16 +217,25 @@ public class JobService {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Job", id.toString()));
         
+        JobSnapshot before = JobSnapshot.of(job);
         job.setStatus(status);
         Job savedJob = jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.updated(before, JobSnapshot.of(savedJob)));
         return convertToDto(savedJob);
     }
 
     public void deleteJob(UUID id) {
-        if (!jobRepository.existsById(id)) {
-            throw new EntityNotFoundException("Job", id.toString());
-        }
-        jobRepository.deleteById(id);
+        Job job = jobRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Job", id.toString()));
+
+        // Parts go with the job, so they are deleted and published here as well
+        List<Part> parts = partRepository.findByJobId(id);
+        JobSnapshot before = JobSnapshot.of(job);
+
+        partRepository.deleteByJobId(id);
+        jobRepository.delete(job);
+        parts.forEach(part -> eventPublisher.publishEvent(PartChangedEvent.deleted(PartSnapshot.of(part))));
+        eventPublisher.publishEvent(JobChangedEvent.deleted(before));
     }
 
     private Job createJobFromRequest(CreateJobRequest request) {
@@ -105,6 +253,67 @@ public class JobService {
         job.setType(request.getType());
     }
 
+    private Page<JobDto> searchRanked(String query, Specification<Job> spec, Pageable pageable) {
+        // The criteria filter the matches inside the ranked query; the best MAX_RESULTS of what remains can be paged
+        Specification<Job> ranked = spec.and(jobFullTextSearch.rankedMatches(query));
+        int maxResults = JobFullTextSearch.MAX_RESULTS;
+        Pageable page = pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+                : PageRequest.of(0, maxResults);
+        if (page.getOffset() >= maxResults) {
+            return new PageImpl<>(List.of(), pageable, Math.min(jobRepository.count(ranked), maxResults));
+        }
+
+        Page<Job> jobs = jobRepository.findAll(ranked, page);
+        List<Job> content = jobs.getContent();
+        content = content.subList(0, (int) Math.min(content.size(), maxResults - page.getOffset()));
+        loadParts(content);
+        return new PageImpl<>(content.stream().map(this::convertToDto).toList(), pageable,
+                Math.min(jobs.getTotalElements(), maxResults));
+    }
+
+    /**
+     * Initialize the parts of a page of jobs with one query; the fetch join fills the collections
+     * of the same managed instances, so the page keeps its order
+     */
+    private void loadParts(List<Job> jobs) {
+        if (!jobs.isEmpty()) {
+            jobRepository.findAllWithPartsByIdIn(jobs.stream().map(Job::getId).toList());
+        }
+    }
+
+    private String encodeCursor(Job job) {
+        // Jobs without a date leave the date part empty
+        String position = (job.getDate() != null ? job.getDate().toString() : "") + CURSOR_SEPARATOR + job.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(CURSOR_SEPARATOR);
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new Cursor(position[0].isEmpty() ? null : LocalDate.parse(position[0]), UUID.fromString(position[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private JobSummaryDto toSummaryDto(JobSummaryRow row) {
+        return new JobSummaryDto(
+                row.getId(),
+                row.getCustomerName(),
+                row.getCarModel(),
+                row.getDate(),
+                row.getStatus(),
+                row.getType(),
+                row.getIncome(),
+                row.getPartCount().intValue(),
+                row.getPartsCost()
+        );
+    }
+
     private JobDto convertToDto(Job job) {
         return new JobDto(
                 job.getId(),
@@ -129,7 +338,7 @@ public class JobService {
                 .collect(Collectors.toList());
     }
 
-    private PartDto convertPartToDto(com.mechtrack.model.entity.Part part) {
+    private PartDto convertPartToDto(Part part) {
         return new PartDto(
                 part.getId(),
                 part.getName(),
@@ -5,10 +5,13 @@ import com.mechtrack.model.dto.CreatePartRequest;
 import com.mechtrack.model.dto.PartDto;
 import com.mechtrack.model.entity.Job;
 import com.mechtrack.model.entity.Part;
+import com.mechtrack.model.event.PartChangedEvent;
+import com.mechtrack.model.event.PartSnapshot;
 import com.mechtrack.repository.JobRepository;
 import com.mechtrack.repository.PartRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -29,6 +32,8 @@ public class PartService {
     private final PartRepository partRepository;
     private final JobRepository jobRepository;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataVersionService dataVersionService;
 
     // Allowed file types for invoice uploads
     private static final List<String> ALLOWED_FILE_TYPES = Arrays.asList(
@@ -55,6 +60,7 @@ public class PartService {
         }
 
         Part savedPart = partRepository.save(part);
+        eventPublisher.publishEvent(PartChangedEvent.created(PartSnapshot.of(savedPart)));
         log.info("Part created successfully: {} for job: {}", savedPart.getId(), jobId);
         return convertToDto(savedPart);
     }
@@ -114,12 +120,14 @@ public class PartService {
         Part part = partRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Part", id.toString()));
 
+        PartSnapshot before = PartSnapshot.of(part);
         part.setName(request.getName());
         part.setCost(request.getCost());
         part.setInvoiceImageUrl(request.getInvoiceImageUrl());
         part.setPurchaseDate(request.getPurchaseDate());
 
         Part savedPart = partRepository.save(part);
+        eventPublisher.publishEvent(PartChangedEvent.updated(before, PartSnapshot.of(savedPart)));
         return convertToDto(savedPart);
     }
 
@@ -151,6 +159,8 @@ public class PartService {
         
         Part savedPart = partRepository.save(part);
         log.info("Uploaded invoice file for part {}: {}", partId, filePath);
+        // The invoice URL is not part of the snapshot, so there is no change event to bump the version
+        dataVersionService.bumpAfterCommit();
         
         return convertToDto(savedPart);
     }
@@ -169,7 +179,9 @@ public class PartService {
             }
         }
         
+        PartSnapshot before = PartSnapshot.of(part);
         partRepository.deleteById(id);
+        eventPublisher.publishEvent(PartChangedEvent.deleted(before));
     }
 
     private void validateFile(MultipartFile file) {
@@ -0,0 +1,206 @@
+package com.mechtrack.service;
+
+import com.mechtrack.model.dto.SuggestionDto;
+import com.mechtrack.model.enums.SuggestField;
+import com.mechtrack.model.event.JobChangedEvent;
+import com.mechtrack.model.event.JobSnapshot;
+import com.mechtrack.model.event.PartChangedEvent;
+import com.mechtrack.model.event.PartSnapshot;
+import com.mechtrack.model.projection.JobNames;
+import com.mechtrack.repository.JobRepository;
+import com.mechtrack.repository.PartRepository;
+import com.mechtrack.service.suggest.NgramIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead suggestions for customer names, car models and part names, answered from in-memory n-gram indexes
+ * without touching the database. The indexes are built once at startup, before the web server accepts requests,
+ * and kept current from job and part change events after each commit.
+ * <p>
+ * Index size and build time are published as {@code mechtrack.suggest.index.bytes},
+ * {@code mechtrack.suggest.index.values} and {@code mechtrack.suggest.index.build}.
+ */
+@Service
+@Slf4j
+public class SuggestionService implements SmartInitializingSingleton {
+
+    public static final int MAX_SUGGESTIONS = 20;
+
+    /**
+     * After-commit order of the index updates: before the data version is bumped, so a suggestion response
+     * tagged with the new version already includes the change
+     */
+    public static final int INDEX_UPDATE_ORDER = DataVersionService.BUMP_ORDER - 1;
+
+    private final Map<SuggestField, NgramIndex> indexes = new EnumMap<>(SuggestField.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final JobRepository jobRepository;
+    private final PartRepository partRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer buildDuration;
+    private volatile boolean ready;
+
+    public SuggestionService(
+            JobRepository jobRepository,
+            PartRepository partRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.partRepository = partRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        for (SuggestField field : SuggestField.values()) {
+            indexes.put(field, new NgramIndex());
+            Gauge.builder("mechtrack.suggest.index.values", this, service -> service.valueCount(field))
+                    .description("Distinct values in the typeahead index")
+                    .tag("field", field.getCode())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("mechtrack.suggest.index.bytes", this, SuggestionService::estimatedBytes)
+                .description("Approximate heap used by the typeahead indexes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.buildDuration = Timer.builder("mechtrack.suggest.index.build")
+                .description("Time taken to build the typeahead indexes from the database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Build every index again from the job and part tables and swap them in.
+     * Meant for startup: changes committed while the tables are being read may be missing from the result.
+     */
+    public void rebuild() {
+        long started = System.nanoTime();
+        Map<SuggestField, NgramIndex> built = new EnumMap<>(SuggestField.class);
+        for (SuggestField field : SuggestField.values()) {
+            built.put(field, new NgramIndex());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // One result set at a time, each fetched in batches
+            try (Stream<JobNames> jobs = jobRepository.streamAllNames()) {
+                jobs.forEach(job -> {
+                    built.get(SuggestField.CUSTOMER).add(job.getCustomerName());
+                    built.get(SuggestField.CAR_MODEL).add(job.getCarModel());
+                });
+            }
+            try (Stream<String> partNames = partRepository.streamAllNames()) {
+                partNames.forEach(built.get(SuggestField.PART)::add);
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            indexes.putAll(built);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long elapsed = System.nanoTime() - started;
+        buildDuration.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Built typeahead indexes: {} customers, {} car models, {} part names, {} KB in {} ms",
+                valueCount(SuggestField.CUSTOMER), valueCount(SuggestField.CAR_MODEL), valueCount(SuggestField.PART),
+                estimatedBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Get values of a field containing the query, those starting with it first, then the most used
+     * @param field Field to suggest values for
+     * @param query Text typed so far, in any case
+     * @param limit Number of suggestions, capped at {@value #MAX_SUGGESTIONS}
+     * @return Suggestions, best first
+     */
+    public List<SuggestionDto> suggest(SuggestField field, String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return indexes.get(field).search(query, Math.clamp(limit, 1, MAX_SUGGESTIONS)).stream()
+                    .map(match -> new SuggestionDto(match.value(), match.count()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(INDEX_UPDATE_ORDER)
+    public void onJobChanged(JobChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        JobSnapshot before = event.before();
+        JobSnapshot after = event.after();
+        lock.writeLock().lock();
+        try {
+            replace(SuggestField.CUSTOMER, before != null ? before.customerName() : null, after != null ? after.customerName() : null);
+            replace(SuggestField.CAR_MODEL, before != null ? before.carModel() : null, after != null ? after.carModel() : null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(INDEX_UPDATE_ORDER)
+    public void onPartChanged(PartChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        PartSnapshot before = event.before();
+        PartSnapshot after = event.after();
+        lock.writeLock().lock();
+        try {
+            replace(SuggestField.PART, before != null ? before.name() : null, after != null ? after.name() : null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(SuggestField field, String before, String after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        NgramIndex index = indexes.get(field);
+        index.remove(before);
+        index.add(after);
+    }
+
+    private int valueCount(SuggestField field) {
+        lock.readLock().lock();
+        try {
+            return indexes.get(field).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return indexes.values().stream().mapToLong(NgramIndex::estimatedBytes).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.mechtrack.service.analytics;
+
+/**
+ * Income and expense totals of a date range in cents, accumulated without allocating per addition
+ */
+public record AmountTotals(long incomeCents, int jobCount, long expenseCents, int partCount) {
+
+    public static final AmountTotals EMPTY = new AmountTotals(0, 0, 0, 0);
+
+    public long netProfitCents() {
+        return Math.subtractExact(incomeCents, expenseCents);
+    }
+
+    public AmountTotals plus(AmountTotals other) {
+        return new AmountTotals(
+                Math.addExact(incomeCents, other.incomeCents),
+                Math.addExact(jobCount, other.jobCount),
+                Math.addExact(expenseCents, other.expenseCents),
+                Math.addExact(partCount, other.partCount));
+    }
+}
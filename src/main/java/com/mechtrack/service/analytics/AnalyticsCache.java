@@ -0,0 +1,240 @@
+package com.mechtrack.service.analytics;
+
+import com.mechtrack.config.AnalyticsProperties;
+import com.mechtrack.model.event.AnalyticsRollupRebuiltEvent;
+import com.mechtrack.model.event.JobChangedEvent;
+import com.mechtrack.model.event.PartChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded LRU cache of computed analytics buckets (a day, a month, ...).
+ * <p>
+ * Every calendar month has a version counter that is bumped when a job or part write touches a date
+ * in that month. An entry remembers the summed versions of the months it spans when it was computed,
+ * so a write invalidates exactly the buckets that contain its date, and a result computed concurrently
+ * with a write is never stored as current. Buckets of closed months have no expiry; buckets that reach
+ * into the current month also expire after a short TTL as a guard against out-of-band writes, except those
+ * stored by a {@link #warmUp(Runnable) warm-up}, which stay until a write touches them or the next warm-up.
+ */
+@Component
+@Slf4j
+public class AnalyticsCache {
+
+    private static final int VERSION_STRIPES = 4096;
+
+    /**
+     * After-commit order of listeners that update the in-memory data buckets are computed from, like the columnar store
+     */
+    public static final int SOURCE_UPDATE_ORDER = 0;
+
+    /**
+     * After-commit order of the invalidation: once the sources are updated, and before the data version is bumped
+     */
+    public static final int INVALIDATION_ORDER = SOURCE_UPDATE_ORDER + 1;
+
+    /**
+     * Cache key: the kind of bucket and the inclusive date range it covers
+     */
+    public record Key(String kind, LocalDate start, LocalDate end) {}
+
+    private record Entry(Object value, long version, long expiresAtMillis) {}
+
+    private final Map<Key, Entry> entries;
+    private final AtomicLongArray monthVersions = new AtomicLongArray(VERSION_STRIPES);
+    private final AtomicLong epoch = new AtomicLong();
+    private final ThreadLocal<Boolean> warming = ThreadLocal.withInitial(() -> false);
+    private final long openBucketTtlMillis;
+    private final Clock clock;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public AnalyticsCache(AnalyticsProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    AnalyticsCache(AnalyticsProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        int maxEntries = properties.getCache().getMaxEntries();
+        this.openBucketTtlMillis = properties.getCache().getOpenBucketTtl().toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = Counter.builder("mechtrack.analytics.cache.gets")
+                .tag("result", "hit")
+                .description("Analytics bucket lookups served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("mechtrack.analytics.cache.gets")
+                .tag("result", "miss")
+                .description("Analytics bucket lookups that had to be computed")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("mechtrack.analytics.cache.evictions")
+                .description("Analytics buckets evicted because the cache was full")
+                .register(meterRegistry);
+        Gauge.builder("mechtrack.analytics.cache.size", this, AnalyticsCache::size)
+                .description("Number of cached analytics buckets")
+                .register(meterRegistry);
+    }
+
+    public static Key bucketKey(BucketSize bucketSize, LocalDate start, LocalDate end) {
+        return new Key(bucketSize.code(), start, end);
+    }
+
+    public static Key breakdownKey(YearMonth month) {
+        return new Key("breakdown", month.atDay(1), month.atEndOfMonth());
+    }
+
+    /**
+     * @return The cached value if it is still current, otherwise null
+     */
+    public <T> T get(Key key, Class<T> type) {
+        long version = version(key);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version() == version && clock.millis() < entry.expiresAtMillis()) {
+                hits.increment();
+                return type.cast(entry.value());
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Snapshot of the data version a bucket depends on. Take it before reading the data the bucket is computed from.
+     */
+    public long version(Key key) {
+        long version = epoch.get();
+        YearMonth month = YearMonth.from(key.start());
+        YearMonth last = YearMonth.from(key.end());
+        while (!month.isAfter(last)) {
+            version += monthVersions.get(stripe(month));
+            month = month.plusMonths(1);
+        }
+        return version;
+    }
+
+    /**
+     * Store a computed bucket, unless a write touched its range after {@code version} was taken
+     */
+    public void put(Key key, Object value, long version) {
+        if (version(key) != version) {
+            return;
+        }
+        boolean open = !YearMonth.from(key.end()).isBefore(YearMonth.now(clock));
+        long expiresAt = open && !warming.get() ? clock.millis() + openBucketTtlMillis : Long.MAX_VALUE;
+        synchronized (entries) {
+            entries.put(key, new Entry(value, version, expiresAt));
+        }
+    }
+
+    /**
+     * Precompute buckets on this thread. Open-month buckets cached so far are dropped first, so the warm-up
+     * recomputes them and bounds how long an out-of-band write can go unseen; the open-month buckets it stores
+     * are exempt from the TTL, so they are still served when the first requests arrive.
+     */
+    public void warmUp(Runnable warmUp) {
+        YearMonth currentMonth = YearMonth.now(clock);
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> !YearMonth.from(key.end()).isBefore(currentMonth));
+        }
+        warming.set(true);
+        try {
+            warmUp.run();
+        } finally {
+            warming.remove();
+        }
+    }
+
+    /**
+     * Invalidate every bucket that contains one of the given dates
+     */
+    public void invalidate(Collection<LocalDate> dates) {
+        for (LocalDate date : dates) {
+            monthVersions.incrementAndGet(stripe(YearMonth.from(date)));
+        }
+    }
+
+    /**
+     * Drop everything, e.g. after a rollup rebuild or an out-of-band data change
+     */
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        invalidateNowAndAfterCompletion(() -> invalidate(event.affectedDates()));
+    }
+
+    @EventListener
+    public void onPartChanged(PartChangedEvent event) {
+        invalidateNowAndAfterCompletion(() -> invalidate(event.affectedDates()));
+    }
+
+    @EventListener
+    public void onRollupRebuilt(AnalyticsRollupRebuiltEvent event) {
+        invalidateNowAndAfterCompletion(this::invalidateAll);
+    }
+
+    private void invalidateNowAndAfterCompletion(Runnable invalidation) {
+        invalidation.run();
+        // Readers that ran between the write and the commit may have cached pre-commit data under the new version
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return INVALIDATION_ORDER;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private static int stripe(YearMonth month) {
+        return Math.floorMod(month.getYear() * 12 + month.getMonthValue(), VERSION_STRIPES);
+    }
+}
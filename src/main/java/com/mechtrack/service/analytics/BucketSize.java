@@ -0,0 +1,96 @@
+package com.mechtrack.service.analytics;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Width of a time bucket in an analytics series.
+ * <p>
+ * Buckets are either a fixed number of days or a fixed number of calendar months. Day buckets are aligned
+ * to a fixed anchor date and month buckets to January, so a date always falls into the same bucket no
+ * matter which range is requested, which keeps computed buckets cacheable across requests.
+ */
+public record BucketSize(String code, ChronoUnit unit, int amount, LocalDate anchor) {
+
+    // 1970-01-05 is a Monday, so seven-day buckets from it are ISO weeks
+    private static final LocalDate WEEK_ANCHOR = LocalDate.of(1970, 1, 5);
+    private static final int MAX_DAYS = 366;
+
+    public static final BucketSize DAY = new BucketSize("day", ChronoUnit.DAYS, 1, LocalDate.EPOCH);
+    public static final BucketSize WEEK = new BucketSize("week", ChronoUnit.DAYS, 7, WEEK_ANCHOR);
+    public static final BucketSize MONTH = new BucketSize("month", ChronoUnit.MONTHS, 1, LocalDate.EPOCH);
+    public static final BucketSize QUARTER = new BucketSize("quarter", ChronoUnit.MONTHS, 3, LocalDate.EPOCH);
+    public static final BucketSize YEAR = new BucketSize("year", ChronoUnit.MONTHS, 12, LocalDate.EPOCH);
+
+    /**
+     * Get BucketSize from string code
+     * @param code day, week, month, quarter, year, or a number of days such as 14d
+     * @return The corresponding BucketSize
+     * @throws IllegalArgumentException if code is not valid
+     */
+    public static BucketSize fromCode(String code) {
+        String normalized = code == null ? "" : code.trim().toLowerCase();
+        switch (normalized) {
+            case "day": return DAY;
+            case "week": return WEEK;
+            case "month": return MONTH;
+            case "quarter": return QUARTER;
+            case "year": return YEAR;
+            default: break;
+        }
+        if (normalized.matches("\\d{1,3}d")) {
+            int days = Integer.parseInt(normalized.substring(0, normalized.length() - 1));
+            if (days >= 1 && days <= MAX_DAYS) {
+                return days == 1 ? DAY : new BucketSize(days + "d", ChronoUnit.DAYS, days, LocalDate.EPOCH);
+            }
+        }
+        throw new IllegalArgumentException("Invalid bucket: " + code +
+            ". Valid buckets are: day, week, month, quarter, year, or 1d to " + MAX_DAYS + "d");
+    }
+
+    public boolean isMonthBased() {
+        return unit == ChronoUnit.MONTHS;
+    }
+
+    /**
+     * @return First day of the bucket containing {@code date}
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        if (isMonthBased()) {
+            int monthIndex = date.getYear() * 12 + date.getMonthValue() - 1;
+            return monthStart(monthIndex - Math.floorMod(monthIndex, amount));
+        }
+        long offset = ChronoUnit.DAYS.between(anchor, date);
+        return date.minusDays(Math.floorMod(offset, amount));
+    }
+
+    /**
+     * @return First day of the bucket following the one starting at {@code bucketStart}
+     */
+    public LocalDate nextBucketStart(LocalDate bucketStart) {
+        return bucketStart.plus(amount, unit);
+    }
+
+    /**
+     * @return Number of buckets a series from {@code start} to {@code end} consists of, clipped ones included
+     */
+    public long bucketCount(LocalDate start, LocalDate end) {
+        return unit.between(bucketStart(start), bucketStart(end)) / amount + 1;
+    }
+
+    /**
+     * @return First day of the month-based bucket with the given database index, numbered from January of year 0
+     */
+    public LocalDate monthBucketStart(int bucketIndex) {
+        return monthStart(bucketIndex * amount);
+    }
+
+    private static LocalDate monthStart(int monthIndex) {
+        return LocalDate.of(Math.floorDiv(monthIndex, 12), Math.floorMod(monthIndex, 12) + 1, 1);
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
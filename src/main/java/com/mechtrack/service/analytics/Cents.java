@@ -0,0 +1,40 @@
+package com.mechtrack.service.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic for aggregation loops. Amounts are stored as NUMERIC with two decimals,
+ * so a {@code long} of cents holds any sum of them exactly; additions are overflow-checked and
+ * {@link BigDecimal} is only created again at the DTO boundary.
+ */
+public final class Cents {
+
+    private static final int SCALE = 2;
+
+    private Cents() {
+    }
+
+    /**
+     * @return The amount in cents, 0 for null
+     * @throws ArithmeticException if the amount has more than two decimals or does not fit in a long
+     */
+    public static long of(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        // Shifting the point keeps a compact BigDecimal; unscaledValue() would allocate a BigInteger per amount
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * @return {@code cents / divisor} as an amount rounded half up to cents
+     */
+    public static BigDecimal divide(long cents, long divisor) {
+        return BigDecimal.valueOf(cents, SCALE).divide(BigDecimal.valueOf(divisor), SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,541 @@
+package com.mechtrack.service.analytics;
+
+import com.mechtrack.config.AnalyticsProperties;
+import com.mechtrack.model.event.AnalyticsRollupRebuiltEvent;
+import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.enums.JobType;
+import com.mechtrack.model.event.JobChangedEvent;
+import com.mechtrack.model.event.JobSnapshot;
+import com.mechtrack.model.event.PartChangedEvent;
+import com.mechtrack.model.event.PartSnapshot;
+import com.mechtrack.repository.JobRepository;
+import com.mechtrack.repository.PartRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process copy of the job and part amounts analytics are computed from, held as parallel
+ * primitive arrays sorted by date: epoch day ({@code int}), amount in cents ({@code long}) and, for jobs,
+ * status and type ordinals ({@code byte}). A range is answered with two binary searches and a summing loop
+ * over contiguous memory, without touching the database.
+ * <p>
+ * Enabled with {@code mechtrack.analytics.columnar.enabled}. The arrays are loaded at startup, before the web
+ * server accepts requests, and again after a rollup rebuild, and kept current from job and part change events
+ * after each commit. A reload builds new arrays while queries keep reading the current ones, and applies to them
+ * exactly the changes committed after its snapshot of the tables (see {@link #reload()}).
+ * A job row costs {@value #JOB_ROW_BYTES} bytes and a part row {@value #PART_ROW_BYTES} bytes, about
+ * 14 MB and 12 MB per million rows (plus up to 50% spare capacity from array growth).
+ */
+@Component
+@Slf4j
+public class ColumnarAnalyticsStore implements SmartInitializingSingleton {
+
+    static final int JOB_ROW_BYTES = Integer.BYTES + Long.BYTES + 2;
+    static final int PART_ROW_BYTES = Integer.BYTES + Long.BYTES;
+
+    /**
+     * Receives one aggregate per (type, status) combination that has jobs
+     */
+    @FunctionalInterface
+    public interface TypeStatusConsumer {
+        void accept(JobType type, JobStatus status, long incomeCents, int count);
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CommitGate commitGate = new CommitGate();
+    private final boolean enabled;
+    private final JobRepository jobRepository;
+    private final PartRepository partRepository;
+    private final TransactionTemplate transactionTemplate;
+    private Columns jobs = new Columns(true);
+    private Columns parts = new Columns(false);
+    // Change events committed after the snapshot of the reload in progress, if any; guarded by the lock
+    private List<Object> replay;
+    private volatile boolean ready;
+
+    public ColumnarAnalyticsStore(
+            AnalyticsProperties properties,
+            JobRepository jobRepository,
+            PartRepository partRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.enabled = properties.getColumnar().isEnabled();
+        this.jobRepository = jobRepository;
+        this.partRepository = partRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Reloads run after the rebuild's commit, where its finished transaction is still bound to the thread
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Both tables are read from the one snapshot taken when the first cursor opens
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        if (enabled) {
+            Gauge.builder("mechtrack.analytics.columnar.rows", this, ColumnarAnalyticsStore::rowCount)
+                    .description("Job and part rows held in the in-memory analytics store")
+                    .register(meterRegistry);
+            Gauge.builder("mechtrack.analytics.columnar.bytes", this, ColumnarAnalyticsStore::memoryFootprintBytes)
+                    .description("Bytes allocated by the in-memory analytics store arrays")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Replace the contents with the given rows and start answering queries
+     */
+    public void load(Stream<JobSnapshot> jobRows, Stream<PartSnapshot> partRows) {
+        Columns newJobs = new Columns(true);
+        Columns newParts = new Columns(false);
+        jobRows.forEach(job -> insertJob(newJobs, job));
+        partRows.forEach(part -> insertPart(newParts, part));
+        lock.writeLock().lock();
+        try {
+            jobs = newJobs;
+            parts = newParts;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Sum income and expenses of a date range
+     */
+    public AmountTotals sum(LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            return sumLocked(startDate, endDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sum income and expenses of each range of a series under a single read lock, so the series is consistent
+     * and a long one does not contend for the lock once per bucket
+     * @param aggregator Maps the ranges, possibly on its pool while this thread holds the lock
+     * @return Totals in the order of {@code ranges}
+     */
+    public List<AmountTotals> sumEach(List<AnalyticsCache.Key> ranges, ParallelAggregator aggregator) {
+        lock.readLock().lock();
+        try {
+            return aggregator.mapInOrder(ranges, range -> sumLocked(range.start(), range.end()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aggregate job income and counts per (type, status) for a date range
+     */
+    public void forEachTypeAndStatus(LocalDate startDate, LocalDate endDate, TypeStatusConsumer consumer) {
+        JobType[] types = JobType.values();
+        JobStatus[] statuses = JobStatus.values();
+        long[] income = new long[types.length * statuses.length];
+        int[] counts = new int[types.length * statuses.length];
+
+        lock.readLock().lock();
+        try {
+            int end = jobs.lowerBound((int) endDate.toEpochDay() + 1);
+            for (int i = jobs.lowerBound((int) startDate.toEpochDay()); i < end; i++) {
+                int cell = jobs.types[i] * statuses.length + jobs.statuses[i];
+                income[cell] = Math.addExact(income[cell], jobs.cents[i]);
+                counts[cell]++;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        for (int cell = 0; cell < counts.length; cell++) {
+            if (counts[cell] > 0) {
+                consumer.accept(types[cell / statuses.length], statuses[cell % statuses.length], income[cell], counts[cell]);
+            }
+        }
+    }
+
+    public long memoryFootprintBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) jobs.capacity() * JOB_ROW_BYTES + (long) parts.capacity() * PART_ROW_BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int rowCount() {
+        lock.readLock().lock();
+        try {
+            return jobs.size + parts.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(AnalyticsCache.SOURCE_UPDATE_ORDER)
+    public void onRollupRebuilt(AnalyticsRollupRebuiltEvent event) {
+        // A rebuild repairs data changed out of band, which the change events never saw
+        if (ready) {
+            reload();
+        }
+    }
+
+    /**
+     * Hold the commit gate from just before the writing transaction commits until its change events are applied
+     */
+    @EventListener({JobChangedEvent.class, PartChangedEvent.class})
+    public void onChangePublished() {
+        if (!enabled || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(commitGate)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(commitGate, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean entered;
+
+            @Override
+            public int getOrder() {
+                // Leave only once the after-commit listeners at SOURCE_UPDATE_ORDER have applied the events
+                return AnalyticsCache.INVALIDATION_ORDER;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitGate.enter();
+                entered = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(commitGate);
+                if (entered) {
+                    commitGate.leave();
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(AnalyticsCache.SOURCE_UPDATE_ORDER)
+    public void onJobChanged(JobChangedEvent event) {
+        apply(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(AnalyticsCache.SOURCE_UPDATE_ORDER)
+    public void onPartChanged(PartChangedEvent event) {
+        apply(event);
+    }
+
+    private void apply(Object event) {
+        lock.writeLock().lock();
+        try {
+            if (replay != null) {
+                replay.add(event);
+            }
+            if (ready) {
+                apply(jobs, parts, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Columns jobColumns, Columns partColumns, Object event) {
+        if (event instanceof JobChangedEvent change) {
+            if (change.before() != null) {
+                removeJob(jobColumns, change.before());
+            }
+            if (change.after() != null) {
+                insertJob(jobColumns, change.after());
+            }
+        } else if (event instanceof PartChangedEvent change) {
+            if (change.before() != null) {
+                removePart(partColumns, change.before());
+            }
+            if (change.after() != null) {
+                insertPart(partColumns, change.after());
+            }
+        }
+    }
+
+    /**
+     * Load every row from the database into new arrays and swap them in; queries keep reading the current ones
+     * meanwhile. The commit gate is closed while the first cursor opens, which fixes the snapshot both tables are
+     * read from: every write committed before it has applied its events to the current arrays, which are dropped,
+     * and every write committed after it waits for the gate, so its events are recorded and replayed onto the new
+     * arrays. The two tables are streamed one after the other in batches of the repositories' fetch size.
+     * Reloads run one at a time, as they share the replay list.
+     */
+    private synchronized void reload() {
+        long started = System.nanoTime();
+        Columns newJobs = new Columns(true);
+        Columns newParts = new Columns(false);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Stream<JobSnapshot> jobRows;
+                commitGate.close();
+                try {
+                    jobRows = jobRepository.streamAllSnapshots();
+                    lock.writeLock().lock();
+                    try {
+                        replay = new ArrayList<>();
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                } finally {
+                    commitGate.open();
+                }
+                try (jobRows) {
+                    jobRows.forEach(job -> insertJob(newJobs, job));
+                }
+                try (Stream<PartSnapshot> partRows = partRepository.streamAllSnapshots()) {
+                    partRows.forEach(part -> insertPart(newParts, part));
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            replay.forEach(event -> apply(newJobs, newParts, event));
+            replay = null;
+            jobs = newJobs;
+            parts = newParts;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded columnar analytics store: {} jobs, {} parts, {} KB in {} ms ({} bytes per job row, {} per part row)",
+                newJobs.size, newParts.size, memoryFootprintBytes() / 1024, (System.nanoTime() - started) / 1_000_000,
+                JOB_ROW_BYTES, PART_ROW_BYTES);
+    }
+
+    private AmountTotals sumLocked(LocalDate startDate, LocalDate endDate) {
+        int from = (int) startDate.toEpochDay();
+        int to = (int) endDate.toEpochDay();
+        int jobStart = jobs.lowerBound(from);
+        int jobEnd = jobs.lowerBound(to + 1);
+        int partStart = parts.lowerBound(from);
+        int partEnd = parts.lowerBound(to + 1);
+        return new AmountTotals(jobs.sum(jobStart, jobEnd), jobEnd - jobStart, parts.sum(partStart, partEnd), partEnd - partStart);
+    }
+
+    private void insertJob(Columns jobs, JobSnapshot job) {
+        if (job.date() != null) {
+            jobs.insert((int) job.date().toEpochDay(), Cents.of(job.income()),
+                    (byte) job.status().ordinal(), (byte) job.type().ordinal());
+        }
+    }
+
+    private void removeJob(Columns jobs, JobSnapshot job) {
+        if (job.date() != null && !jobs.remove((int) job.date().toEpochDay(), Cents.of(job.income()),
+                (byte) job.status().ordinal(), (byte) job.type().ordinal())) {
+            log.warn("Columnar analytics store had no row for job {} on {}", job.id(), job.date());
+        }
+    }
+
+    private void insertPart(Columns parts, PartSnapshot part) {
+        if (part.purchaseDate() != null) {
+            parts.insert((int) part.purchaseDate().toEpochDay(), Cents.of(part.cost()), (byte) 0, (byte) 0);
+        }
+    }
+
+    private void removePart(Columns parts, PartSnapshot part) {
+        if (part.purchaseDate() != null
+                && !parts.remove((int) part.purchaseDate().toEpochDay(), Cents.of(part.cost()), (byte) 0, (byte) 0)) {
+            log.warn("Columnar analytics store had no row for part {} on {}", part.id(), part.purchaseDate());
+        }
+    }
+
+    /**
+     * Orders the commits of job and part writes against the start of a reload's snapshot. A write is inside from
+     * just before its commit until its change events are applied; closing waits until no write is inside
+     * and keeps new ones from entering until opened again.
+     */
+    private static final class CommitGate {
+
+        private final ThreadLocal<Boolean> insideOnThisThread = ThreadLocal.withInitial(() -> false);
+        private int inside;
+        private boolean closed;
+
+        synchronized void enter() {
+            while (closed) {
+                awaitUninterruptibly();
+            }
+            inside++;
+            insideOnThisThread.set(true);
+        }
+
+        synchronized void leave() {
+            inside--;
+            insideOnThisThread.remove();
+            notifyAll();
+        }
+
+        /**
+         * Close once every write inside has left, except one of the calling thread, which is reloading
+         * from its own after-commit callbacks
+         */
+        synchronized void close() {
+            while (closed) {
+                awaitUninterruptibly();
+            }
+            closed = true;
+            int own = insideOnThisThread.get() ? 1 : 0;
+            while (inside > own) {
+                awaitUninterruptibly();
+            }
+        }
+
+        synchronized void open() {
+            closed = false;
+            notifyAll();
+        }
+
+        private void awaitUninterruptibly() {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Parallel arrays sorted by epoch day; rows with the same day keep insertion order
+     */
+    private static final class Columns {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final boolean categorized;
+        private int[] days;
+        private long[] cents;
+        private byte[] statuses;
+        private byte[] types;
+        private int size;
+
+        Columns(boolean categorized) {
+            this.categorized = categorized;
+            clear();
+        }
+
+        void clear() {
+            days = new int[INITIAL_CAPACITY];
+            cents = new long[INITIAL_CAPACITY];
+            statuses = categorized ? new byte[INITIAL_CAPACITY] : null;
+            types = categorized ? new byte[INITIAL_CAPACITY] : null;
+            size = 0;
+        }
+
+        int capacity() {
+            return days.length;
+        }
+
+        /**
+         * @return Index of the first row on or after {@code day}
+         */
+        int lowerBound(int day) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[mid] < day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        long sum(int from, int to) {
+            long total = 0;
+            for (int i = from; i < to; i++) {
+                total = Math.addExact(total, cents[i]);
+            }
+            return total;
+        }
+
+        void insert(int day, long amount, byte status, byte type) {
+            if (size == days.length) {
+                int capacity = days.length + (days.length >> 1);
+                days = Arrays.copyOf(days, capacity);
+                cents = Arrays.copyOf(cents, capacity);
+                if (categorized) {
+                    statuses = Arrays.copyOf(statuses, capacity);
+                    types = Arrays.copyOf(types, capacity);
+                }
+            }
+            // Rows arrive mostly in date order, so this is usually an append
+            int index = size > 0 && days[size - 1] <= day ? size : lowerBound(day + 1);
+            shift(index, index + 1, size - index);
+            days[index] = day;
+            cents[index] = amount;
+            if (categorized) {
+                statuses[index] = status;
+                types[index] = type;
+            }
+            size++;
+        }
+
+        boolean remove(int day, long amount, byte status, byte type) {
+            int end = lowerBound(day + 1);
+            for (int i = lowerBound(day); i < end; i++) {
+                if (cents[i] == amount && (!categorized || (statuses[i] == status && types[i] == type))) {
+                    shift(i + 1, i, size - i - 1);
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void shift(int from, int to, int length) {
+            System.arraycopy(days, from, days, to, length);
+            System.arraycopy(cents, from, cents, to, length);
+            if (categorized) {
+                System.arraycopy(statuses, from, statuses, to, length);
+                System.arraycopy(types, from, types, to, length);
+            }
+        }
+    }
+}
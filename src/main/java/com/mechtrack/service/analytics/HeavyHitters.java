@@ -0,0 +1,148 @@
+package com.mechtrack.service.analytics;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Weighted Space-Saving summary of the heaviest items in a stream, with a fixed number of counters.
+ * <p>
+ * A new item that finds every counter taken replaces the smallest one and inherits its count as error,
+ * so each estimate is at most {@code error} above the true weight, and every item heavier than
+ * total / {@link #CAPACITY} is guaranteed to be monitored. Summaries merge by adding counters, where an item
+ * missing from a full summary is credited with that summary's smallest count (Agarwal et al., "Mergeable
+ * Summaries"), so per-month summaries combine into any range of months.
+ * <p>
+ * Removals subtract from a monitored item; removals of unmonitored items are dropped, since their weight
+ * is already bounded by the smallest counter.
+ */
+public class HeavyHitters {
+
+    public static final int CAPACITY = 64;
+
+    /**
+     * Estimated weight of an item; the true weight lies between {@code weight - error} and {@code weight}
+     */
+    public record Estimate(String item, long weight, long error) {}
+
+    private final Map<String, long[]> counters = new HashMap<>();
+
+    public void add(String item, long weight) {
+        if (item == null || weight <= 0) {
+            return;
+        }
+        long[] counter = counters.get(item);
+        if (counter != null) {
+            counter[0] = Math.addExact(counter[0], weight);
+            return;
+        }
+        if (counters.size() < CAPACITY) {
+            counters.put(item, new long[] {weight, 0});
+            return;
+        }
+        String smallest = smallestItem();
+        long minimum = counters.remove(smallest)[0];
+        counters.put(item, new long[] {Math.addExact(minimum, weight), minimum});
+    }
+
+    public void remove(String item, long weight) {
+        long[] counter = item != null ? counters.get(item) : null;
+        if (counter == null || weight <= 0) {
+            return;
+        }
+        counter[0] -= weight;
+        if (counter[0] <= 0) {
+            counters.remove(item);
+        } else if (counter[1] > counter[0]) {
+            counter[1] = counter[0];
+        }
+    }
+
+    public HeavyHitters merge(HeavyHitters other) {
+        long thisMinimum = minimumIfFull();
+        long otherMinimum = other.minimumIfFull();
+
+        Set<String> items = new HashSet<>(counters.keySet());
+        items.addAll(other.counters.keySet());
+        Map<String, long[]> merged = new HashMap<>();
+        for (String item : items) {
+            long[] mine = counters.get(item);
+            long[] theirs = other.counters.get(item);
+            merged.put(item, new long[] {
+                    Math.addExact(mine != null ? mine[0] : thisMinimum, theirs != null ? theirs[0] : otherMinimum),
+                    Math.addExact(mine != null ? mine[1] : thisMinimum, theirs != null ? theirs[1] : otherMinimum)
+            });
+        }
+
+        counters.clear();
+        merged.entrySet().stream()
+                .sorted(Map.Entry.<String, long[]>comparingByValue(Comparator.comparingLong(c -> -c[0]))
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(CAPACITY)
+                .forEach(entry -> counters.put(entry.getKey(), entry.getValue()));
+        return this;
+    }
+
+    /**
+     * @return Up to {@code limit} items with the largest estimates, heaviest first
+     */
+    public List<Estimate> top(int limit) {
+        List<Estimate> estimates = new ArrayList<>(counters.size());
+        counters.forEach((item, counter) -> estimates.add(new Estimate(item, counter[0], counter[1])));
+        estimates.sort(Comparator.comparingLong(Estimate::weight).reversed().thenComparing(Estimate::item));
+        return estimates.size() > limit ? estimates.subList(0, limit) : estimates;
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    /**
+     * Compact text form for persistence: {@code item:weight:error,...} with URL-encoded items
+     */
+    public String serialize() {
+        StringBuilder text = new StringBuilder();
+        counters.forEach((item, counter) -> {
+            if (!text.isEmpty()) {
+                text.append(',');
+            }
+            text.append(URLEncoder.encode(item, StandardCharsets.UTF_8)).append(':').append(counter[0]).append(':').append(counter[1]);
+        });
+        return text.toString();
+    }
+
+    public static HeavyHitters deserialize(String text) {
+        HeavyHitters summary = new HeavyHitters();
+        if (!text.isEmpty()) {
+            for (String entry : text.split(",")) {
+                String[] fields = entry.split(":");
+                summary.counters.put(URLDecoder.decode(fields[0], StandardCharsets.UTF_8),
+                        new long[] {Long.parseLong(fields[1]), Long.parseLong(fields[2])});
+            }
+        }
+        return summary;
+    }
+
+    private long minimumIfFull() {
+        return counters.size() < CAPACITY ? 0 : counters.get(smallestItem())[0];
+    }
+
+    private String smallestItem() {
+        String smallest = null;
+        long minimum = Long.MAX_VALUE;
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] < minimum) {
+                minimum = entry.getValue()[0];
+                smallest = entry.getKey();
+            }
+        }
+        return smallest;
+    }
+}
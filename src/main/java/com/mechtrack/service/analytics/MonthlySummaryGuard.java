@@ -0,0 +1,87 @@
+package com.mechtrack.service.analytics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps per-month summary rows that readers build on first use (income sketches, car model summaries)
+ * consistent with concurrent writes.
+ * <p>
+ * A reader can read the raw rows before a writer commits and store its summary after, and the writer's own
+ * in-transaction delete or patch cannot see a row the reader has not committed yet. So both sides check again
+ * once they have committed: the writer bumps the months' versions and deletes their rows, and the reader
+ * deletes the rows it stored if a month's version changed since it started reading. Whichever of the two runs
+ * last sees the other's effect, so a stale summary never outlives the write. Like {@link AnalyticsCache}, this
+ * relies on every write going through this application instance.
+ */
+@Component
+public class MonthlySummaryGuard {
+
+    private final AnalyticsCache analyticsCache;
+    private final TransactionTemplate newTransaction;
+
+    public MonthlySummaryGuard(AnalyticsCache analyticsCache, PlatformTransactionManager transactionManager) {
+        this.analyticsCache = analyticsCache;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * After the current transaction commits, delete the stored months whose version moved on since
+     * {@code versions} were taken, i.e. that a write touched while they were being read
+     * @param versions Version of each stored month, taken before its raw rows were read
+     * @param key Cache key the month's version is taken from
+     * @param delete Deletes the rows of the given month starts; runs in a transaction of its own
+     */
+    public void verifyAfterCommit(Map<YearMonth, Long> versions, Function<YearMonth, AnalyticsCache.Key> key,
+                                  Consumer<List<LocalDate>> delete) {
+        afterCommit(() -> {
+            List<LocalDate> stale = versions.entrySet().stream()
+                    .filter(entry -> analyticsCache.version(key.apply(entry.getKey())) != entry.getValue())
+                    .map(entry -> entry.getKey().atDay(1))
+                    .toList();
+            if (!stale.isEmpty()) {
+                newTransaction.executeWithoutResult(status -> delete.accept(stale));
+            }
+        });
+    }
+
+    /**
+     * After the current transaction commits, invalidate the given months and delete their stored rows,
+     * including any a concurrent reader built from the data as it was before this transaction
+     * @param delete Deletes the rows of the given month starts; runs in a transaction of its own
+     */
+    public void deleteAfterCommit(Collection<YearMonth> months, Consumer<List<LocalDate>> delete) {
+        List<LocalDate> monthStarts = months.stream().map(month -> month.atDay(1)).toList();
+        afterCommit(() -> {
+            // Bump first, so a reader that checks after this delete ran sees the new version
+            analyticsCache.invalidate(monthStarts);
+            newTransaction.executeWithoutResult(status -> delete.accept(monthStarts));
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package com.mechtrack.service.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch with bounded relative error (logarithmic buckets, as in DDSketch).
+ * <p>
+ * A positive value v is counted in bucket ceil(log(v) / log(gamma)), so every value in a bucket is within
+ * {@link #RELATIVE_ACCURACY} of the bucket's representative value. Zero and negative values share one bucket
+ * reported as zero. Merging two sketches adds their bucket counts, which makes per-month sketches combinable
+ * into any multi-month range without revisiting the underlying values.
+ */
+public class QuantileSketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final TreeMap<Integer, Long> counts = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+
+    public void add(BigDecimal value) {
+        if (value == null) {
+            return;
+        }
+        double v = value.doubleValue();
+        if (v <= 0) {
+            zeroCount++;
+        } else {
+            counts.merge((int) Math.ceil(Math.log(v) / LOG_GAMMA), 1L, Long::sum);
+        }
+        count++;
+    }
+
+    public QuantileSketch merge(QuantileSketch other) {
+        other.counts.forEach((index, bucketCount) -> counts.merge(index, bucketCount, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @param quantile Quantile between 0 and 1
+     * @return Estimated value at the quantile, rounded to cents, or null when the sketch is empty
+     */
+    public BigDecimal quantile(double quantile) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = (long) Math.floor(quantile * (count - 1));
+        if (rank < zeroCount) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        long seen = zeroCount;
+        for (Map.Entry<Integer, Long> bucket : counts.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                double value = 2 * Math.pow(GAMMA, bucket.getKey()) / (GAMMA + 1);
+                return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+            }
+        }
+        throw new IllegalStateException("Sketch counts do not add up to " + count);
+    }
+
+    /**
+     * Compact text form for persistence: {@code zeroCount;index:count,index:count,...}
+     */
+    public String serialize() {
+        StringBuilder text = new StringBuilder().append(zeroCount).append(';');
+        counts.forEach((index, bucketCount) -> {
+            if (text.charAt(text.length() - 1) != ';') {
+                text.append(',');
+            }
+            text.append(index).append(':').append(bucketCount);
+        });
+        return text.toString();
+    }
+
+    public static QuantileSketch deserialize(String text) {
+        QuantileSketch sketch = new QuantileSketch();
+        int separator = text.indexOf(';');
+        sketch.zeroCount = Long.parseLong(text.substring(0, separator));
+        sketch.count = sketch.zeroCount;
+        String buckets = text.substring(separator + 1);
+        if (!buckets.isEmpty()) {
+            for (String bucket : buckets.split(",")) {
+                int colon = bucket.indexOf(':');
+                long bucketCount = Long.parseLong(bucket.substring(colon + 1));
+                sketch.counts.put(Integer.parseInt(bucket.substring(0, colon)), bucketCount);
+                sketch.count += bucketCount;
+            }
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,278 @@
+package com.mechtrack.service.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from the 1-, 2- and 3-grams of a set of values to the values containing them, for substring
+ * typeahead. Values are normalized (lower case, single spaces) and counted, so the same customer on ten jobs
+ * is one value with count 10; a value leaves the index when its count drops to zero.
+ * <p>
+ * Each value gets a dense int id, and each n-gram a posting list of ids kept as a sorted {@code int[]}.
+ * A query of up to three characters is answered by one posting list; a longer one intersects the posting
+ * lists of its trigrams, shortest first, and checks the few survivors for the full substring.
+ * Matches are ranked by where they match (start of the value, start of a word, anywhere), then by count.
+ * <p>
+ * Not thread-safe; callers guard it with a read/write lock.
+ */
+public class NgramIndex {
+
+    static final int MAX_GRAM = 3;
+
+    // Object header and fields of a posting list, plus an estimate of its hash map entry and n-gram key
+    private static final int POSTINGS_OVERHEAD_BYTES = 16 + 16 + 32 + 48;
+    // Per value: the normalized key and display strings, its map entry and its slots in the id arrays
+    private static final int VALUE_OVERHEAD_BYTES = 2 * 48 + 32 + 2 * 4 + 4;
+
+    /**
+     * A suggested value and the number of records that carry it
+     */
+    public record Match(String value, int count) {}
+
+    private final Map<String, Integer> idsByKey = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private String[] keys = new String[64];
+    private String[] values = new String[64];
+    private int[] counts = new int[64];
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private int nextId;
+
+    public void add(String value) {
+        String key = normalize(value);
+        if (key.isEmpty()) {
+            return;
+        }
+        Integer existing = idsByKey.get(key);
+        if (existing != null) {
+            counts[existing]++;
+            return;
+        }
+
+        int id = allocateId();
+        keys[id] = key;
+        values[id] = value.strip();
+        counts[id] = 1;
+        idsByKey.put(key, id);
+        for (String gram : grams(key)) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+        }
+    }
+
+    public void remove(String value) {
+        String key = normalize(value);
+        Integer id = idsByKey.get(key);
+        if (id == null) {
+            return;
+        }
+        if (--counts[id] > 0) {
+            return;
+        }
+
+        for (String gram : grams(key)) {
+            Postings list = postings.get(gram);
+            list.remove(id);
+            if (list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+        idsByKey.remove(key);
+        keys[id] = null;
+        values[id] = null;
+        releaseId(id);
+    }
+
+    /**
+     * @param query Substring to look for, in any case
+     * @param limit Maximum number of matches
+     * @return Up to {@code limit} values containing the query, best first
+     */
+    public List<Match> search(String query, int limit) {
+        String key = normalize(query);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<String> queryGrams = key.length() <= MAX_GRAM ? Set.of(key) : trigrams(key);
+        Postings[] lists = new Postings[queryGrams.size()];
+        int listCount = 0;
+        for (String gram : queryGrams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists[listCount++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        // Best matches so far, best first; a score packs the match position above the count
+        String wordStart = " " + key;
+        int[] bestIds = new int[Math.min(limit, size()) + 1];
+        long[] bestScores = new long[bestIds.length];
+        int bestCount = 0;
+
+        // Walk the shortest list and advance a cursor through each longer one; all lists are sorted by id
+        Postings shortest = lists[0];
+        int[] cursors = new int[listCount];
+        candidates:
+        for (int i = 0; i < shortest.size; i++) {
+            int id = shortest.ids[i];
+            for (int j = 1; j < listCount; j++) {
+                cursors[j] = lists[j].seek(id, cursors[j]);
+                if (cursors[j] == lists[j].size || lists[j].ids[cursors[j]] != id) {
+                    continue candidates;
+                }
+            }
+            String candidate = keys[id];
+            int position = candidate.startsWith(key) ? 2 : candidate.contains(wordStart) ? 1 : 0;
+            // Sharing every trigram does not guarantee the trigrams are adjacent
+            if (position == 0 && key.length() > MAX_GRAM && !candidate.contains(key)) {
+                continue;
+            }
+            long score = ((long) position << 32) | counts[id];
+            if (bestCount == limit && !isBetter(score, id, bestScores[bestCount - 1], bestIds[bestCount - 1])) {
+                continue;
+            }
+
+            int index = bestCount == limit ? limit - 1 : bestCount++;
+            while (index > 0 && isBetter(score, id, bestScores[index - 1], bestIds[index - 1])) {
+                bestScores[index] = bestScores[index - 1];
+                bestIds[index] = bestIds[index - 1];
+                index--;
+            }
+            bestScores[index] = score;
+            bestIds[index] = id;
+        }
+
+        List<Match> matches = new ArrayList<>(bestCount);
+        for (int i = 0; i < bestCount; i++) {
+            matches.add(new Match(values[bestIds[i]], counts[bestIds[i]]));
+        }
+        return matches;
+    }
+
+    public int size() {
+        return idsByKey.size();
+    }
+
+    public int gramCount() {
+        return postings.size();
+    }
+
+    /**
+     * Approximate heap used by the index: posting arrays, id arrays and strings, with estimated object overheads
+     */
+    public long estimatedBytes() {
+        long bytes = (long) keys.length * 2 * 4 + (long) counts.length * 4 + (long) freeIds.length * 4;
+        for (Postings list : postings.values()) {
+            bytes += POSTINGS_OVERHEAD_BYTES + (long) list.ids.length * Integer.BYTES;
+        }
+        for (String key : idsByKey.keySet()) {
+            bytes += VALUE_OVERHEAD_BYTES + 2L * key.length();
+        }
+        return bytes;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private boolean isBetter(long score, int id, long otherScore, int otherId) {
+        return score != otherScore ? score > otherScore : values[id].compareTo(values[otherId]) < 0;
+    }
+
+    private static Set<String> grams(String key) {
+        Set<String> grams = new HashSet<>();
+        for (int n = 1; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= key.length(); i++) {
+                grams.add(key.substring(i, i + n));
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> trigrams(String key) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + MAX_GRAM <= key.length(); i++) {
+            grams.add(key.substring(i, i + MAX_GRAM));
+        }
+        return grams;
+    }
+
+    private int allocateId() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+        if (nextId == keys.length) {
+            int capacity = keys.length + (keys.length >> 1);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        return nextId++;
+    }
+
+    private void releaseId(int id) {
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    /**
+     * Sorted, duplicate-free ids; new values get the highest id unless one is reused, so adds are mostly appends
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            int index = size > 0 && ids[size - 1] < id ? size : insertionPoint(id);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+        }
+
+        /**
+         * Galloping search, so stepping through a much longer list costs a logarithm per step rather than a scan
+         * @return Index of the first id at or after {@code from} that is not below {@code id}
+         */
+        int seek(int id, int from) {
+            if (from >= size || ids[from] >= id) {
+                return from;
+            }
+            int low = from;
+            int step = 1;
+            while (from + step < size && ids[from + step] < id) {
+                low = from + step;
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(ids, low + 1, Math.min(from + step, size), id);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        private int insertionPoint(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
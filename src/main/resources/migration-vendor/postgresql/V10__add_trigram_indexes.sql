@@ -0,0 +1,11 @@
+-- V10__add_trigram_indexes.sql
+-- Trigram indexes for the case-insensitive substring filters (PostgreSQL only).
+-- The filters are written as UPPER(column) LIKE '%FRAGMENT%', so the indexes are built on the same
+-- UPPER(column) expression; plain B-tree indexes cannot serve a leading wildcard.
+-- Fragments shorter than three characters contain no trigram and still scan.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_job_customer_name_trgm ON job USING GIN (UPPER(customer_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_job_car_model_trgm ON job USING GIN (UPPER(car_model) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_part_name_trgm ON part USING GIN (UPPER(name) gin_trgm_ops);
@@ -0,0 +1,39 @@
+-- V11__refresh_job_search_vector_per_statement.sql
+-- Refresh a job's search_vector once per statement that changes its parts, rather than once per part row (PostgreSQL only).
+-- The row-level part trigger of V9 rewrote the job row for every part inserted, moved or deleted, so a statement
+-- touching N parts of a job wrote that job N times. The statement-level triggers below read the changed parts from
+-- transition tables and touch each affected job once. PostgreSQL allows transition tables only on single-event
+-- triggers without a column list, so there is one trigger per event and updates are filtered on name and job_id here.
+
+DROP TRIGGER IF EXISTS trg_part_search_vector ON part;
+
+CREATE OR REPLACE FUNCTION part_search_vector_refresh() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE job SET description = description WHERE id IN (SELECT job_id FROM new_parts);
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE job SET description = description WHERE id IN (SELECT job_id FROM old_parts);
+    ELSE
+        UPDATE job SET description = description WHERE id IN (
+            SELECT unnest(ARRAY[o.job_id, n.job_id])
+            FROM old_parts o JOIN new_parts n ON n.id = o.id
+            WHERE n.name IS DISTINCT FROM o.name OR n.job_id IS DISTINCT FROM o.job_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_part_search_vector_insert
+    AFTER INSERT ON part
+    REFERENCING NEW TABLE AS new_parts
+    FOR EACH STATEMENT EXECUTE FUNCTION part_search_vector_refresh();
+
+CREATE TRIGGER trg_part_search_vector_update
+    AFTER UPDATE ON part
+    REFERENCING OLD TABLE AS old_parts NEW TABLE AS new_parts
+    FOR EACH STATEMENT EXECUTE FUNCTION part_search_vector_refresh();
+
+CREATE TRIGGER trg_part_search_vector_delete
+    AFTER DELETE ON part
+    REFERENCING OLD TABLE AS old_parts
+    FOR EACH STATEMENT EXECUTE FUNCTION part_search_vector_refresh();
@@ -0,0 +1,43 @@
+-- V9__add_job_search_vector.sql
+-- Full-text search over customer name, car model, part names and description (PostgreSQL only).
+-- search_vector is kept current by triggers, so writes from outside the application are covered too.
+-- The 'simple' configuration is used because names and models must match as typed, without stemming.
+
+ALTER TABLE job ADD COLUMN search_vector TSVECTOR;
+
+CREATE OR REPLACE FUNCTION job_search_vector_refresh() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('simple', coalesce(NEW.customer_name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(NEW.car_model, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce((SELECT string_agg(p.name, ' ') FROM part p WHERE p.job_id = NEW.id), '')), 'C') ||
+        setweight(to_tsvector('simple', coalesce(NEW.description, '')), 'D');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_job_search_vector
+    BEFORE INSERT OR UPDATE OF customer_name, car_model, description ON job
+    FOR EACH ROW EXECUTE FUNCTION job_search_vector_refresh();
+
+-- Part names are part of the job's vector: touching the job's description re-runs the job trigger
+CREATE OR REPLACE FUNCTION part_search_vector_refresh() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        UPDATE job SET description = description WHERE id = OLD.job_id;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        UPDATE job SET description = description WHERE id = NEW.job_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_part_search_vector
+    AFTER INSERT OR DELETE OR UPDATE OF name, job_id ON part
+    FOR EACH ROW EXECUTE FUNCTION part_search_vector_refresh();
+
+-- Backfill existing jobs through the trigger
+UPDATE job SET description = description;
+
+CREATE INDEX idx_job_search_vector ON job USING GIN (search_vector);
@@ -0,0 +1,24 @@
+-- V4__create_analytics_daily.sql
+-- Daily income/expense rollup maintained by the application on every job and part write
+
+CREATE TABLE analytics_daily (
+    date DATE PRIMARY KEY,
+    income_total NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    expense_total NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    job_count INTEGER NOT NULL DEFAULT 0,
+    part_count INTEGER NOT NULL DEFAULT 0
+);
+
+-- Backfill from existing jobs (by job date) and parts (by purchase date)
+INSERT INTO analytics_daily (date, income_total, expense_total, job_count, part_count)
+SELECT bucket_date, SUM(income), SUM(expense), SUM(jobs), SUM(parts)
+FROM (
+    SELECT date AS bucket_date, COALESCE(income, 0) AS income, 0 AS expense, 1 AS jobs, 0 AS parts
+    FROM job
+    WHERE date IS NOT NULL
+    UNION ALL
+    SELECT purchase_date AS bucket_date, 0 AS income, COALESCE(cost, 0) AS expense, 0 AS jobs, 1 AS parts
+    FROM part
+    WHERE purchase_date IS NOT NULL
+) changes
+GROUP BY bucket_date;
@@ -0,0 +1,9 @@
+-- V5__create_analytics_monthly_sketch.sql
+-- Persisted quantile sketches of job income and part cost for closed months.
+-- Rows are written lazily on first read and deleted when a write touches the month.
+
+CREATE TABLE analytics_monthly_sketch (
+    month_start DATE PRIMARY KEY,
+    income_sketch TEXT NOT NULL,
+    cost_sketch TEXT NOT NULL
+);
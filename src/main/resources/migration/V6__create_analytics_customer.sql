@@ -0,0 +1,25 @@
+-- V6__create_analytics_customer.sql
+-- Per-customer lifetime totals, recomputed for the affected customers on every job write
+
+CREATE TABLE analytics_customer (
+    customer_name VARCHAR(255) PRIMARY KEY,
+    total_spend NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    visit_count INTEGER NOT NULL DEFAULT 0,
+    first_visit DATE,
+    last_visit DATE
+);
+
+-- One index per ranking, with the name as tie-breaker so pages are stable
+CREATE INDEX idx_analytics_customer_spend ON analytics_customer(total_spend DESC, customer_name);
+CREATE INDEX idx_analytics_customer_visits ON analytics_customer(visit_count DESC, customer_name);
+CREATE INDEX idx_analytics_customer_last_visit ON analytics_customer(last_visit DESC, customer_name);
+
+-- Recomputing one customer reads only that customer's jobs
+CREATE INDEX IF NOT EXISTS idx_job_customer_name_date ON job(customer_name, date);
+
+-- Backfill from existing jobs
+INSERT INTO analytics_customer (customer_name, total_spend, visit_count, first_visit, last_visit)
+SELECT customer_name, COALESCE(SUM(income), 0), COUNT(*), MIN(date), MAX(date)
+FROM job
+WHERE customer_name IS NOT NULL
+GROUP BY customer_name;
@@ -0,0 +1,9 @@
+-- V7__create_analytics_monthly_car_model.sql
+-- Heavy-hitter summaries of car models per month, by job count and by revenue.
+-- Rows are written lazily on first read and patched in place by every job write to the month.
+
+CREATE TABLE analytics_monthly_car_model (
+    month_start DATE PRIMARY KEY,
+    jobs_summary TEXT NOT NULL,
+    revenue_summary TEXT NOT NULL
+);
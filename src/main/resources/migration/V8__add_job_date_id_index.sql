@@ -0,0 +1,4 @@
+-- V8__add_job_date_id_index.sql
+-- Keyset pagination of the job list orders by (date DESC, id DESC) and seeks past the last job of the previous page
+
+CREATE INDEX IF NOT EXISTS idx_job_date_id ON job(date DESC, id DESC);
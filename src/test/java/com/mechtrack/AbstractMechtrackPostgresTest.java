@@ -0,0 +1,178 @@
+package com.mechtrack;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Base class for tests that need PostgreSQL itself rather than H2: native SQL, extensions, query plans and
+ * concurrent writers. The schema is created by the Flyway migrations, including the PostgreSQL-only ones,
+ * and validated against the entities.
+ * <p>
+ * Runs against a PostgreSQL Testcontainer, or against the scratch database in MECHTRACK_TEST_POSTGRES_URL
+ * (with _USER and _PASSWORD) when it is set. Tests are skipped when neither Docker nor that variable is available,
+ * unless the system property {@value #REQUIRED_PROPERTY} is true (set by the check-postgres Maven profile), in
+ * which case they fail.
+ */
+public abstract class AbstractMechtrackPostgresTest extends AbstractMechtrackTest {
+
+    private static final String URL_VARIABLE = "MECHTRACK_TEST_POSTGRES_URL";
+    private static final String USER_VARIABLE = "MECHTRACK_TEST_POSTGRES_USER";
+    private static final String PASSWORD_VARIABLE = "MECHTRACK_TEST_POSTGRES_PASSWORD";
+    private static final String IMAGE = "postgres:16-alpine";
+    private static final String REQUIRED_PROPERTY = "mechtrack.test.postgres.required";
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private static Boolean dockerAvailable;
+    private static PostgreSQLContainer<?> container;
+
+    @Autowired
+    protected PlatformTransactionManager transactionManager;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void requirePostgres() {
+        boolean available = System.getenv(URL_VARIABLE) != null || isDockerAvailable();
+        String reason = "PostgreSQL tests need Docker or " + URL_VARIABLE;
+        if (Boolean.getBoolean(REQUIRED_PROPERTY)) {
+            assertThat(available).as(reason).isTrue();
+        }
+        assumeTrue(available, reason);
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        if (System.getenv(URL_VARIABLE) != null) {
+            registry.add("spring.datasource.url", () -> System.getenv(URL_VARIABLE));
+            registry.add("spring.datasource.username", () -> System.getenv(USER_VARIABLE));
+            registry.add("spring.datasource.password", () -> System.getenv(PASSWORD_VARIABLE));
+        } else {
+            PostgreSQLContainer<?> postgres = startContainer();
+            registry.add("spring.datasource.url", postgres::getJdbcUrl);
+            registry.add("spring.datasource.username", postgres::getUsername);
+            registry.add("spring.datasource.password", postgres::getPassword);
+        }
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    /**
+     * Run {@code first} in a transaction that stays open until {@code second}, started on another thread, is
+     * waiting for a lock, then commit it and let {@code second} finish. Reproduces two writers of the same new row:
+     * the second one can neither see the first one's uncommitted row nor insert its own.
+     * Fails if either throws.
+     */
+    protected void runInterleaved(Runnable first, Runnable second) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (OpenTransaction holder = openTransaction(first)) {
+            Future<?> waiter = executor.submit(second);
+            boolean blocked = awaitLockWaiter(waiter);
+            holder.commit();
+            waiter.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertThat(blocked).as("second writer waited for the first one's row").isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Run {@code work} in a transaction on another thread and leave it open until {@link OpenTransaction#commit()},
+     * so the test can act between a write and its commit. Fails if {@code work} throws.
+     */
+    protected OpenTransaction openTransaction(Runnable work) throws Exception {
+        return new OpenTransaction(work);
+    }
+
+    protected final class OpenTransaction implements AutoCloseable {
+
+        private final ExecutorService executor = Executors.newSingleThreadExecutor();
+        private final CountDownLatch commit = new CountDownLatch(1);
+        private final Future<?> transaction;
+
+        private OpenTransaction(Runnable work) throws Exception {
+            CountDownLatch done = new CountDownLatch(1);
+            transaction = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                work.run();
+                done.countDown();
+                awaitUninterruptibly(commit);
+            }));
+            while (!done.await(100, TimeUnit.MILLISECONDS)) {
+                if (transaction.isDone()) {
+                    close();
+                    transaction.get();
+                }
+            }
+        }
+
+        /**
+         * Commit, and return once the commit and its after-commit callbacks are done
+         */
+        public void commit() throws Exception {
+            commit.countDown();
+            transaction.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void close() {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean awaitLockWaiter(Future<?> waiter) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!waiter.isDone() && System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_stat_activity " +
+                    "WHERE datname = current_database() AND wait_event_type = 'Lock'", Integer.class);
+            if (waiting != null && waiting > 0) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static synchronized boolean isDockerAvailable() {
+        if (dockerAvailable == null) {
+            dockerAvailable = DockerClientFactory.instance().isDockerAvailable();
+        }
+        return dockerAvailable;
+    }
+
+    // One container for the whole test run; Testcontainers removes it when the JVM exits
+    private static synchronized PostgreSQLContainer<?> startContainer() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>(IMAGE);
+            container.start();
+        }
+        return container;
+    }
+}
@@ -1,7 +1,13 @@
 package com.mechtrack;
 
+import com.mechtrack.repository.AnalyticsCustomerRepository;
+import com.mechtrack.repository.AnalyticsDailyRepository;
+import com.mechtrack.repository.AnalyticsMonthlyCarModelRepository;
+import com.mechtrack.repository.AnalyticsMonthlySketchRepository;
 import com.mechtrack.repository.JobRepository;
 import com.mechtrack.repository.PartRepository;
+import com.mechtrack.service.DataVersionService;
+import com.mechtrack.service.analytics.AnalyticsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -19,6 +25,24 @@ public abstract class AbstractMechtrackTest {
     @Autowired
     protected PartRepository partRepository;
 
+    @Autowired
+    protected AnalyticsDailyRepository analyticsDailyRepository;
+
+    @Autowired
+    protected AnalyticsMonthlySketchRepository analyticsMonthlySketchRepository;
+
+    @Autowired
+    protected AnalyticsCustomerRepository analyticsCustomerRepository;
+
+    @Autowired
+    protected AnalyticsMonthlyCarModelRepository analyticsMonthlyCarModelRepository;
+
+    @Autowired
+    protected AnalyticsCache analyticsCache;
+
+    @Autowired
+    protected DataVersionService dataVersionService;
+
     @BeforeEach
     void cleanDb() {
         partRepository.deleteAll();
@@ -26,5 +50,12 @@ public abstract class AbstractMechtrackTest {
         
         jobRepository.deleteAll();
         jobRepository.flush();
+
+        analyticsDailyRepository.deleteAllInBatch();
+        analyticsMonthlySketchRepository.deleteAllInBatch();
+        analyticsCustomerRepository.deleteAllInBatch();
+        analyticsMonthlyCarModelRepository.deleteAllInBatch();
+        analyticsCache.invalidateAll();
+        dataVersionService.bump();
     }
 }
@@ -0,0 +1,78 @@
+package com.mechtrack.benchmark;
+
+import com.mechtrack.service.analytics.Cents;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Summing amounts as the analytics aggregation loops do: {@link BigDecimal} additions, against converting each
+ * amount to cents with {@link Cents#of} and adding longs, against adding longs that are already cents
+ * (the columnar store). Amounts have two decimals and go up to 10 000.00, like job incomes.
+ * The gc profiler of the benchmark profile reports allocations per sum as gc.alloc.rate.norm: one 40-byte
+ * {@link BigDecimal} per addition for the first, only the returned total for the cents variants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmountSumBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private List<BigDecimal> amounts;
+    private long[] cents;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        amounts = IntStream.range(0, rows)
+                .mapToObj(i -> BigDecimal.valueOf(random.nextLong(1_000_000), 2))
+                .toList();
+        cents = amounts.stream().mapToLong(Cents::of).toArray();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal centsFromBigDecimal() {
+        long total = 0;
+        for (BigDecimal amount : amounts) {
+            total = Math.addExact(total, Cents.of(amount));
+        }
+        return Cents.toAmount(total);
+    }
+
+    @Benchmark
+    public BigDecimal centsColumn() {
+        long total = 0;
+        for (long amount : cents) {
+            total = Math.addExact(total, amount);
+        }
+        return Cents.toAmount(total);
+    }
+}
@@ -0,0 +1,137 @@
+package com.mechtrack.benchmark;
+
+import com.mechtrack.MechTrackApplication;
+import com.mechtrack.config.AnalyticsProperties;
+import com.mechtrack.model.dto.AnalyticsBucketDto;
+import com.mechtrack.repository.AnalyticsDailyRepository;
+import com.mechtrack.repository.JobRepository;
+import com.mechtrack.service.AnalyticsRollupService;
+import com.mechtrack.service.AnalyticsService;
+import com.mechtrack.service.analytics.AnalyticsCache;
+import com.mechtrack.service.analytics.BucketSize;
+import com.mechtrack.service.analytics.ColumnarAnalyticsStore;
+import com.mechtrack.service.analytics.ParallelAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A daily series through {@link AnalyticsService#getSeries}, answered by the columnar store and by the daily rollup
+ * with its cache, on the same data in one application context.
+ * A million jobs and half a million parts are spread evenly over ten years of an in-memory H2 database under the
+ * test profile. The rollup variants run against the same repositories with the columnar store disabled, once with
+ * the cache emptied before every call and once with every bucket already cached. H2 runs in process, so the
+ * rollup queries pay no network round trip here; against PostgreSQL the uncached rollup is slower still.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class ColumnarSeriesBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2016, 1, 1);
+    private static final int DAYS = 3653;
+    private static final int JOBS = 1_000_000;
+    private static final int PARTS = 500_000;
+
+    /**
+     * Length of the series in days, one bucket per day
+     */
+    @Param({"31", "365", "3653"})
+    private int seriesDays;
+
+    /**
+     * Aggregation pool size of the columnar path; 1 maps every series on the calling thread
+     */
+    @Param({"1", "4"})
+    private int threads;
+
+    private ConfigurableApplicationContext context;
+    private AnalyticsService analyticsService;
+    private AnalyticsService rollupOnly;
+    private AnalyticsCache rollupCache;
+    private ParallelAggregator rollupAggregator;
+    private LocalDate start;
+    private LocalDate end;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MechTrackApplication.class).run(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--logging.level.com.mechtrack=WARN",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--mechtrack.analytics.columnar.enabled=true",
+                "--mechtrack.analytics.parallel.threads=" + threads);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("INSERT INTO job (id, customer_name, car_model, description, date, income, status, type) " +
+                "SELECT RANDOM_UUID(), 'Customer', 'Car', 'Service', " +
+                "DATEADD(DAY, X * " + DAYS + " / " + JOBS + ", DATE '" + FIRST_DAY + "'), " +
+                "CAST(RAND(42) * 10000 AS DECIMAL(10, 2)), 'DONE', 'GENERAL_MAINTENANCE' " +
+                "FROM SYSTEM_RANGE(0, " + (JOBS - 1) + ")");
+        jdbcTemplate.execute("INSERT INTO part (id, name, cost, purchase_date, job_id) " +
+                "SELECT RANDOM_UUID(), 'Part', CAST(RAND() * 1000 AS DECIMAL(10, 2)), date, id " +
+                "FROM job ORDER BY date LIMIT " + PARTS);
+
+        end = FIRST_DAY.plusDays(DAYS - 1);
+        start = end.minusDays(seriesDays - 1);
+        // Fills the rollup and reloads the columnar store from the rows inserted behind its back
+        context.getBean(AnalyticsRollupService.class).rebuild(FIRST_DAY, end);
+
+        AnalyticsProperties properties = new AnalyticsProperties();
+        properties.getParallel().setThreads(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        rollupCache = new AnalyticsCache(properties, meterRegistry);
+        rollupAggregator = new ParallelAggregator(properties);
+        rollupOnly = new AnalyticsService(context.getBean(AnalyticsDailyRepository.class),
+                context.getBean(JobRepository.class), rollupCache,
+                new ColumnarAnalyticsStore(properties, null, null, null, meterRegistry), rollupAggregator, properties);
+        analyticsService = context.getBean(AnalyticsService.class);
+        if (!context.getBean(ColumnarAnalyticsStore.class).isReady()
+                || !columnar().equals(rollupOnly.getSeries(BucketSize.DAY, start, end))) {
+            throw new IllegalStateException("The columnar store and the rollup disagree");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        rollupAggregator.destroy();
+        context.close();
+    }
+
+    @Benchmark
+    public List<AnalyticsBucketDto> columnar() {
+        return analyticsService.getSeries(BucketSize.DAY, start, end);
+    }
+
+    @Benchmark
+    public List<AnalyticsBucketDto> rollupCold() {
+        rollupCache.invalidateAll();
+        return rollupOnly.getSeries(BucketSize.DAY, start, end);
+    }
+
+    @Benchmark
+    public List<AnalyticsBucketDto> rollupCached() {
+        return rollupOnly.getSeries(BucketSize.DAY, start, end);
+    }
+}
@@ -2,20 +2,31 @@ package com.mechtrack.controller;
 
 import com.mechtrack.AbstractMechtrackMvcTest;
 import com.mechtrack.model.dto.DailyAnalyticsDto;
+import com.mechtrack.model.dto.DashboardDto;
+import com.mechtrack.model.dto.MonthlyAnalyticsDto;
 import com.mechtrack.model.enums.TimeInterval;
 import com.mechtrack.service.AnalyticsService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -218,4 +229,122 @@ class AnalyticsControllerTest extends AbstractMechtrackMvcTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
     }
+
+    @Test
+    @DisplayName("Should stream daily analytics export as CSV")
+    void shouldStreamDailyAnalyticsExportAsCsv() throws Exception {
+        LocalDate start = LocalDate.of(2024, 9, 1);
+        LocalDate end = LocalDate.of(2024, 9, 2);
+
+        doAnswer(invocation -> {
+            Consumer<List<DailyAnalyticsDto>> chunkConsumer = invocation.getArgument(2);
+            chunkConsumer.accept(List.of(
+                new DailyAnalyticsDto(start, new BigDecimal("100.00"), new BigDecimal("20.00"), new BigDecimal("80.00"), 1, 2)));
+            chunkConsumer.accept(List.of(
+                new DailyAnalyticsDto(end, BigDecimal.ZERO, new BigDecimal("5.50"), new BigDecimal("-5.50"), 0, 1)));
+            return null;
+        }).when(analyticsService).streamDailyAnalytics(eq(start), eq(end), any());
+
+        MvcResult result = mvc.perform(get("/api/analytics/daily/export")
+                        .param("start", "2024-09-01")
+                        .param("end", "2024-09-02")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(
+                    "date,totalIncome,totalExpenses,netProfit,jobCount,partCount\n" +
+                    "2024-09-01,100.00,20.00,80.00,1,2\n" +
+                    "2024-09-02,0,5.50,-5.50,0,1\n"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown export format")
+    void shouldRejectUnknownExportFormat() throws Exception {
+        mvc.perform(get("/api/analytics/daily/export")
+                        .param("start", "2024-09-01")
+                        .param("end", "2024-09-02")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown series bucket")
+    void shouldRejectUnknownSeriesBucket() throws Exception {
+        mvc.perform(get("/api/analytics/series")
+                        .param("bucket", "fortnight")
+                        .param("start", "2024-09-01")
+                        .param("end", "2024-09-30"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Invalid bucket: fortnight")));
+    }
+
+    @Test
+    @DisplayName("Should reject series and trends with too many buckets")
+    void shouldRejectTooManySeriesBuckets() throws Exception {
+        mvc.perform(get("/api/analytics/series")
+                        .param("bucket", "day")
+                        .param("start", "0001-01-01")
+                        .param("end", "9999-12-31"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("must not span more than")));
+        mvc.perform(get("/api/analytics/series/trend")
+                        .param("bucket", "week")
+                        .param("start", "1900-01-01")
+                        .param("end", "2025-12-31"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should not answer rollup checks from an ETag")
+    void shouldNotTagRollupChecks() throws Exception {
+        mvc.perform(get("/api/analytics/rollup/discrepancies")
+                        .param("start", "2024-09-01")
+                        .param("end", "2024-09-02")
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should reject reversed or overlong rollup ranges")
+    void shouldRejectInvalidRollupRanges() throws Exception {
+        mvc.perform(get("/api/analytics/rollup/discrepancies")
+                        .param("start", "2024-09-02")
+                        .param("end", "2024-09-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Start date must not be after end date")));
+        mvc.perform(get("/api/analytics/rollup/discrepancies")
+                        .param("start", "0001-01-01")
+                        .param("end", "9999-12-31"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("must not exceed")));
+        mvc.perform(post("/api/analytics/rollup/rebuild")
+                        .param("start", "2000-01-01")
+                        .param("end", "2024-12-31"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return all dashboard views in one response")
+    void shouldGetDashboard() throws Exception {
+        YearMonth month = YearMonth.of(2024, 9);
+        MonthlyAnalyticsDto monthly = new MonthlyAnalyticsDto(month, new BigDecimal("300.00"), new BigDecimal("50.00"), new BigDecimal("250.00"), 2, 1);
+        DailyAnalyticsDto daily = new DailyAnalyticsDto(month.atDay(30), new BigDecimal("100.00"), BigDecimal.ZERO, new BigDecimal("100.00"), 1, 0);
+
+        when(analyticsService.getDashboard())
+                .thenReturn(new DashboardDto(monthly, List.of(monthly), List.of(daily), List.of(daily, daily)));
+
+        mvc.perform(get("/api/analytics/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary.month").value("2024-09"))
+                .andExpect(jsonPath("$.summary.netProfit").value(250.00))
+                .andExpect(jsonPath("$.monthly.length()").value(1))
+                .andExpect(jsonPath("$.lastSevenDays[0].date").value("2024-09-30"))
+                .andExpect(jsonPath("$.lastMonth.length()").value(2));
+    }
 }
@@ -5,14 +5,23 @@ import com.mechtrack.service.JobService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
 import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class JobControllerTest extends AbstractMechtrackMvcTest {
@@ -100,4 +109,115 @@ class JobControllerTest extends AbstractMechtrackMvcTest {
                                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
-} 
+
+    @Test
+    @DisplayName("Test: conditional GET returns 304 until a job is written")
+    void conditionalGetUntilJobWritten() throws Exception {
+        jobService.createJob(createJobRequest());
+
+        var etag = mvc.perform(
+                        get(JOBS_URL)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(
+                        get(JOBS_URL)
+                                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        jobService.createJob(createJobRequest());
+
+        mvc.perform(
+                        get(JOBS_URL)
+                                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(equalTo(etag))))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("Test: export jobs as NDJSON")
+    void exportJobsAsNdjson() throws Exception {
+        var older = jobService.createJob(createJobRequest("John Smith", "Toyota Camry", "Brake repair", LocalDate.now().minusDays(1), new BigDecimal("100.00")));
+        var newer = jobService.createJob(createJobRequest("Jane Doe", "Honda Civic", "Oil change", LocalDate.now(), new BigDecimal("50.00")));
+
+        var result = mvc.perform(
+                        get(JOBS_URL + "/export")
+                                .param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andReturn();
+
+        var body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(0)).get("id").asText()).isEqualTo(newer.id().toString());
+        assertThat(objectMapper.readTree(lines.get(1)).get("id").asText()).isEqualTo(older.id().toString());
+    }
+
+    @Test
+    @DisplayName("Test: export jobs as a JSON array")
+    void exportJobsAsJsonArray() throws Exception {
+        jobService.createJob(createJobRequest());
+        jobService.createJob(createJobRequest());
+
+        var result = mvc.perform(
+                        get(JOBS_URL + "/export")
+                                .param("format", "json"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].parts").isArray());
+    }
+
+    @Test
+    @DisplayName("Test: export jobs as CSV, quoting values that contain separators or quotes")
+    void exportJobsAsCsv() throws Exception {
+        var job = jobService.createJob(createJobRequest("Smith, John", "Toyota \"Camry\"", "Brake repair", LocalDate.of(2025, 3, 10), new BigDecimal("100.00")));
+
+        var result = mvc.perform(
+                        get(JOBS_URL + "/export")
+                                .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(
+                        "id,customerName,carModel,description,date,income,status,type,partCount\n" +
+                        job.id() + ",\"Smith, John\",\"Toyota \"\"Camry\"\"\",Brake repair,2025-03-10,100.00," +
+                        job.status() + "," + job.type() + ",0\n"));
+    }
+
+    @Test
+    @DisplayName("Test: export rejects an unknown format")
+    void exportJobsRejectsUnknownFormat() throws Exception {
+        mvc.perform(
+                        get(JOBS_URL + "/export")
+                                .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test: job list rejects a sort by a column it does not support")
+    void jobSummariesRejectUnsupportedSort() throws Exception {
+        mvc.perform(
+                        get(JOBS_URL + "/summaries")
+                                .param("sort", "description"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,201 @@
+package com.mechtrack.integration;
+
+import com.mechtrack.AbstractMechtrackTest;
+import com.mechtrack.config.AnalyticsProperties;
+import com.mechtrack.model.dto.JobDto;
+import com.mechtrack.model.entity.Job;
+import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.enums.JobType;
+import com.mechtrack.repository.JobRepository;
+import com.mechtrack.repository.PartRepository;
+import com.mechtrack.service.AnalyticsRollupService;
+import com.mechtrack.service.AnalyticsService;
+import com.mechtrack.service.JobService;
+import com.mechtrack.service.PartService;
+import com.mechtrack.service.analytics.AmountTotals;
+import com.mechtrack.service.analytics.AnalyticsCache;
+import com.mechtrack.service.analytics.BucketSize;
+import com.mechtrack.service.analytics.ColumnarAnalyticsStore;
+import com.mechtrack.service.analytics.ParallelAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static com.mechtrack.provider.PartTestDataProvider.createPartRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+
+@TestPropertySource(properties = {
+    "mechtrack.analytics.columnar.enabled=true",
+    "mechtrack.analytics.parallel.threads=4",
+    "mechtrack.analytics.parallel.min-buckets=2"
+})
+class ColumnarAnalyticsIntegrationTest extends AbstractMechtrackTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 6);
+
+    @Autowired
+    private ColumnarAnalyticsStore columnarStore;
+
+    @SpyBean
+    private JobRepository spiedJobRepository;
+
+    @SpyBean
+    private PartRepository spiedPartRepository;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private PartService partService;
+
+    @BeforeEach
+    void reloadStore() {
+        // The database was cleaned without change events, so the store still holds the previous test's rows
+        analyticsRollupService.rebuild(DAY.minusYears(1), DAY.plusYears(1));
+    }
+
+    @Test
+    @DisplayName("Should reload the store when the rollup is rebuilt after an out-of-band write")
+    void shouldReloadOnRollupRebuild() {
+        jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", DAY, new BigDecimal("100.00")));
+        assertThat(dayIncome()).isEqualByComparingTo("100.00");
+
+        Job outOfBand = new Job();
+        outOfBand.setCustomerName("Customer 2");
+        outOfBand.setDate(DAY);
+        outOfBand.setIncome(new BigDecimal("50.00"));
+        outOfBand.setStatus(JobStatus.DONE);
+        outOfBand.setType(JobType.OIL_CHANGE);
+        jobRepository.save(outOfBand);
+        assertThat(dayIncome()).isEqualByComparingTo("100.00");
+
+        analyticsRollupService.rebuild(DAY, DAY);
+
+        assertThat(columnarStore.isReady()).isTrue();
+        assertThat(columnarStore.rowCount()).isEqualTo(2);
+        assertThat(dayIncome()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    @DisplayName("Should answer series and breakdowns from the columnar store in parallel exactly like the rollup")
+    void shouldMatchRollupWithColumnarAndParallel() {
+        Random random = new Random(42);
+        LocalDate first = LocalDate.of(2023, 1, 1);
+        for (int i = 0; i < 120; i++) {
+            LocalDate date = first.plusDays(random.nextInt(730));
+            JobDto job = jobService.createJob(createJobRequest("Customer " + i, "Car " + i % 7, "Service", date,
+                    BigDecimal.valueOf(random.nextInt(100_000), 2)));
+            if (i % 3 == 0) {
+                partService.addPartToJob(job.id(), createPartRequest("Part " + i,
+                        BigDecimal.valueOf(random.nextInt(20_000), 2), null, date.plusDays(random.nextInt(20))), null);
+            }
+        }
+        LocalDate last = first.plusDays(749);
+
+        AnalyticsService rollupOnly = rollupOnlyAnalyticsService();
+        assertThat(columnarStore.isReady()).isTrue();
+        for (String bucket : List.of("day", "week", "10d", "month", "quarter", "year")) {
+            BucketSize bucketSize = BucketSize.fromCode(bucket);
+            assertThat(analyticsService.getSeries(bucketSize, first, last)).as(bucket)
+                    .isEqualTo(rollupOnly.getSeries(bucketSize, first, last));
+        }
+        assertThat(analyticsService.getJobBreakdown(first, last)).isEqualTo(rollupOnly.getJobBreakdown(first, last));
+        assertThat(analyticsService.getJobBreakdown(YearMonth.from(first)))
+                .isEqualTo(rollupOnly.getJobBreakdown(YearMonth.from(first)));
+    }
+
+    /**
+     * The same service over the same database with the columnar store disabled and a sequential aggregator,
+     * so every answer comes from the daily rollup and the job table
+     */
+    private AnalyticsService rollupOnlyAnalyticsService() {
+        AnalyticsProperties properties = new AnalyticsProperties();
+        properties.getParallel().setThreads(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new AnalyticsService(analyticsDailyRepository, jobRepository, new AnalyticsCache(properties, meterRegistry),
+                new ColumnarAnalyticsStore(properties, null, null, null, meterRegistry), new ParallelAggregator(properties),
+                properties);
+    }
+
+    @Test
+    @DisplayName("Should count a job committed while a reload opens its snapshot exactly once")
+    void shouldCountJobCommittedAtReloadSnapshotOnce() throws Exception {
+        jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", DAY, new BigDecimal("100.00")));
+        List<Future<?>> writes = new ArrayList<>();
+        doAnswer(invocation -> {
+            writes.add(startWrite(() -> jobService.createJob(
+                    createJobRequest("Customer 2", "Car 2", "Service 2", DAY, new BigDecimal("50.00")))));
+            return invocation.callRealMethod();
+        }).when(spiedJobRepository).streamAllSnapshots();
+
+        analyticsRollupService.rebuild(DAY, DAY);
+        writes.getFirst().get(30, TimeUnit.SECONDS);
+
+        assertThat(columnarStore.sum(DAY, DAY)).isEqualTo(new AmountTotals(15000, 2, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should count a part committed between the job and part reads of a reload exactly once")
+    void shouldCountPartCommittedDuringReloadOnce() throws Exception {
+        JobDto job = jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", DAY, new BigDecimal("100.00")));
+        List<Future<?>> writes = new ArrayList<>();
+        doAnswer(invocation -> {
+            writes.add(startWrite(() -> partService.addPartToJob(job.id(),
+                    createPartRequest("Part 1", new BigDecimal("30.00"), null, DAY), null)));
+            return invocation.callRealMethod();
+        }).when(spiedPartRepository).streamAllSnapshots();
+
+        analyticsRollupService.rebuild(DAY, DAY);
+        writes.getFirst().get(30, TimeUnit.SECONDS);
+
+        assertThat(columnarStore.sum(DAY, DAY)).isEqualTo(new AmountTotals(10000, 1, 3000, 1));
+    }
+
+    /**
+     * Start {@code write} on another thread and return once it has committed or is waiting, for the store
+     * or to commit
+     */
+    private Future<?> startWrite(Runnable write) throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicReference<Thread> writer = new AtomicReference<>();
+        Future<?> result = executor.submit(() -> {
+            writer.set(Thread.currentThread());
+            write.run();
+        });
+        executor.shutdown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!result.isDone() && System.nanoTime() < deadline
+                && (writer.get() == null || writer.get().getState() != Thread.State.WAITING)) {
+            Thread.sleep(10);
+        }
+        return result;
+    }
+
+    private BigDecimal dayIncome() {
+        return analyticsService.getSeries(BucketSize.DAY, DAY, DAY).getFirst().totalIncome();
+    }
+}
@@ -0,0 +1,154 @@
+package com.mechtrack.integration;
+
+import com.mechtrack.AbstractMechtrackPostgresTest;
+import com.mechtrack.model.dto.JobSearchCriteria;
+import com.mechtrack.service.JobService;
+import com.mechtrack.service.PartService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on PostgreSQL that the substring filters are planned as trigram index scans.
+ * Loads a few hundred thousand jobs and parts, runs the filters through the services, captures the SQL Hibernate
+ * generates for them and EXPLAINs that SQL with the same parameter.
+ */
+class TrigramIndexIntegrationTest extends AbstractMechtrackPostgresTest {
+
+    private static final int ROWS = 200_000;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private PartService partService;
+
+    @Autowired
+    private CapturedSql capturedSql;
+
+    @BeforeEach
+    void loadData() {
+        // The search vector is not under test and its triggers would dominate the load time
+        jdbcTemplate.execute("ALTER TABLE job DISABLE TRIGGER trg_job_search_vector");
+        jdbcTemplate.execute("ALTER TABLE part DISABLE TRIGGER USER");
+        // One row in ten thousand matches each fragment, as for a real customer, model or part name
+        jdbcTemplate.execute("INSERT INTO job (id, customer_name, car_model, description, date, income) " +
+                "SELECT gen_random_uuid(), 'Customer ' || g, " +
+                "CASE WHEN g % 10000 = 0 THEN 'VW Golf ' ELSE 'Toyota Camry ' END || g, " +
+                "'Routine service', DATE '2020-01-01' + (g % 2000), 100 " +
+                "FROM generate_series(1, " + ROWS + ") g");
+        jdbcTemplate.execute("INSERT INTO part (id, name, cost, purchase_date, job_id) " +
+                "SELECT gen_random_uuid(), CASE WHEN row_number() OVER () % 10000 = 0 THEN 'Brake pad' ELSE 'Oil filter' END, " +
+                "10, j.date, j.id FROM job j");
+        jdbcTemplate.execute("ANALYZE job");
+        jdbcTemplate.execute("ANALYZE part");
+        capturedSql.clear();
+    }
+
+    @AfterEach
+    void dropData() {
+        jdbcTemplate.execute("TRUNCATE part, job");
+        jdbcTemplate.execute("ALTER TABLE job ENABLE TRIGGER trg_job_search_vector");
+        jdbcTemplate.execute("ALTER TABLE part ENABLE TRIGGER USER");
+    }
+
+    @Test
+    @DisplayName("Customer name filter uses the trigram index")
+    void customerNameFilterUsesTrigramIndex() {
+        JobSearchCriteria criteria = new JobSearchCriteria();
+        criteria.setCustomerName("123456");
+        assertThat(jobService.searchJobs(criteria, Pageable.unpaged())).hasSize(1);
+
+        assertThat(explain(capturedSql.single("customer_name) like"), "%123456%"))
+                .contains("idx_job_customer_name_trgm");
+    }
+
+    @Test
+    @DisplayName("Car model filter uses the trigram index")
+    void carModelFilterUsesTrigramIndex() {
+        JobSearchCriteria criteria = new JobSearchCriteria();
+        criteria.setCarModel("golf");
+        assertThat(jobService.searchJobs(criteria, Pageable.unpaged())).hasSize(ROWS / 10_000);
+
+        assertThat(explain(capturedSql.single("car_model) like"), "%GOLF%"))
+                .contains("idx_job_car_model_trgm");
+    }
+
+    @Test
+    @DisplayName("Part name search uses the trigram index")
+    void partNameSearchUsesTrigramIndex() {
+        assertThat(partService.searchParts("pad", null)).hasSize(ROWS / 10_000);
+
+        assertThat(explain(capturedSql.single("name) like"), "%pad%"))
+                .contains("idx_part_name_trgm");
+    }
+
+    @Test
+    @DisplayName("Job search by part name uses the trigram index")
+    void jobPartNameFilterUsesTrigramIndex() {
+        JobSearchCriteria criteria = new JobSearchCriteria();
+        criteria.setPartName("pad");
+        assertThat(jobService.searchJobs(criteria, Pageable.unpaged())).hasSize(ROWS / 10_000);
+
+        assertThat(explain(capturedSql.single("name) like"), "%PAD%"))
+                .contains("idx_part_name_trgm");
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+
+        @Bean
+        CapturedSql capturedSql() {
+            return new CapturedSql();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(CapturedSql capturedSql) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, capturedSql);
+        }
+    }
+
+    /**
+     * Every statement Hibernate prepares, as it sends it to the database
+     */
+    static class CapturedSql implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        /**
+         * The one captured statement containing {@code fragment}
+         */
+        String single(String fragment) {
+            List<String> matching = statements.stream().filter(sql -> sql.contains(fragment)).toList();
+            assertThat(matching).as("statements containing " + fragment).hasSize(1);
+            return matching.getFirst();
+        }
+    }
+}
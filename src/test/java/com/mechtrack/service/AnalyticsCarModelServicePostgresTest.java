@@ -0,0 +1,85 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackPostgresTest;
+import com.mechtrack.model.enums.CarModelMetric;
+import com.mechtrack.repository.AnalyticsMonthlyCarModelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsCarModelServicePostgresTest extends AbstractMechtrackPostgresTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 5);
+    private static final LocalDate DATE = MONTH.atDay(10);
+
+    @Autowired
+    private AnalyticsCarModelService underTest;
+
+    @Autowired
+    private AnalyticsMonthlyCarModelRepository summaryRepository;
+
+    @Autowired
+    private JobService jobService;
+
+    @BeforeEach
+    void createJob() {
+        jobService.createJob(createJobRequest("Customer 1", "Honda Civic", "Service", DATE, new BigDecimal("100.00")));
+    }
+
+    @Test
+    @DisplayName("Should store a month once when two readers summarize it at the same time")
+    void shouldStoreSummaryOnceForConcurrentFirstReads() throws Exception {
+        runInterleaved(
+                () -> underTest.getTopCarModels(MONTH, MONTH, CarModelMetric.JOBS, 5, false),
+                () -> underTest.getTopCarModels(MONTH, MONTH, CarModelMetric.JOBS, 5, false));
+
+        assertThat(summaryRepository.findAll()).hasSize(1);
+        assertThat(hondaJobs()).isEqualByComparingTo("1");
+    }
+
+    @Test
+    @DisplayName("Should drop a summary stored from pre-commit data when the write commits after the reader")
+    void shouldDropSummaryStoredBeforeWriteCommits() throws Exception {
+        try (OpenTransaction write = openTransaction(() -> jobService.createJob(
+                createJobRequest("Customer 2", "Honda Civic", "Service", DATE, new BigDecimal("300.00"))))) {
+            assertThat(hondaJobs()).isEqualByComparingTo("1");
+            assertThat(summaryRepository.existsById(MONTH.atDay(1))).isTrue();
+            write.commit();
+        }
+
+        assertThat(summaryRepository.existsById(MONTH.atDay(1))).isFalse();
+        assertThat(hondaJobs()).isEqualByComparingTo("2");
+    }
+
+    @Test
+    @DisplayName("Should drop a summary built from pre-commit data when the reader commits after the write")
+    void shouldDropSummaryCommittedAfterWrite() throws Exception {
+        try (OpenTransaction write = openTransaction(() -> jobService.createJob(
+                createJobRequest("Customer 2", "Honda Civic", "Service", DATE, new BigDecimal("300.00"))))) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                assertThat(hondaJobs()).isEqualByComparingTo("1");
+                try {
+                    write.commit();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        assertThat(summaryRepository.existsById(MONTH.atDay(1))).isFalse();
+        assertThat(hondaJobs()).isEqualByComparingTo("2");
+    }
+
+    private BigDecimal hondaJobs() {
+        return underTest.getTopCarModels(MONTH, MONTH, CarModelMetric.JOBS, 5, false).models().getFirst().value();
+    }
+}
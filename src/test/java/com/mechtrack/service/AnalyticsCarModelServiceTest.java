@@ -0,0 +1,77 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackTest;
+import com.mechtrack.model.dto.CarModelRankDto;
+import com.mechtrack.model.dto.CarModelRankingDto;
+import com.mechtrack.model.dto.JobDto;
+import com.mechtrack.model.enums.CarModelMetric;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+class AnalyticsCarModelServiceTest extends AbstractMechtrackTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2024, 2);
+
+    @Autowired
+    private AnalyticsCarModelService underTest;
+
+    @Autowired
+    private JobService jobService;
+
+    @Test
+    @DisplayName("Should match the exact ranking when merging monthly summaries")
+    void shouldMatchExactRanking() {
+        createJobs("Toyota Camry", JANUARY.atDay(5), 3, "100.00");
+        createJobs("Honda Civic", JANUARY.atDay(6), 2, "400.00");
+        createJobs("Toyota Camry", FEBRUARY.atDay(5), 1, "100.00");
+        createJobs("Ford Focus", FEBRUARY.atDay(7), 1, "50.00");
+
+        CarModelRankingDto byJobs = underTest.getTopCarModels(JANUARY, FEBRUARY, CarModelMetric.JOBS, 2, false);
+        CarModelRankingDto byRevenue = underTest.getTopCarModels(JANUARY, FEBRUARY, CarModelMetric.REVENUE, 2, false);
+
+        assertThat(byJobs.exact()).isFalse();
+        assertThat(byJobs.models()).extracting(CarModelRankDto::carModel).containsExactly("Toyota Camry", "Honda Civic");
+        assertThat(byJobs.models().getFirst().value()).isEqualByComparingTo("4");
+        assertThat(byRevenue.models()).extracting(CarModelRankDto::carModel).containsExactly("Honda Civic", "Toyota Camry");
+        assertThat(byRevenue.models().getFirst().value()).isEqualByComparingTo("800.00");
+
+        assertThat(underTest.getTopCarModels(JANUARY, FEBRUARY, CarModelMetric.JOBS, 2, true).models())
+                .isEqualTo(byJobs.models());
+        assertThat(underTest.getTopCarModels(JANUARY, FEBRUARY, CarModelMetric.REVENUE, 2, true).models())
+                .isEqualTo(byRevenue.models());
+    }
+
+    @Test
+    @DisplayName("Should patch stored monthly summaries on job writes")
+    void shouldPatchStoredSummariesOnWrites() {
+        JobDto job = jobService.createJob(createJobRequest("Customer", "Honda Civic", "Service", JANUARY.atDay(5), new BigDecimal("100.00")));
+        underTest.getTopCarModels(JANUARY, JANUARY, CarModelMetric.JOBS, 5, false);
+        assertThat(analyticsMonthlyCarModelRepository.findById(JANUARY.atDay(1))).isPresent();
+
+        createJobs("Toyota Camry", JANUARY.atDay(8), 2, "70.00");
+        jobService.updateJob(job.id(), createJobRequest("Customer", "Ford Focus", "Service", JANUARY.atDay(5), new BigDecimal("100.00")));
+
+        assertThat(underTest.getTopCarModels(JANUARY, JANUARY, CarModelMetric.JOBS, 5, false).models())
+                .extracting(CarModelRankDto::carModel).containsExactly("Toyota Camry", "Ford Focus");
+        assertThat(underTest.getTopCarModels(JANUARY, JANUARY, CarModelMetric.REVENUE, 5, false).models())
+                .extracting(CarModelRankDto::value).usingComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .containsExactly(new BigDecimal("140.00"), new BigDecimal("100.00"));
+    }
+
+    private void createJobs(String carModel, LocalDate date, int count, String income) {
+        for (int i = 0; i < count; i++) {
+            jobService.createJob(createJobRequest("Customer " + i, carModel, "Service", date, new BigDecimal(income)));
+        }
+    }
+}
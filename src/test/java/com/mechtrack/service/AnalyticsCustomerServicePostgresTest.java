@@ -0,0 +1,61 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackPostgresTest;
+import com.mechtrack.model.dto.CustomerValueDto;
+import com.mechtrack.model.dto.JobDto;
+import com.mechtrack.model.enums.CustomerRanking;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsCustomerServicePostgresTest extends AbstractMechtrackPostgresTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 3);
+
+    @Autowired
+    private AnalyticsCustomerService underTest;
+
+    @Autowired
+    private JobService jobService;
+
+    @Test
+    @DisplayName("Should count both jobs when two transactions write the first jobs of a customer")
+    void shouldRecomputeNewCustomerConcurrently() throws Exception {
+        runInterleaved(
+                () -> jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", DAY, new BigDecimal("100.00"))),
+                () -> jobService.createJob(createJobRequest("Customer 1", "Car 2", "Service 2", DAY.plusDays(1), new BigDecimal("50.00"))));
+
+        List<CustomerValueDto> customers = customers();
+        assertThat(customers).hasSize(1);
+        assertThat(customers.getFirst().visitCount()).isEqualTo(2);
+        assertThat(customers.getFirst().totalSpend()).isEqualByComparingTo("150.00");
+        assertThat(customers.getFirst().lastVisit()).isEqualTo(DAY.plusDays(1));
+    }
+
+    @Test
+    @DisplayName("Should keep the customer when a new job is written while their last job is being deleted")
+    void shouldRecomputeCustomerDeletedConcurrently() throws Exception {
+        JobDto job = jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", DAY, new BigDecimal("100.00")));
+
+        runInterleaved(
+                () -> jobService.deleteJob(job.id()),
+                () -> jobService.createJob(createJobRequest("Customer 1", "Car 2", "Service 2", DAY.plusDays(1), new BigDecimal("50.00"))));
+
+        List<CustomerValueDto> customers = customers();
+        assertThat(customers).hasSize(1);
+        assertThat(customers.getFirst().visitCount()).isEqualTo(1);
+        assertThat(customers.getFirst().totalSpend()).isEqualByComparingTo("50.00");
+        assertThat(customers.getFirst().firstVisit()).isEqualTo(DAY.plusDays(1));
+    }
+
+    private List<CustomerValueDto> customers() {
+        return underTest.getCustomers(CustomerRanking.SPEND, 0, 10).getContent();
+    }
+}
@@ -0,0 +1,73 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackTest;
+import com.mechtrack.model.dto.CustomerValueDto;
+import com.mechtrack.model.dto.JobDto;
+import com.mechtrack.model.enums.CustomerRanking;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+class AnalyticsCustomerServiceTest extends AbstractMechtrackTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(2024, 1, 10);
+
+    @Autowired
+    private AnalyticsCustomerService underTest;
+
+    @Autowired
+    private JobService jobService;
+
+    @Test
+    @DisplayName("Should rank customers by spend, visits and recency with lifetime totals")
+    void shouldRankCustomersWithLifetimeTotals() {
+        jobService.createJob(createJobRequest("Alice", "Car", "Service", JANUARY, new BigDecimal("100.00")));
+        jobService.createJob(createJobRequest("Alice", "Car", "Service", JANUARY.plusMonths(3), new BigDecimal("50.00")));
+        jobService.createJob(createJobRequest("Alice", "Car", "Service", JANUARY.plusMonths(1), new BigDecimal("25.00")));
+        jobService.createJob(createJobRequest("Bob", "Car", "Service", JANUARY.plusMonths(5), new BigDecimal("400.00")));
+
+        Page<CustomerValueDto> bySpend = underTest.getCustomers(CustomerRanking.SPEND, 0, 10);
+
+        assertThat(bySpend.getTotalElements()).isEqualTo(2);
+        assertThat(bySpend.getContent().get(0).customerName()).isEqualTo("Bob");
+        CustomerValueDto alice = bySpend.getContent().get(1);
+        assertThat(alice.totalSpend()).isEqualByComparingTo("175.00");
+        assertThat(alice.visitCount()).isEqualTo(3);
+        assertThat(alice.firstVisit()).isEqualTo(JANUARY);
+        assertThat(alice.lastVisit()).isEqualTo(JANUARY.plusMonths(3));
+        assertThat(alice.averageTicket()).isEqualByComparingTo("58.33");
+
+        assertThat(underTest.getCustomers(CustomerRanking.VISITS, 0, 10).getContent().getFirst().customerName()).isEqualTo("Alice");
+        assertThat(underTest.getCustomers(CustomerRanking.RECENT, 0, 10).getContent().getFirst().customerName()).isEqualTo("Bob");
+        assertThat(underTest.getCustomers(CustomerRanking.SPEND, 1, 1).getContent())
+                .extracting(CustomerValueDto::customerName).containsExactly("Alice");
+    }
+
+    @Test
+    @DisplayName("Should move totals between customers on rename and drop customers without jobs")
+    void shouldKeepTotalsCurrentOnUpdatesAndDeletes() {
+        JobDto first = jobService.createJob(createJobRequest("Alice", "Car", "Service", JANUARY, new BigDecimal("100.00")));
+        JobDto second = jobService.createJob(createJobRequest("Alice", "Car", "Service", JANUARY.plusDays(5), new BigDecimal("60.00")));
+
+        jobService.updateJob(second.id(), createJobRequest("Carol", "Car", "Service", JANUARY.plusDays(5), new BigDecimal("80.00")));
+
+        assertThat(analyticsCustomerRepository.findById("Alice").orElseThrow().getTotalSpend()).isEqualByComparingTo("100.00");
+        assertThat(analyticsCustomerRepository.findById("Alice").orElseThrow().getLastVisit()).isEqualTo(JANUARY);
+        assertThat(analyticsCustomerRepository.findById("Carol").orElseThrow().getTotalSpend()).isEqualByComparingTo("80.00");
+
+        jobService.deleteJob(first.id());
+
+        assertThat(analyticsCustomerRepository.findById("Alice")).isEmpty();
+        assertThat(underTest.getCustomers(CustomerRanking.SPEND, 0, 10).getContent())
+                .extracting(CustomerValueDto::customerName).containsExactly("Carol");
+    }
+}
@@ -0,0 +1,84 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackPostgresTest;
+import com.mechtrack.repository.AnalyticsMonthlySketchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsDistributionServicePostgresTest extends AbstractMechtrackPostgresTest {
+
+    private static final YearMonth CLOSED_MONTH = YearMonth.of(2024, 5);
+    private static final LocalDate CLOSED_DATE = CLOSED_MONTH.atDay(10);
+
+    @Autowired
+    private AnalyticsDistributionService underTest;
+
+    @Autowired
+    private AnalyticsMonthlySketchRepository sketchRepository;
+
+    @Autowired
+    private JobService jobService;
+
+    @BeforeEach
+    void createClosedMonthJob() {
+        jobService.createJob(createJobRequest("Customer 1", "Car", "Service", CLOSED_DATE, new BigDecimal("100.00")));
+    }
+
+    @Test
+    @DisplayName("Should store a closed month once when two readers sketch it at the same time")
+    void shouldStoreSketchOnceForConcurrentFirstReads() throws Exception {
+        runInterleaved(
+                () -> underTest.getDistribution(CLOSED_MONTH, CLOSED_MONTH),
+                () -> underTest.getDistribution(CLOSED_MONTH, CLOSED_MONTH));
+
+        assertThat(sketchRepository.findAll()).hasSize(1);
+        assertThat(incomeCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop a sketch stored from pre-commit data when the write commits after the reader")
+    void shouldDropSketchStoredBeforeWriteCommits() throws Exception {
+        try (OpenTransaction write = openTransaction(() -> jobService.createJob(
+                createJobRequest("Customer 2", "Car", "Service", CLOSED_DATE, new BigDecimal("300.00"))))) {
+            assertThat(incomeCount()).isEqualTo(1);
+            assertThat(sketchRepository.existsById(CLOSED_MONTH.atDay(1))).isTrue();
+            write.commit();
+        }
+
+        assertThat(sketchRepository.existsById(CLOSED_MONTH.atDay(1))).isFalse();
+        assertThat(incomeCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop a sketch built from pre-commit data when the reader commits after the write")
+    void shouldDropSketchCommittedAfterWrite() throws Exception {
+        try (OpenTransaction write = openTransaction(() -> jobService.createJob(
+                createJobRequest("Customer 2", "Car", "Service", CLOSED_DATE, new BigDecimal("300.00"))))) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                assertThat(incomeCount()).isEqualTo(1);
+                try {
+                    write.commit();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        assertThat(sketchRepository.existsById(CLOSED_MONTH.atDay(1))).isFalse();
+        assertThat(incomeCount()).isEqualTo(2);
+    }
+
+    private long incomeCount() {
+        return underTest.getDistribution(CLOSED_MONTH, CLOSED_MONTH).jobIncome().count();
+    }
+}
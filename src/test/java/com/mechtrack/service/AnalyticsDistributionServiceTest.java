@@ -0,0 +1,77 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackTest;
+import com.mechtrack.model.dto.DistributionDto;
+import com.mechtrack.model.dto.JobDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static com.mechtrack.provider.PartTestDataProvider.createPartRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+@Transactional
+class AnalyticsDistributionServiceTest extends AbstractMechtrackTest {
+
+    @Autowired
+    private AnalyticsDistributionService underTest;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private PartService partService;
+
+    @Test
+    @DisplayName("Should report percentiles per month and merged over the range")
+    void shouldReportPercentilesPerMonthAndMerged() {
+        LocalDate january = LocalDate.of(2024, 1, 10);
+        LocalDate february = LocalDate.of(2024, 2, 10);
+        for (int i = 1; i <= 9; i++) {
+            jobService.createJob(createJobRequest("Customer " + i, "Car", "Service", january, BigDecimal.valueOf(i * 100L)));
+        }
+        JobDto job = jobService.createJob(createJobRequest("Customer 10", "Car", "Service", february, new BigDecimal("5000.00")));
+        partService.addPartToJob(job.id(), createPartRequest("Gearbox", new BigDecimal("800.00"), null, february), null);
+
+        DistributionDto distribution = underTest.getDistribution(YearMonth.of(2024, 1), YearMonth.of(2024, 3));
+
+        assertThat(distribution.months()).hasSize(3);
+        assertThat(distribution.months().get(0).jobIncome().count()).isEqualTo(9);
+        assertThat(distribution.months().get(0).jobIncome().p50().doubleValue()).isCloseTo(500, offset(5.0));
+        assertThat(distribution.months().get(0).partCost().count()).isZero();
+        assertThat(distribution.months().get(0).partCost().p50()).isNull();
+        assertThat(distribution.months().get(1).partCost().p99().doubleValue()).isCloseTo(800, offset(8.0));
+        assertThat(distribution.months().get(2).jobIncome().count()).isZero();
+
+        assertThat(distribution.jobIncome().count()).isEqualTo(10);
+        assertThat(distribution.jobIncome().p99().doubleValue()).isCloseTo(900, offset(9.0));
+    }
+
+    @Test
+    @DisplayName("Should persist sketches of closed months and drop them when a write touches the month")
+    void shouldPersistClosedMonthSketchesAndDropThemOnWrite() {
+        LocalDate closedDate = LocalDate.of(2024, 5, 10);
+        jobService.createJob(createJobRequest("Customer 1", "Car", "Service", closedDate, new BigDecimal("100.00")));
+
+        underTest.getDistribution(YearMonth.of(2024, 4), YearMonth.of(2024, 5));
+        assertThat(analyticsMonthlySketchRepository.findAll()).hasSize(2);
+
+        underTest.getDistribution(YearMonth.now(), YearMonth.now());
+        assertThat(analyticsMonthlySketchRepository.existsById(YearMonth.now().atDay(1))).isFalse();
+
+        jobService.createJob(createJobRequest("Customer 2", "Car", "Service", closedDate, new BigDecimal("300.00")));
+        assertThat(analyticsMonthlySketchRepository.existsById(closedDate.withDayOfMonth(1))).isFalse();
+        assertThat(analyticsMonthlySketchRepository.existsById(LocalDate.of(2024, 4, 1))).isTrue();
+
+        DistributionDto distribution = underTest.getDistribution(YearMonth.of(2024, 5), YearMonth.of(2024, 5));
+        assertThat(distribution.jobIncome().count()).isEqualTo(2);
+        assertThat(analyticsMonthlySketchRepository.existsById(closedDate.withDayOfMonth(1))).isTrue();
+    }
+}
@@ -0,0 +1,69 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackPostgresTest;
+import com.mechtrack.model.dto.DailyAnalyticsDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsRollupServicePostgresTest extends AbstractMechtrackPostgresTest {
+
+    @Autowired
+    private AnalyticsRollupService underTest;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Test
+    @DisplayName("Should count both jobs when two transactions write the first jobs of a day")
+    void shouldUpsertFirstRowOfDayConcurrently() throws Exception {
+        LocalDate day = LocalDate.of(2024, 6, 3);
+
+        runInterleaved(
+                () -> jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", day, new BigDecimal("100.00"))),
+                () -> jobService.createJob(createJobRequest("Customer 2", "Car 2", "Service 2", day, new BigDecimal("50.00"))));
+
+        DailyAnalyticsDto analytics = analyticsService.getDailyAnalytics(day);
+        assertThat(analytics.jobCount()).isEqualTo(2);
+        assertThat(analytics.totalIncome()).isEqualByComparingTo("150.00");
+        assertThat(underTest.findDiscrepancies(day, day)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rebuild after a write that is open when the rebuild starts commits, including it once")
+    void shouldWaitForOpenWriteBeforeRebuilding() throws Exception {
+        LocalDate day = LocalDate.of(2024, 6, 3);
+
+        runInterleaved(
+                () -> jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", day, new BigDecimal("100.00"))),
+                () -> underTest.rebuild(day.minusDays(1), day.plusDays(1)));
+
+        assertThat(analyticsService.getDailyAnalytics(day).jobCount()).isEqualTo(1);
+        assertThat(underTest.findDiscrepancies(day.minusDays(1), day.plusDays(1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply a write made during a rebuild on top of it once the rebuild commits")
+    void shouldApplyWriteDuringRebuildAfterIt() throws Exception {
+        LocalDate day = LocalDate.of(2024, 6, 3);
+        jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", day, new BigDecimal("100.00")));
+
+        runInterleaved(
+                () -> underTest.rebuild(day.minusDays(1), day.plusDays(1)),
+                () -> jobService.createJob(createJobRequest("Customer 2", "Car 2", "Service 2", day, new BigDecimal("50.00"))));
+
+        DailyAnalyticsDto analytics = analyticsService.getDailyAnalytics(day);
+        assertThat(analytics.jobCount()).isEqualTo(2);
+        assertThat(analytics.totalIncome()).isEqualByComparingTo("150.00");
+        assertThat(underTest.findDiscrepancies(day.minusDays(1), day.plusDays(1))).isEmpty();
+    }
+}
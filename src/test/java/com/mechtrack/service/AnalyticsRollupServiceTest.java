@@ -0,0 +1,103 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackTest;
+import com.mechtrack.model.dto.DailyAnalyticsDto;
+import com.mechtrack.model.dto.RollupDiscrepancyDto;
+import com.mechtrack.model.enums.JobStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static com.mechtrack.provider.PartTestDataProvider.createPartRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+class AnalyticsRollupServiceTest extends AbstractMechtrackTest {
+
+    private static final LocalDate RANGE_START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate RANGE_END = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private AnalyticsRollupService underTest;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private PartService partService;
+
+    @Test
+    @DisplayName("Should keep rollup consistent across job and part writes")
+    void shouldKeepRollupConsistentAcrossWrites() {
+        LocalDate day = LocalDate.of(2024, 3, 10);
+        var job = jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", day, new BigDecimal("250.00")));
+        var part = partService.addPartToJob(job.id(), createPartRequest("Brake Pads", new BigDecimal("90.00"), null, day), null);
+
+        assertThat(analyticsService.getDailyAnalytics(day))
+                .extracting(DailyAnalyticsDto::jobCount, DailyAnalyticsDto::partCount)
+                .containsExactly(1, 1);
+
+        // Move the job to another day and change its income
+        LocalDate movedDay = LocalDate.of(2024, 4, 2);
+        jobService.updateJob(job.id(), createJobRequest("Customer 1", "Car 1", "Service 1", movedDay, new BigDecimal("300.00")));
+        jobService.updateJobStatus(job.id(), JobStatus.DONE);
+
+        // Change the part cost on the same day
+        partService.updatePart(part.id(), createPartRequest("Brake Pads", new BigDecimal("95.50"), null, day));
+
+        DailyAnalyticsDto original = analyticsService.getDailyAnalytics(day);
+        assertThat(original.jobCount()).isEqualTo(0);
+        assertThat(original.totalIncome()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(original.totalExpenses()).isEqualByComparingTo("95.50");
+
+        DailyAnalyticsDto moved = analyticsService.getDailyAnalytics(movedDay);
+        assertThat(moved.jobCount()).isEqualTo(1);
+        assertThat(moved.totalIncome()).isEqualByComparingTo("300.00");
+
+        assertThat(underTest.findDiscrepancies(RANGE_START, RANGE_END)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should remove cascaded parts from rollup when job is deleted")
+    void shouldRemoveCascadedPartsWhenJobIsDeleted() {
+        LocalDate day = LocalDate.of(2024, 5, 5);
+        var job = jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", day, new BigDecimal("100.00")));
+        partService.addPartToJob(job.id(), createPartRequest("Oil Filter", new BigDecimal("20.00"), null, day.minusDays(1)), null);
+
+        jobService.deleteJob(job.id());
+
+        assertThat(analyticsService.getDailyAnalytics(day).jobCount()).isEqualTo(0);
+        assertThat(analyticsService.getDailyAnalytics(day.minusDays(1)).partCount()).isEqualTo(0);
+        assertThat(underTest.findDiscrepancies(RANGE_START, RANGE_END)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report and repair days that drifted from raw data")
+    void shouldReportAndRepairDrift() {
+        LocalDate day = LocalDate.of(2024, 7, 1);
+        jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", day, new BigDecimal("400.00")));
+
+        // Simulate an out-of-band write that bypassed the services
+        analyticsDailyRepository.deleteAllInBatch();
+
+        List<RollupDiscrepancyDto> discrepancies = underTest.findDiscrepancies(RANGE_START, RANGE_END);
+
+        assertThat(discrepancies).hasSize(1);
+        assertThat(discrepancies.getFirst().date()).isEqualTo(day);
+        assertThat(discrepancies.getFirst().expected().totalIncome()).isEqualByComparingTo("400.00");
+        assertThat(discrepancies.getFirst().actual().jobCount()).isEqualTo(0);
+
+        assertThat(underTest.rebuild(RANGE_START, RANGE_END)).isEqualTo(1);
+        assertThat(underTest.findDiscrepancies(RANGE_START, RANGE_END)).isEmpty();
+        assertThat(analyticsService.getDailyAnalytics(day).totalIncome()).isEqualByComparingTo("400.00");
+    }
+}
@@ -0,0 +1,81 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackPostgresTest;
+import com.mechtrack.model.dto.AnalyticsBucketDto;
+import com.mechtrack.model.dto.JobProfitabilityDto;
+import com.mechtrack.service.analytics.BucketSize;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static com.mechtrack.provider.PartTestDataProvider.createPartRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsServicePostgresTest extends AbstractMechtrackPostgresTest {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private PartService partService;
+
+    @Test
+    @DisplayName("Should bucket the series by week, N days, month and quarter on PostgreSQL")
+    void shouldBucketSeriesBySize() {
+        // 2025-09-03 is a Wednesday
+        LocalDate startDate = LocalDate.of(2025, 9, 3);
+        LocalDate endDate = LocalDate.of(2025, 10, 15);
+
+        var job = jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", startDate, new BigDecimal("100.00")));
+        jobService.createJob(createJobRequest("Customer 2", "Car 2", "Service 2", LocalDate.of(2025, 9, 7), new BigDecimal("50.00")));
+        jobService.createJob(createJobRequest("Customer 3", "Car 3", "Service 3", LocalDate.of(2025, 9, 8), new BigDecimal("200.00")));
+        jobService.createJob(createJobRequest("Customer 4", "Car 4", "Service 4", endDate, new BigDecimal("300.00")));
+        jobService.createJob(createJobRequest("Customer 5", "Car 5", "Service 5", endDate.plusDays(1), new BigDecimal("999.00")));
+        partService.addPartToJob(job.id(), createPartRequest("Brake Pads", new BigDecimal("40.00"), null, LocalDate.of(2025, 9, 30)), null);
+
+        List<AnalyticsBucketDto> weeks = analyticsService.getSeries(BucketSize.WEEK, startDate, endDate);
+        assertThat(weeks).extracting(AnalyticsBucketDto::start).containsExactly(startDate, LocalDate.of(2025, 9, 8),
+                LocalDate.of(2025, 9, 15), LocalDate.of(2025, 9, 22), LocalDate.of(2025, 9, 29), LocalDate.of(2025, 10, 6),
+                LocalDate.of(2025, 10, 13));
+        assertThat(weeks).extracting(bucket -> bucket.totalIncome().intValue()).containsExactly(150, 200, 0, 0, 0, 0, 300);
+        assertThat(weeks).extracting(AnalyticsBucketDto::jobCount).containsExactly(2, 1, 0, 0, 0, 0, 1);
+        assertThat(weeks.get(4).totalExpenses()).isEqualByComparingTo("40.00");
+
+        // 2025-09-03 is day 20334 after the epoch, so ten-day buckets start on days 20340, 20350, ...
+        List<AnalyticsBucketDto> tenDays = analyticsService.getSeries(BucketSize.fromCode("10d"), startDate, endDate);
+        assertThat(tenDays).extracting(AnalyticsBucketDto::start).containsExactly(startDate, LocalDate.of(2025, 9, 9),
+                LocalDate.of(2025, 9, 19), LocalDate.of(2025, 9, 29), LocalDate.of(2025, 10, 9));
+        assertThat(tenDays).extracting(bucket -> bucket.totalIncome().intValue()).containsExactly(350, 0, 0, 0, 300);
+
+        List<AnalyticsBucketDto> months = analyticsService.getSeries(BucketSize.MONTH, startDate, endDate);
+        assertThat(months).extracting(bucket -> bucket.totalIncome().intValue()).containsExactly(350, 300);
+        assertThat(months).extracting(bucket -> bucket.netProfit().intValue()).containsExactly(310, 300);
+
+        List<AnalyticsBucketDto> quarters = analyticsService.getSeries(BucketSize.QUARTER, startDate, endDate);
+        assertThat(quarters).extracting(AnalyticsBucketDto::start).containsExactly(startDate, LocalDate.of(2025, 10, 1));
+        assertThat(quarters).extracting(AnalyticsBucketDto::jobCount).containsExactly(3, 1);
+    }
+
+    @Test
+    @DisplayName("Should order job profitability by the aggregated profit in either direction on PostgreSQL")
+    void shouldRankJobsByProfitability() {
+        LocalDate day = LocalDate.of(2025, 9, 3);
+        var cheap = jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", day, new BigDecimal("100.00")));
+        var costly = jobService.createJob(createJobRequest("Customer 2", "Car 2", "Service 2", day, new BigDecimal("300.00")));
+        jobService.createJob(createJobRequest("Customer 3", "Car 3", "Service 3", day, new BigDecimal("150.00")));
+        partService.addPartToJob(costly.id(), createPartRequest("Engine", new BigDecimal("280.00"), null, day), null);
+
+        assertThat(analyticsService.getJobProfitability(day, day, true, 0, 10).getContent())
+                .extracting(row -> row.profit().intValue()).containsExactly(150, 100, 20);
+        assertThat(analyticsService.getJobProfitability(day, day, false, 0, 2).getContent())
+                .extracting(JobProfitabilityDto::jobId).containsExactly(costly.id(), cheap.id());
+    }
+}
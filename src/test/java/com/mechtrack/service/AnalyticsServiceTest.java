@@ -1,32 +1,56 @@
 package com.mechtrack.service;
 
 import com.mechtrack.AbstractMechtrackTest;
+import com.mechtrack.model.dto.AnalyticsBucketDto;
+import com.mechtrack.model.dto.AnalyticsComparisonDto;
+import com.mechtrack.model.dto.AnalyticsTrendDto;
+import com.mechtrack.model.dto.CreateJobRequest;
 import com.mechtrack.model.dto.DailyAnalyticsDto;
+import com.mechtrack.model.dto.DashboardDto;
+import com.mechtrack.model.dto.JobBreakdownDto;
+import com.mechtrack.model.dto.JobDto;
+import com.mechtrack.model.dto.JobProfitabilityDto;
+import com.mechtrack.model.dto.JobTypeBreakdownDto;
 import com.mechtrack.model.dto.MonthlyAnalyticsDto;
+import com.mechtrack.model.enums.ComparisonPeriod;
+import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.enums.JobType;
 import com.mechtrack.model.enums.TimeInterval;
+import com.mechtrack.service.analytics.BucketSize;
+import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static com.mechtrack.provider.PartTestDataProvider.createPartRequest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @Transactional
 class AnalyticsServiceTest extends AbstractMechtrackTest {
 
+    private static final RecursiveComparisonConfiguration AMOUNTS_BY_VALUE = RecursiveComparisonConfiguration.builder()
+            .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+            .build();
+
     @Autowired
     private AnalyticsService analyticsService;
 
     @Autowired
     private JobService jobService;
 
+    @Autowired
+    private PartService partService;
+
     @Test
     @DisplayName("Should calculate monthly analytics correctly")
     void shouldCalculateMonthlyAnalyticsCorrectly() {
@@ -287,6 +311,292 @@ class AnalyticsServiceTest extends AbstractMechtrackTest {
         assertThat(analytics.netProfit()).isEqualByComparingTo("600.00");
     }
 
+    @Test
+    @DisplayName("Should aggregate part expenses per day and month")
+    void shouldAggregatePartExpensesPerDayAndMonth() {
+        LocalDate jobDate = LocalDate.of(2024, 5, 10);
+        LocalDate purchaseDate = LocalDate.of(2024, 5, 8);
+        
+        var job = jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", jobDate, new BigDecimal("500.00")));
+        partService.addPartToJob(job.id(), createPartRequest("Brake Pads", new BigDecimal("120.00"), null, purchaseDate), null);
+        partService.addPartToJob(job.id(), createPartRequest("Brake Discs", new BigDecimal("80.50"), null, purchaseDate), null);
+        partService.addPartToJob(job.id(), createPartRequest("Oil Filter", new BigDecimal("15.00"), null, LocalDate.of(2024, 6, 2)), null);
+
+        DailyAnalyticsDto purchaseDay = analyticsService.getDailyAnalytics(purchaseDate);
+        assertThat(purchaseDay.partCount()).isEqualTo(2);
+        assertThat(purchaseDay.totalExpenses()).isEqualByComparingTo("200.50");
+        assertThat(purchaseDay.netProfit()).isEqualByComparingTo("-200.50");
+
+        List<MonthlyAnalyticsDto> analytics = analyticsService.getMonthlyAnalytics(YearMonth.of(2024, 5), YearMonth.of(2024, 6));
+
+        assertThat(analytics).hasSize(2);
+        assertThat(analytics.get(0).jobCount()).isEqualTo(1);
+        assertThat(analytics.get(0).partCount()).isEqualTo(2);
+        assertThat(analytics.get(0).totalIncome()).isEqualByComparingTo("500.00");
+        assertThat(analytics.get(0).totalExpenses()).isEqualByComparingTo("200.50");
+        assertThat(analytics.get(0).netProfit()).isEqualByComparingTo("299.50");
+        assertThat(analytics.get(1).jobCount()).isEqualTo(0);
+        assertThat(analytics.get(1).partCount()).isEqualTo(1);
+        assertThat(analytics.get(1).totalExpenses()).isEqualByComparingTo("15.00");
+    }
+
+    @Test
+    @DisplayName("Should refresh cached buckets when a write touches their date")
+    void shouldRefreshCachedBucketsAfterWrite() {
+        LocalDate testDate = LocalDate.of(2024, 9, 12);
+        YearMonth september = YearMonth.of(2024, 9);
+        
+        var job = jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", testDate, new BigDecimal("100.00")));
+        
+        assertThat(analyticsService.getMonthlyAnalytics(september).totalIncome()).isEqualByComparingTo("100.00");
+        assertThat(analyticsService.getDailyAnalytics(testDate).totalIncome()).isEqualByComparingTo("100.00");
+        
+        jobService.updateJob(job.id(), createJobRequest("Customer 1", "Car 1", "Service 1", testDate, new BigDecimal("175.00")));
+        
+        assertThat(analyticsService.getMonthlyAnalytics(september).totalIncome()).isEqualByComparingTo("175.00");
+        assertThat(analyticsService.getDailyAnalytics(testDate).totalIncome()).isEqualByComparingTo("175.00");
+        
+        jobService.deleteJob(job.id());
+        
+        assertThat(analyticsService.getMonthlyAnalytics(september).jobCount()).isEqualTo(0);
+        assertThat(analyticsService.getDailyAnalytics(testDate).jobCount()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Should break down income and job counts by type and status")
+    void shouldBreakDownIncomeByTypeAndStatus() {
+        YearMonth september = YearMonth.of(2025, 9);
+        LocalDate testDate = september.atDay(10);
+        
+        CreateJobRequest oilChange = createJobRequest("Customer 1", "Car 1", "Service 1", testDate, new BigDecimal("100.00"));
+        oilChange.setType(JobType.OIL_CHANGE);
+        JobDto doneOilChange = jobService.createJob(oilChange);
+        jobService.updateJobStatus(doneOilChange.id(), JobStatus.DONE);
+        
+        oilChange = createJobRequest("Customer 2", "Car 2", "Service 2", testDate, new BigDecimal("50.00"));
+        oilChange.setType(JobType.OIL_CHANGE);
+        jobService.createJob(oilChange);
+        
+        jobService.createJob(createJobRequest("Customer 3", "Car 3", "Service 3", testDate.plusDays(5), new BigDecimal("200.00")));
+        jobService.createJob(createJobRequest("Customer 4", "Car 4", "Service 4", testDate.plusMonths(1), new BigDecimal("400.00")));
+        
+        JobBreakdownDto breakdown = analyticsService.getJobBreakdown(september);
+        
+        assertThat(breakdown.totalIncome()).isEqualByComparingTo(new BigDecimal("350.00"));
+        assertThat(breakdown.jobCount()).isEqualTo(3);
+        assertThat(breakdown.byType()).hasSize(JobType.values().length);
+        assertThat(breakdown.byStatus())
+                .containsEntry(JobStatus.WAITING, 2)
+                .containsEntry(JobStatus.IN_PROGRESS, 0)
+                .containsEntry(JobStatus.DONE, 1);
+        
+        JobTypeBreakdownDto oilChanges = breakdown.byType().stream()
+                .filter(entry -> entry.type() == JobType.OIL_CHANGE)
+                .findFirst()
+                .orElseThrow();
+        assertThat(oilChanges.totalIncome()).isEqualByComparingTo(new BigDecimal("150.00"));
+        assertThat(oilChanges.jobCount()).isEqualTo(2);
+        assertThat(oilChanges.averageTicket()).isEqualByComparingTo(new BigDecimal("75.00"));
+        
+        JobTypeBreakdownDto bodywork = breakdown.byType().stream()
+                .filter(entry -> entry.type() == JobType.BODYWORK)
+                .findFirst()
+                .orElseThrow();
+        assertThat(bodywork.jobCount()).isEqualTo(0);
+        assertThat(bodywork.averageTicket()).isEqualByComparingTo(BigDecimal.ZERO);
+        
+        JobBreakdownDto range = analyticsService.getJobBreakdown(testDate, testDate.plusMonths(1));
+        assertThat(range.totalIncome()).isEqualByComparingTo(new BigDecimal("750.00"));
+        assertThat(range.jobCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should stream daily analytics in chunks matching the list result")
+    void shouldStreamDailyAnalyticsInChunks() {
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 12, 31);
+        
+        jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", startDate, new BigDecimal("100.00")));
+        jobService.createJob(createJobRequest("Customer 2", "Car 2", "Service 2", LocalDate.of(2024, 6, 15), new BigDecimal("200.00")));
+        jobService.createJob(createJobRequest("Customer 3", "Car 3", "Service 3", endDate, new BigDecimal("300.00")));
+        
+        List<List<DailyAnalyticsDto>> chunks = new ArrayList<>();
+        analyticsService.streamDailyAnalytics(startDate, endDate, chunks::add);
+        
+        assertThat(chunks).hasSizeGreaterThan(1);
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk).hasSizeLessThanOrEqualTo(92));
+        
+        List<DailyAnalyticsDto> streamed = chunks.stream().flatMap(List::stream).toList();
+        assertThat(streamed).hasSize(366);
+        assertThat(streamed).isEqualTo(analyticsService.getDailyAnalytics(startDate, endDate));
+    }
+
+    @Test
+    @DisplayName("Should bucket the series by week, quarter and N days with clipped edges")
+    void shouldBucketSeriesBySize() {
+        // 2025-09-03 is a Wednesday
+        LocalDate startDate = LocalDate.of(2025, 9, 3);
+        LocalDate endDate = LocalDate.of(2025, 10, 15);
+        
+        jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", startDate, new BigDecimal("100.00")));
+        jobService.createJob(createJobRequest("Customer 2", "Car 2", "Service 2", LocalDate.of(2025, 9, 7), new BigDecimal("50.00")));
+        jobService.createJob(createJobRequest("Customer 3", "Car 3", "Service 3", LocalDate.of(2025, 9, 8), new BigDecimal("200.00")));
+        jobService.createJob(createJobRequest("Customer 4", "Car 4", "Service 4", endDate, new BigDecimal("300.00")));
+        jobService.createJob(createJobRequest("Customer 5", "Car 5", "Service 5", endDate.plusDays(1), new BigDecimal("999.00")));
+        
+        List<AnalyticsBucketDto> weeks = analyticsService.getSeries(BucketSize.WEEK, startDate, endDate);
+        assertThat(weeks.getFirst().start()).isEqualTo(startDate);
+        assertThat(weeks.getFirst().end()).isEqualTo(LocalDate.of(2025, 9, 7));
+        assertThat(weeks.getFirst().totalIncome()).isEqualByComparingTo(new BigDecimal("150.00"));
+        assertThat(weeks.getFirst().jobCount()).isEqualTo(2);
+        assertThat(weeks.get(1).start()).isEqualTo(LocalDate.of(2025, 9, 8));
+        assertThat(weeks.get(1).totalIncome()).isEqualByComparingTo(new BigDecimal("200.00"));
+        assertThat(weeks.getLast().end()).isEqualTo(endDate);
+        assertThat(weeks.getLast().totalIncome()).isEqualByComparingTo(new BigDecimal("300.00"));
+        
+        List<AnalyticsBucketDto> quarters = analyticsService.getSeries(BucketSize.QUARTER, startDate, endDate);
+        assertThat(quarters).hasSize(2);
+        assertThat(quarters.get(0).totalIncome()).isEqualByComparingTo(new BigDecimal("350.00"));
+        assertThat(quarters.get(1).start()).isEqualTo(LocalDate.of(2025, 10, 1));
+        assertThat(quarters.get(1).totalIncome()).isEqualByComparingTo(new BigDecimal("300.00"));
+        
+        List<AnalyticsBucketDto> tenDays = analyticsService.getSeries(BucketSize.fromCode("10d"), startDate, endDate);
+        assertThat(tenDays.stream().map(AnalyticsBucketDto::totalIncome).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo(new BigDecimal("650.00"));
+        assertThat(tenDays).allSatisfy(bucket ->
+                assertThat(bucket.end()).isBeforeOrEqualTo(bucket.start().plusDays(9)));
+    }
+
+    @Test
+    @DisplayName("Should compute moving averages with lookback and reset the year-to-date total each year")
+    void shouldComputeMovingAveragesAndYearToDate() {
+        jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", LocalDate.of(2024, 12, 30), new BigDecimal("70.00")));
+        jobService.createJob(createJobRequest("Customer 2", "Car 2", "Service 2", LocalDate.of(2025, 1, 1), new BigDecimal("30.00")));
+        jobService.createJob(createJobRequest("Customer 3", "Car 3", "Service 3", LocalDate.of(2025, 1, 2), new BigDecimal("20.00")));
+        
+        List<AnalyticsTrendDto> trend = analyticsService.getTrend(
+                BucketSize.DAY, LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 3), List.of(3, 1));
+        
+        assertThat(trend).extracting(AnalyticsTrendDto::start).containsExactly(
+                LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 3));
+        
+        // The three-day window on Dec 31 reaches back to the Dec 30 job outside the requested range
+        assertThat(trend.get(0).movingAverages().get(3)).isEqualByComparingTo(new BigDecimal("23.33"));
+        assertThat(trend.get(1).movingAverages().get(3)).isEqualByComparingTo(new BigDecimal("33.33"));
+        assertThat(trend.get(2).movingAverages().get(3)).isEqualByComparingTo(new BigDecimal("16.67"));
+        assertThat(trend.get(3).movingAverages().get(3)).isEqualByComparingTo(new BigDecimal("16.67"));
+        assertThat(trend.get(2).movingAverages().get(1)).isEqualByComparingTo(new BigDecimal("20.00"));
+        
+        assertThat(trend.get(0).yearToDateNetProfit()).isEqualByComparingTo(new BigDecimal("70.00"));
+        assertThat(trend.get(1).yearToDateNetProfit()).isEqualByComparingTo(new BigDecimal("30.00"));
+        assertThat(trend.get(3).yearToDateNetProfit()).isEqualByComparingTo(new BigDecimal("50.00"));
+    }
+
+    @Test
+    @DisplayName("Should start the year-to-date total on January 1 within a week across New Year")
+    void shouldSplitYearToDateInWeekAcrossNewYear() {
+        // The ISO week of 2026-01-01 runs from Monday 2025-12-29 to Sunday 2026-01-04
+        jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", LocalDate.of(2025, 12, 22), new BigDecimal("40.00")));
+        jobService.createJob(createJobRequest("Customer 2", "Car 2", "Service 2", LocalDate.of(2025, 12, 30), new BigDecimal("70.00")));
+        jobService.createJob(createJobRequest("Customer 3", "Car 3", "Service 3", LocalDate.of(2026, 1, 2), new BigDecimal("30.00")));
+        jobService.createJob(createJobRequest("Customer 4", "Car 4", "Service 4", LocalDate.of(2026, 1, 6), new BigDecimal("20.00")));
+
+        List<AnalyticsTrendDto> trend = analyticsService.getTrend(
+                BucketSize.WEEK, LocalDate.of(2025, 12, 22), LocalDate.of(2026, 1, 11), List.of(1));
+
+        assertThat(trend).extracting(AnalyticsTrendDto::start).containsExactly(
+                LocalDate.of(2025, 12, 22), LocalDate.of(2025, 12, 29), LocalDate.of(2026, 1, 5));
+        assertThat(trend.get(1).netProfit()).isEqualByComparingTo(new BigDecimal("100.00"));
+        assertThat(trend.get(0).yearToDateNetProfit()).isEqualByComparingTo(new BigDecimal("40.00"));
+        assertThat(trend.get(1).yearToDateNetProfit()).isEqualByComparingTo(new BigDecimal("30.00"));
+        assertThat(trend.get(2).yearToDateNetProfit()).isEqualByComparingTo(new BigDecimal("50.00"));
+    }
+
+    @Test
+    @DisplayName("Should rank jobs by income minus part cost with paging")
+    void shouldRankJobsByProfitability() {
+        LocalDate testDate = LocalDate.of(2025, 9, 10);
+        
+        JobDto expensiveParts = jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", testDate, new BigDecimal("500.00")));
+        partService.addPartToJob(expensiveParts.id(), createPartRequest("Gearbox", new BigDecimal("400.00"), null, testDate), null);
+        partService.addPartToJob(expensiveParts.id(), createPartRequest("Seal", new BigDecimal("50.00"), null, testDate), null);
+        JobDto noParts = jobService.createJob(createJobRequest("Customer 2", "Car 2", "Service 2", testDate, new BigDecimal("200.00")));
+        JobDto loss = jobService.createJob(createJobRequest("Customer 3", "Car 3", "Service 3", testDate, new BigDecimal("10.00")));
+        partService.addPartToJob(loss.id(), createPartRequest("Battery", new BigDecimal("90.00"), null, testDate), null);
+        jobService.createJob(createJobRequest("Customer 4", "Car 4", "Service 4", testDate.plusMonths(1), new BigDecimal("900.00")));
+        
+        Page<JobProfitabilityDto> most = analyticsService.getJobProfitability(testDate, testDate, true, 0, 2);
+        
+        assertThat(most.getTotalElements()).isEqualTo(3);
+        assertThat(most.getContent()).extracting(JobProfitabilityDto::jobId).containsExactly(noParts.id(), expensiveParts.id());
+        assertThat(most.getContent().get(1).partsCost()).isEqualByComparingTo(new BigDecimal("450.00"));
+        assertThat(most.getContent().get(1).profit()).isEqualByComparingTo(new BigDecimal("50.00"));
+        assertThat(most.getContent().get(1).partCount()).isEqualTo(2);
+        assertThat(most.getContent().get(0).partCount()).isEqualTo(0);
+        
+        Page<JobProfitabilityDto> least = analyticsService.getJobProfitability(testDate, testDate, false, 0, 10);
+        
+        assertThat(least.getContent()).extracting(JobProfitabilityDto::jobId)
+                .containsExactly(loss.id(), expensiveParts.id(), noParts.id());
+        assertThat(least.getContent().getFirst().profit()).isEqualByComparingTo(new BigDecimal("-80.00"));
+    }
+
+    @Test
+    @DisplayName("Should compare a period with last year and with the previous period")
+    void shouldComparePeriods() {
+        jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", LocalDate.of(2025, 9, 10), new BigDecimal("300.00")));
+        jobService.createJob(createJobRequest("Customer 2", "Car 2", "Service 2", LocalDate.of(2025, 10, 5), new BigDecimal("150.00")));
+        jobService.createJob(createJobRequest("Customer 3", "Car 3", "Service 3", LocalDate.of(2024, 9, 12), new BigDecimal("200.00")));
+        jobService.createJob(createJobRequest("Customer 4", "Car 4", "Service 4", LocalDate.of(2024, 9, 12), new BigDecimal("200.00")));
+        
+        LocalDate startDate = LocalDate.of(2025, 9, 1);
+        LocalDate endDate = LocalDate.of(2025, 10, 15);
+        
+        AnalyticsComparisonDto yearOverYear = analyticsService.compare(startDate, endDate, ComparisonPeriod.PREVIOUS_YEAR);
+        
+        assertThat(yearOverYear.current().totalIncome()).isEqualByComparingTo(new BigDecimal("450.00"));
+        assertThat(yearOverYear.baseline().start()).isEqualTo(LocalDate.of(2024, 9, 1));
+        assertThat(yearOverYear.baseline().end()).isEqualTo(LocalDate.of(2024, 10, 15));
+        assertThat(yearOverYear.baseline().totalIncome()).isEqualByComparingTo(new BigDecimal("400.00"));
+        assertThat(yearOverYear.totalIncome().absolute()).isEqualByComparingTo(new BigDecimal("50.00"));
+        assertThat(yearOverYear.totalIncome().percent()).isEqualByComparingTo(new BigDecimal("12.50"));
+        assertThat(yearOverYear.jobCount().absolute()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(yearOverYear.totalExpenses().percent()).isNull();
+        
+        AnalyticsComparisonDto periodOverPeriod = analyticsService.compare(startDate, endDate, ComparisonPeriod.PREVIOUS_PERIOD);
+        
+        assertThat(periodOverPeriod.baseline().start()).isEqualTo(LocalDate.of(2025, 7, 18));
+        assertThat(periodOverPeriod.baseline().end()).isEqualTo(LocalDate.of(2025, 8, 31));
+        assertThat(periodOverPeriod.baseline().jobCount()).isZero();
+        assertThat(periodOverPeriod.totalIncome().percent()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should build every dashboard view equal to its standalone result")
+    void shouldBuildDashboardEqualToStandaloneViews() {
+        LocalDate today = LocalDate.now();
+        JobDto job = jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", today, new BigDecimal("120.00")));
+        jobService.createJob(createJobRequest("Customer 2", "Car 2", "Service 2", today.minusDays(20), new BigDecimal("80.00")));
+        jobService.createJob(createJobRequest("Customer 3", "Car 3", "Service 3", today.minusMonths(5), new BigDecimal("300.00")));
+        jobService.createJob(createJobRequest("Customer 4", "Car 4", "Service 4", today.minusMonths(13), new BigDecimal("999.00")));
+        partService.addPartToJob(job.id(), createPartRequest("Filter", new BigDecimal("15.50"), null, today.minusDays(3)), null);
+
+        DashboardDto dashboard = analyticsService.getDashboard();
+
+        assertThat(dashboard.monthly()).hasSize(12);
+        assertThat(dashboard.monthly()).usingRecursiveFieldByFieldElementComparator(AMOUNTS_BY_VALUE)
+                .isEqualTo(analyticsService.getMonthlyAnalytics(12));
+        assertThat(dashboard.lastSevenDays()).usingRecursiveFieldByFieldElementComparator(AMOUNTS_BY_VALUE)
+                .isEqualTo(analyticsService.getDailyAnalytics(TimeInterval.SEVEN_DAYS));
+        assertThat(dashboard.lastMonth()).usingRecursiveFieldByFieldElementComparator(AMOUNTS_BY_VALUE)
+                .isEqualTo(analyticsService.getDailyAnalytics(TimeInterval.ONE_MONTH));
+        assertThat(dashboard.summary().month()).isEqualTo(YearMonth.now());
+        assertThat(dashboard.summary().totalIncome()).isEqualByComparingTo("500.00");
+        assertThat(dashboard.summary().netProfit()).isEqualByComparingTo("484.50");
+        assertThat(dashboard.summary().jobCount()).isEqualTo(3);
+        assertThat(dashboard.summary().partCount()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("Should validate TimeInterval enum fromCode method")
     void shouldValidateTimeIntervalEnumFromCodeMethod() {
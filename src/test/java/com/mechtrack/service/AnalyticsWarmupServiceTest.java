@@ -0,0 +1,69 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackTest;
+import com.mechtrack.model.enums.TimeInterval;
+import com.mechtrack.model.event.AnalyticsRollupRebuiltEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Open-month buckets would expire before they are read again, unless the warm-up exempts them
+@TestPropertySource(properties = {
+    "mechtrack.analytics.cache.open-bucket-ttl=1ms"
+})
+@Transactional
+class AnalyticsWarmupServiceTest extends AbstractMechtrackTest {
+
+    @Autowired
+    private AnalyticsWarmupService underTest;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should serve the summary, dashboard and standard daily windows from the cache after a warm-up")
+    void shouldServeStandardWindowsFromCacheAfterWarmUp() {
+        long warmUps = meterRegistry.get("mechtrack.analytics.warmup.duration").timer().count();
+
+        underTest.warmUp();
+
+        assertThat(meterRegistry.get("mechtrack.analytics.warmup.duration").timer().count()).isEqualTo(warmUps + 1);
+        assertThat(meterRegistry.get("mechtrack.analytics.warmup.staleness").gauge().value()).isBetween(0.0, 60.0);
+        assertThat(analyticsCache.size()).isGreaterThanOrEqualTo(12 + TimeInterval.THREE_MONTHS.getDays());
+
+        double misses = cacheMisses();
+        analyticsService.getMonthlyAnalytics(12);
+        analyticsService.getDashboard();
+        for (TimeInterval interval : TimeInterval.values()) {
+            analyticsService.getDailyAnalytics(interval);
+        }
+        assertThat(cacheMisses()).isEqualTo(misses);
+    }
+
+    @Test
+    @DisplayName("Should warm up again only after writes")
+    void shouldTrackPendingWrites() {
+        underTest.warmUp();
+        assertThat(underTest.hasPendingWrites()).isFalse();
+
+        underTest.onRollupRebuilt(new AnalyticsRollupRebuiltEvent(LocalDate.now(), LocalDate.now()));
+
+        assertThat(underTest.hasPendingWrites()).isTrue();
+        underTest.warmUp();
+        assertThat(underTest.hasPendingWrites()).isFalse();
+    }
+
+    private double cacheMisses() {
+        return meterRegistry.get("mechtrack.analytics.cache.gets").tag("result", "miss").counter().count();
+    }
+}
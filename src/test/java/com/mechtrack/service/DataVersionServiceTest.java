@@ -0,0 +1,127 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackTest;
+import com.mechtrack.model.dto.JobDto;
+import com.mechtrack.model.dto.SuggestionDto;
+import com.mechtrack.model.enums.SuggestField;
+import com.mechtrack.service.analytics.AnalyticsCache;
+import com.mechtrack.service.analytics.BucketSize;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static com.mechtrack.provider.PartTestDataProvider.createPartRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+
+class DataVersionServiceTest extends AbstractMechtrackTest {
+
+    @SpyBean
+    private DataVersionService underTest;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private PartService partService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should only bump the version once a bucket cached before the commit is invalidated")
+    void shouldBumpAfterCacheInvalidation() {
+        // A part of the current month, which no monthly summary invalidates on its own after commit
+        LocalDate today = LocalDate.now();
+        JobDto job = jobService.createJob(createJobRequest("Customer 1", "Car 1", "Service 1", today, new BigDecimal("100.00")));
+        partService.addPartToJob(job.id(), createPartRequest("Part 1", new BigDecimal("100.00"), null, today), null);
+        long committedVersion = underTest.current();
+
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        AtomicLong versionBeforeInvalidation = new AtomicLong();
+        List<BigDecimal> expensesBeforeInvalidation = new ArrayList<>();
+        List<BigDecimal> expensesAfterBump = new ArrayList<>();
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            // A request arriving right after the bump, tagged with the new version
+            expensesAfterBump.add(read(reader, today));
+            return null;
+        }).when(underTest).bump();
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                partService.addPartToJob(job.id(), createPartRequest("Part 2", new BigDecimal("50.00"), null, today), null);
+                // A request reading while the write is open caches the day from the data as it was before the write
+                assertThat(read(reader, today)).isEqualByComparingTo("100.00");
+
+                // A request arriving once the write committed, before the cache invalidation has run
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public int getOrder() {
+                        return AnalyticsCache.INVALIDATION_ORDER - 1;
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        versionBeforeInvalidation.set(underTest.current());
+                        expensesBeforeInvalidation.add(read(reader, today));
+                    }
+                });
+            });
+        } finally {
+            reader.shutdownNow();
+        }
+
+        // The stale bucket is still served in between, but only under the version it was computed for
+        assertThat(expensesBeforeInvalidation).singleElement().satisfies(expenses -> assertThat(expenses).isEqualByComparingTo("100.00"));
+        assertThat(versionBeforeInvalidation).hasValue(committedVersion);
+        assertThat(underTest.current()).isGreaterThan(committedVersion);
+        assertThat(expensesAfterBump).isNotEmpty().allSatisfy(expenses -> assertThat(expenses).isEqualByComparingTo("150.00"));
+    }
+
+    @Test
+    @DisplayName("Should only bump the version once the typeahead index has the change")
+    void shouldBumpAfterSuggestionIndexUpdate() {
+        List<List<SuggestionDto>> suggestionsAfterBump = new ArrayList<>();
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            suggestionsAfterBump.add(suggestionService.suggest(SuggestField.CUSTOMER, "Zygmunt", 10));
+            return null;
+        }).when(underTest).bump();
+
+        jobService.createJob(createJobRequest("Zygmunt Nowak", "Car 1", "Service 1", LocalDate.now(), new BigDecimal("100.00")));
+
+        assertThat(suggestionsAfterBump).isNotEmpty()
+                .allSatisfy(suggestions -> assertThat(suggestions).extracting(SuggestionDto::value).containsExactly("Zygmunt Nowak"));
+    }
+
+    private BigDecimal read(ExecutorService reader, LocalDate day) {
+        try {
+            return reader.submit(() -> analyticsService.getSeries(BucketSize.DAY, day, day).getFirst().totalExpenses())
+                    .get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
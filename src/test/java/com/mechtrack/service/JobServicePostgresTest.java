@@ -0,0 +1,117 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackPostgresTest;
+import com.mechtrack.model.dto.JobDto;
+import com.mechtrack.model.dto.JobSearchCriteria;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static com.mechtrack.provider.PartTestDataProvider.createPartRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobServicePostgresTest extends AbstractMechtrackPostgresTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private JobService underTest;
+
+    @Autowired
+    private PartService partService;
+
+    @Test
+    @DisplayName("Should rank full-text matches by field and filter them by the other criteria in the same query")
+    void shouldRankAndFilterMatches() {
+        JobDto byCustomer = underTest.createJob(createJobRequest("Brake Masters", "Toyota", "Service", DAY.minusDays(2), new BigDecimal("100.00")));
+        JobDto byPart = underTest.createJob(createJobRequest("John Smith", "Honda", "Service", DAY.minusDays(1), new BigDecimal("100.00")));
+        JobDto byDescription = underTest.createJob(createJobRequest("Jane Doe", "Ford", "Brake repair", DAY, new BigDecimal("100.00")));
+        underTest.createJob(createJobRequest("Bob Brown", "Ford", "New tires", DAY, new BigDecimal("100.00")));
+        partService.addPartToJob(byPart.id(), createPartRequest("Brake pads", new BigDecimal("40.00"), null, DAY), null);
+        partService.addPartToJob(byDescription.id(), createPartRequest("Pad grease", new BigDecimal("5.00"), null, DAY), null);
+
+        JobSearchCriteria criteria = new JobSearchCriteria();
+        criteria.setQuery("brake");
+        assertThat(underTest.searchJobs(criteria, Pageable.unpaged()).getContent())
+                .extracting(JobDto::id)
+                .containsExactly(byCustomer.id(), byPart.id(), byDescription.id());
+
+        criteria.setPartName("pad");
+        assertThat(underTest.searchJobs(criteria, Pageable.unpaged()).getContent())
+                .extracting(JobDto::id)
+                .containsExactly(byPart.id(), byDescription.id());
+
+        criteria.setMaxPartCost(new BigDecimal("10.00"));
+        assertThat(underTest.searchJobs(criteria, Pageable.unpaged()).getContent())
+                .extracting(JobDto::id)
+                .containsExactly(byDescription.id());
+    }
+
+    @Test
+    @DisplayName("Should accept web search syntax: quoted phrases and excluded words")
+    void shouldMatchPhrasesAndExcludeWords() {
+        JobDto phraseInName = underTest.createJob(createJobRequest("Brake Pads Direct", "Toyota", "Service", DAY, new BigDecimal("100.00")));
+        JobDto phraseInDescription = underTest.createJob(createJobRequest("John Smith", "Honda", "Replaced brake pads", DAY, new BigDecimal("100.00")));
+        underTest.createJob(createJobRequest("Jane Doe", "Ford", "Brake discs and pads checked", DAY, new BigDecimal("100.00")));
+        underTest.createJob(createJobRequest("Bob Brown", "Ford", "Brake pads and brake fluid", DAY, new BigDecimal("100.00")));
+
+        JobSearchCriteria criteria = new JobSearchCriteria();
+        criteria.setQuery("\"brake pads\" -fluid");
+        assertThat(underTest.searchJobs(criteria, Pageable.unpaged()).getContent())
+                .extracting(JobDto::id)
+                .containsExactly(phraseInName.id(), phraseInDescription.id());
+    }
+
+    @Test
+    @DisplayName("Should rewrite the job row once when deleting a job with several parts")
+    void shouldRefreshSearchVectorOncePerStatement() {
+        JobDto job = underTest.createJob(createJobRequest("John Smith", "Honda", "Service", DAY, new BigDecimal("100.00")));
+        for (String name : List.of("Brake pads", "Oil filter", "Wiper blade")) {
+            partService.addPartToJob(job.id(), createPartRequest(name, new BigDecimal("10.00"), null, DAY), null);
+        }
+
+        // The counter can include earlier transactions of this connection whose statistics are not flushed yet
+        String jobRowUpdates = "SELECT n_tup_upd FROM pg_stat_xact_user_tables WHERE relname = 'job'";
+        Long jobRowsUpdated = new TransactionTemplate(transactionManager).execute(status -> {
+            long before = jdbcTemplate.queryForObject(jobRowUpdates, Long.class);
+            underTest.deleteJob(job.id());
+            return jdbcTemplate.queryForObject(jobRowUpdates, Long.class) - before;
+        });
+
+        assertThat(jobRowsUpdated).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should find filtered matches that rank below the first MAX_RESULTS and cap the total")
+    void shouldFilterBeforeCappingMatches() {
+        for (int i = 0; i < JobFullTextSearch.MAX_RESULTS + 5; i++) {
+            boolean old = i < 5;
+            underTest.createJob(createJobRequest(old ? "Old Customer " + i : "Customer " + i, "Car", "Brake repair",
+                    DAY.minusDays(old ? 1000 + i : i), new BigDecimal("100.00")));
+        }
+
+        JobSearchCriteria criteria = new JobSearchCriteria();
+        criteria.setQuery("brake");
+        Page<JobDto> all = underTest.searchJobs(criteria, PageRequest.of(3, 60));
+
+        assertThat(all.getTotalElements()).isEqualTo(JobFullTextSearch.MAX_RESULTS);
+        assertThat(all.getContent()).hasSize(20);
+
+        criteria.setCustomerName("Old Customer");
+        Page<JobDto> old = underTest.searchJobs(criteria, PageRequest.of(0, 60));
+
+        assertThat(old.getTotalElements()).isEqualTo(5);
+        assertThat(old.getContent())
+                .extracting(JobDto::customerName)
+                .containsExactly("Old Customer 0", "Old Customer 1", "Old Customer 2", "Old Customer 3", "Old Customer 4");
+    }
+}
@@ -5,24 +5,36 @@ import com.mechtrack.exception.EntityNotFoundException;
 import com.mechtrack.model.dto.CreateJobRequest;
 import com.mechtrack.model.dto.JobDto;
 import com.mechtrack.model.dto.JobSearchCriteria;
+import com.mechtrack.model.dto.JobSummaryDto;
+import com.mechtrack.model.dto.PartDto;
+import com.mechtrack.model.entity.Job;
 import com.mechtrack.model.enums.JobStatus;
 import com.mechtrack.model.enums.JobType;
 import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static com.mechtrack.provider.PartTestDataProvider.createPartRequest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -32,6 +44,9 @@ class JobServiceTest extends AbstractMechtrackTest {
     @Autowired
     private JobService underTest;
     
+    @Autowired
+    private PartService partService;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -145,6 +160,230 @@ class JobServiceTest extends AbstractMechtrackTest {
                 .containsExactlyInAnyOrder(job1.id(), job2.id());
     }
 
+    @Test
+    @DisplayName("Test search loads the parts of all results in one query")
+    void testSearchLoadsPartsInOneQuery() {
+        for (int i = 0; i < 200; i++) {
+            var job = underTest.createJob(createJobRequest("Batch Customer " + i, "Car " + i, "Description " + i, LocalDate.now(), new BigDecimal("100.00")));
+            partService.addPartToJob(job.id(), createPartRequest("Part " + i, new BigDecimal("10.00"), null, LocalDate.now()), null);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        JobSearchCriteria criteria = new JobSearchCriteria();
+        criteria.setCustomerName("Batch Customer");
+        List<JobDto> jobs = underTest.searchJobs(criteria, Pageable.unpaged()).getContent();
+
+        assertThat(jobs).hasSize(200);
+        assertThat(jobs).allSatisfy(job -> assertThat(job.parts()).hasSize(1));
+        // One query for the jobs and one for all of their parts, instead of one more per job
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test cursor pages cover every job once, newest first, with parts")
+    void testGetJobsAfterCursor() {
+        LocalDate today = LocalDate.now();
+        var oldest = underTest.createJob(createJobRequest("Customer 1", "Car 1", "Description 1", today.minusDays(2), new BigDecimal("100.00")));
+        var sameDay1 = underTest.createJob(createJobRequest("Customer 2", "Car 2", "Description 2", today.minusDays(1), new BigDecimal("200.00")));
+        var sameDay2 = underTest.createJob(createJobRequest("Customer 3", "Car 3", "Description 3", today.minusDays(1), new BigDecimal("300.00")));
+        var newest = underTest.createJob(createJobRequest("Customer 4", "Car 4", "Description 4", today, new BigDecimal("400.00")));
+        partService.addPartToJob(oldest.id(), createPartRequest("Brake pads", new BigDecimal("50.00"), null, today.minusDays(2)), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        var first = underTest.getJobsAfter(null, 3);
+        var second = underTest.getJobsAfter(first.nextCursor(), 3);
+
+        // Jobs of the same day are ordered by id
+        List<UUID> sameDay = Stream.of(sameDay1.id(), sameDay2.id())
+                .sorted(Comparator.comparing(UUID::toString).reversed())
+                .toList();
+        assertThat(first.jobs())
+                .extracting(JobDto::id)
+                .containsExactly(newest.id(), sameDay.get(0), sameDay.get(1));
+        assertThat(first.nextCursor()).isNotNull();
+        assertThat(second.jobs())
+                .extracting(JobDto::id)
+                .containsExactly(oldest.id());
+        assertThat(second.jobs().getFirst().parts())
+                .extracting(PartDto::name)
+                .containsExactly("Brake pads");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Test cursor pages list jobs without a date last, by id")
+    void testGetJobsAfterCursorWithUndatedJobs() {
+        LocalDate today = LocalDate.now();
+        var older = underTest.createJob(createJobRequest("Customer 1", "Car 1", "Description 1", today.minusDays(1), new BigDecimal("100.00")));
+        var newer = underTest.createJob(createJobRequest("Customer 2", "Car 2", "Description 2", today, new BigDecimal("200.00")));
+        List<UUID> undated = Stream.of("Customer 3", "Customer 4", "Customer 5")
+                .map(customerName -> {
+                    Job job = new Job();
+                    job.setCustomerName(customerName);
+                    job.setIncome(new BigDecimal("50.00"));
+                    job.setStatus(JobStatus.DONE);
+                    job.setType(JobType.OIL_CHANGE);
+                    return jobRepository.save(job).getId();
+                })
+                .sorted(Comparator.comparing(UUID::toString).reversed())
+                .toList();
+        entityManager.flush();
+        entityManager.clear();
+
+        List<List<UUID>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            var page = underTest.getJobsAfter(cursor, 3);
+            pages.add(page.jobs().stream().map(JobDto::id).toList());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(pages).containsExactly(
+                List.of(newer.id(), older.id(), undated.get(0)),
+                List.of(undated.get(1), undated.get(2)));
+    }
+
+    @Test
+    @DisplayName("Test export streams every job with its parts, newest first")
+    void testExportJobs() {
+        LocalDate today = LocalDate.now();
+        var older = underTest.createJob(createJobRequest("Customer 1", "Car 1", "Description 1", today.minusDays(1), new BigDecimal("100.00")));
+        var newer = underTest.createJob(createJobRequest("Customer 2", "Car 2", "Description 2", today, new BigDecimal("200.00")));
+        partService.addPartToJob(older.id(), createPartRequest("Filter", new BigDecimal("15.00"), null, today.minusDays(1)), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<JobDto> exported = new ArrayList<>();
+        underTest.exportJobs(exported::addAll);
+
+        assertThat(exported)
+                .extracting(JobDto::id)
+                .containsExactly(newer.id(), older.id());
+        assertThat(exported.get(1).parts())
+                .extracting(PartDto::name)
+                .containsExactly("Filter");
+    }
+
+    @Test
+    @DisplayName("Test job summaries carry part totals without loading parts")
+    void testGetJobSummaries() {
+        LocalDate today = LocalDate.now();
+        var withParts = underTest.createJob(createJobRequest("Customer 1", "Car 1", "Description 1", today.minusDays(1), new BigDecimal("100.00")));
+        var withoutParts = underTest.createJob(createJobRequest("Customer 2", "Car 2", "Description 2", today, new BigDecimal("200.00")));
+        partService.addPartToJob(withParts.id(), createPartRequest("Filter", new BigDecimal("15.00"), null, today), null);
+        partService.addPartToJob(withParts.id(), createPartRequest("Oil", new BigDecimal("25.50"), null, today), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        Page<JobSummaryDto> summaries = underTest.getJobSummaries(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "date")));
+
+        assertThat(summaries.getTotalElements()).isEqualTo(2);
+        assertThat(summaries.getContent())
+                .extracting(JobSummaryDto::id, JobSummaryDto::partCount)
+                .containsExactly(tuple(withoutParts.id(), 0), tuple(withParts.id(), 2));
+        assertThat(summaries.getContent().get(0).partsCost()).isEqualByComparingTo("0");
+        assertThat(summaries.getContent().get(1).partsCost()).isEqualByComparingTo("40.50");
+        assertThat(summaries.getContent().get(1).customerName()).isEqualTo("Customer 1");
+    }
+
+    @Test
+    @DisplayName("Test job summary pages break ties by id and reject columns they cannot sort by")
+    void testGetJobSummariesSort() {
+        LocalDate today = LocalDate.now();
+        List<UUID> sameDay = Stream.of("Customer 1", "Customer 2", "Customer 3")
+                .map(customerName -> underTest.createJob(createJobRequest(customerName, "Car", "Description", today, new BigDecimal("100.00"))).id())
+                .sorted(Comparator.comparing(UUID::toString).reversed())
+                .toList();
+        entityManager.flush();
+        entityManager.clear();
+
+        List<UUID> paged = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            underTest.getJobSummaries(PageRequest.of(page, 1, Sort.by(Sort.Direction.DESC, "date")))
+                    .forEach(summary -> paged.add(summary.id()));
+        }
+
+        assertThat(paged).containsExactlyElementsOf(sameDay);
+        assertThatThrownBy(() -> underTest.getJobSummaries(PageRequest.of(0, 10, Sort.by("description"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("description");
+    }
+
+    @Test
+    @DisplayName("Test free-text search matches job fields and part names, filtered by the other criteria")
+    void testSearchJobsByQuery() {
+        LocalDate today = LocalDate.now();
+        var byPart = underTest.createJob(createJobRequest("John Smith", "Toyota Camry", "Oil change", today.minusDays(1), new BigDecimal("100.00")));
+        var byDescription = underTest.createJob(createJobRequest("Jane Doe", "Honda Civic", "Brake repair", today, new BigDecimal("200.00")));
+        underTest.createJob(createJobRequest("Bob Brown", "Ford Focus", "New tires", today, new BigDecimal("300.00")));
+        partService.addPartToJob(byPart.id(), createPartRequest("Brake pads", new BigDecimal("40.00"), null, today), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        JobSearchCriteria criteria = new JobSearchCriteria();
+        criteria.setQuery("brake");
+        List<JobDto> jobs = underTest.searchJobs(criteria, Pageable.unpaged()).getContent();
+
+        assertThat(jobs)
+                .extracting(JobDto::id)
+                .containsExactlyInAnyOrder(byPart.id(), byDescription.id());
+
+        criteria.setCustomerName("Smith");
+        jobs = underTest.searchJobs(criteria, Pageable.unpaged()).getContent();
+
+        assertThat(jobs)
+                .extracting(JobDto::id)
+                .containsExactly(byPart.id());
+        assertThat(jobs.getFirst().parts()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Test free-text search filters the matches before keeping the best of them")
+    void testSearchJobsByQueryFiltersBeforeCap() {
+        LocalDate today = LocalDate.now();
+        List<Job> matches = new ArrayList<>();
+        for (int i = 0; i < JobFullTextSearch.MAX_RESULTS + 5; i++) {
+            boolean old = i < 5;
+            Job job = new Job();
+            job.setCustomerName(old ? "Old Customer " + i : "Customer " + i);
+            job.setDescription("Brake repair");
+            job.setDate(today.minusDays(old ? 1000 + i : i));
+            job.setIncome(new BigDecimal("100.00"));
+            job.setStatus(JobStatus.DONE);
+            job.setType(JobType.GENERAL_MAINTENANCE);
+            matches.add(job);
+        }
+        jobRepository.saveAll(matches);
+
+        JobSearchCriteria criteria = new JobSearchCriteria();
+        criteria.setQuery("brake");
+        Page<JobDto> all = underTest.searchJobs(criteria, PageRequest.of(3, 60));
+
+        assertThat(all.getTotalElements()).isEqualTo(JobFullTextSearch.MAX_RESULTS);
+        assertThat(all.getContent()).hasSize(20);
+
+        criteria.setCustomerName("Old Customer");
+        Page<JobDto> old = underTest.searchJobs(criteria, PageRequest.of(0, 60));
+
+        assertThat(old.getTotalElements()).isEqualTo(5);
+        assertThat(old.getContent())
+                .extracting(JobDto::customerName)
+                .containsExactly("Old Customer 0", "Old Customer 1", "Old Customer 2", "Old Customer 3", "Old Customer 4");
+    }
+
+    @Test
+    @DisplayName("Test cursor pages reject a malformed cursor")
+    void testGetJobsAfterInvalidCursor() {
+        assertThatThrownBy(() -> underTest.getJobsAfter("not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
     @Test
     @DisplayName("Test search jobs by customer name")
     @Transactional
@@ -0,0 +1,80 @@
+package com.mechtrack.service;
+
+import com.mechtrack.AbstractMechtrackTest;
+import com.mechtrack.model.dto.SuggestionDto;
+import com.mechtrack.model.enums.SuggestField;
+import com.mechtrack.model.event.JobChangedEvent;
+import com.mechtrack.model.event.JobSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.mechtrack.provider.JobTestDataProvider.createJobRequest;
+import static com.mechtrack.provider.PartTestDataProvider.createPartRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Transactional
+class SuggestionServiceTest extends AbstractMechtrackTest {
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private PartService partService;
+
+    @Test
+    @DisplayName("Should suggest customers, car models and part names from the database")
+    void shouldSuggestFromDatabase() {
+        LocalDate today = LocalDate.now();
+        var job = jobService.createJob(createJobRequest("John Smith", "VW Golf", "Service", today, new BigDecimal("100.00")));
+        jobService.createJob(createJobRequest("Jane Smithers", "VW Golf", "Service", today, new BigDecimal("100.00")));
+        jobService.createJob(createJobRequest("Bob Brown", "Volkswagen Golf", "Service", today, new BigDecimal("100.00")));
+        partService.addPartToJob(job.id(), createPartRequest("Brake pad", new BigDecimal("40.00"), null, today), null);
+        suggestionService.rebuild();
+
+        assertThat(suggestionService.suggest(SuggestField.CUSTOMER, "smi", 10))
+                .extracting(SuggestionDto::value)
+                .containsExactly("Jane Smithers", "John Smith");
+        assertThat(suggestionService.suggest(SuggestField.CAR_MODEL, "golf", 10))
+                .containsExactly(new SuggestionDto("VW Golf", 2), new SuggestionDto("Volkswagen Golf", 1));
+        assertThat(suggestionService.suggest(SuggestField.PART, "PAD", 10))
+                .containsExactly(new SuggestionDto("Brake pad", 1));
+        assertThat(suggestionService.suggest(SuggestField.CAR_MODEL, "", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should follow job changes")
+    void shouldFollowJobChanges() {
+        suggestionService.rebuild();
+        JobSnapshot before = new JobSnapshot(null, "John Smith", "VW Golf", LocalDate.now(), null, null, null);
+        JobSnapshot after = new JobSnapshot(null, "John Smith", "VW Polo", LocalDate.now(), null, null, null);
+
+        suggestionService.onJobChanged(JobChangedEvent.created(before));
+        assertThat(suggestionService.suggest(SuggestField.CAR_MODEL, "golf", 10)).hasSize(1);
+
+        suggestionService.onJobChanged(JobChangedEvent.updated(before, after));
+        assertThat(suggestionService.suggest(SuggestField.CAR_MODEL, "golf", 10)).isEmpty();
+        assertThat(suggestionService.suggest(SuggestField.CAR_MODEL, "polo", 10)).hasSize(1);
+        assertThat(suggestionService.suggest(SuggestField.CUSTOMER, "smith", 10))
+                .containsExactly(new SuggestionDto("John Smith", 1));
+
+        suggestionService.onJobChanged(JobChangedEvent.deleted(after));
+        assertThat(suggestionService.suggest(SuggestField.CUSTOMER, "smith", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown field")
+    void shouldRejectUnknownField() {
+        assertThatThrownBy(() -> SuggestField.fromCode("vin"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid suggest field");
+    }
+}
@@ -0,0 +1,151 @@
+package com.mechtrack.service.analytics;
+
+import com.mechtrack.config.AnalyticsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsCacheTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private AnalyticsCache underTest;
+
+    @BeforeEach
+    void setUp() {
+        AnalyticsProperties properties = new AnalyticsProperties();
+        properties.getCache().setMaxEntries(3);
+        properties.getCache().setOpenBucketTtl(Duration.ofSeconds(30));
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2025-06-15T10:00:00Z"));
+        underTest = new AnalyticsCache(properties, meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("Should invalidate only buckets that contain the written date")
+    void shouldInvalidateOnlyTouchedBuckets() {
+        AnalyticsCache.Key march = monthKey(YearMonth.of(2025, 3));
+        AnalyticsCache.Key april = monthKey(YearMonth.of(2025, 4));
+        underTest.put(march, "march", underTest.version(march));
+        underTest.put(april, "april", underTest.version(april));
+
+        underTest.invalidate(List.of(LocalDate.of(2025, 3, 20)));
+
+        assertThat(underTest.get(march, String.class)).isNull();
+        assertThat(underTest.get(april, String.class)).isEqualTo("april");
+        assertThat(counter("hit")).isEqualTo(1);
+        assertThat(counter("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not store a bucket computed concurrently with a write")
+    void shouldRejectStalePut() {
+        AnalyticsCache.Key day = dayKey(LocalDate.of(2025, 2, 1));
+        long version = underTest.version(day);
+
+        underTest.invalidate(List.of(LocalDate.of(2025, 2, 1)));
+        underTest.put(day, "stale", version);
+
+        assertThat(underTest.get(day, String.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should expire open month buckets but keep closed months")
+    void shouldExpireOnlyOpenBuckets() {
+        AnalyticsCache.Key closed = monthKey(YearMonth.of(2025, 5));
+        AnalyticsCache.Key open = dayKey(LocalDate.of(2025, 6, 14));
+        underTest.put(closed, "closed", underTest.version(closed));
+        underTest.put(open, "open", underTest.version(open));
+
+        clock.advance(Duration.ofMinutes(5));
+
+        assertThat(underTest.get(closed, String.class)).isEqualTo("closed");
+        assertThat(underTest.get(open, String.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep open buckets stored by a warm-up past the TTL until a write touches them")
+    void shouldKeepWarmedOpenBucketsUntilWritten() {
+        AnalyticsCache.Key requested = dayKey(LocalDate.of(2025, 6, 13));
+        AnalyticsCache.Key warmed = dayKey(LocalDate.of(2025, 6, 14));
+        underTest.put(requested, "requested", underTest.version(requested));
+
+        underTest.warmUp(() -> underTest.put(warmed, "warmed", underTest.version(warmed)));
+        assertThat(underTest.size()).as("open buckets cached before the warm-up are recomputed").isEqualTo(1);
+
+        underTest.put(requested, "requested", underTest.version(requested));
+        clock.advance(Duration.ofMinutes(5));
+
+        assertThat(underTest.get(warmed, String.class)).isEqualTo("warmed");
+        assertThat(underTest.get(requested, String.class)).isNull();
+
+        underTest.invalidate(List.of(LocalDate.of(2025, 6, 1)));
+        assertThat(underTest.get(warmed, String.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used buckets when full")
+    void shouldEvictLeastRecentlyUsed() {
+        for (int day = 1; day <= 4; day++) {
+            AnalyticsCache.Key key = dayKey(LocalDate.of(2025, 1, day));
+            underTest.put(key, "day" + day, underTest.version(key));
+        }
+
+        assertThat(underTest.size()).isEqualTo(3);
+        assertThat(underTest.get(dayKey(LocalDate.of(2025, 1, 1)), String.class)).isNull();
+        assertThat(meterRegistry.get("mechtrack.analytics.cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("mechtrack.analytics.cache.gets").tag("result", result).counter().count();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    private static AnalyticsCache.Key monthKey(YearMonth month) {
+        return AnalyticsCache.bucketKey(BucketSize.MONTH, month.atDay(1), month.atEndOfMonth());
+    }
+
+    private static AnalyticsCache.Key dayKey(LocalDate date) {
+        return AnalyticsCache.bucketKey(BucketSize.DAY, date, date);
+    }
+}
@@ -0,0 +1,67 @@
+package com.mechtrack.service.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BucketSizeTest {
+
+    @Test
+    @DisplayName("Should parse named and N-day bucket codes")
+    void shouldParseBucketCodes() {
+        assertThat(BucketSize.fromCode("day")).isEqualTo(BucketSize.DAY);
+        assertThat(BucketSize.fromCode("WEEK")).isEqualTo(BucketSize.WEEK);
+        assertThat(BucketSize.fromCode("quarter")).isEqualTo(BucketSize.QUARTER);
+        assertThat(BucketSize.fromCode("1d")).isEqualTo(BucketSize.DAY);
+        assertThat(BucketSize.fromCode("14d").amount()).isEqualTo(14);
+        assertThat(BucketSize.fromCode("14d").code()).isEqualTo("14d");
+
+        assertThatThrownBy(() -> BucketSize.fromCode("0d"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid bucket: 0d");
+        assertThatThrownBy(() -> BucketSize.fromCode("fortnight"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should align weeks to Monday and month buckets to calendar quarters and years")
+    void shouldAlignBucketStarts() {
+        LocalDate date = LocalDate.of(2025, 8, 14);
+
+        assertThat(BucketSize.WEEK.bucketStart(date).getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+        assertThat(BucketSize.WEEK.bucketStart(date)).isEqualTo(LocalDate.of(2025, 8, 11));
+        assertThat(BucketSize.MONTH.bucketStart(date)).isEqualTo(LocalDate.of(2025, 8, 1));
+        assertThat(BucketSize.QUARTER.bucketStart(date)).isEqualTo(LocalDate.of(2025, 7, 1));
+        assertThat(BucketSize.YEAR.bucketStart(date)).isEqualTo(LocalDate.of(2025, 1, 1));
+        assertThat(BucketSize.QUARTER.nextBucketStart(LocalDate.of(2025, 7, 1))).isEqualTo(LocalDate.of(2025, 10, 1));
+    }
+
+    @Test
+    @DisplayName("Should put a date into the same N-day bucket regardless of the requested range")
+    void shouldAlignDayBucketsToFixedAnchor() {
+        BucketSize tenDays = BucketSize.fromCode("10d");
+        LocalDate start = tenDays.bucketStart(LocalDate.of(2025, 3, 7));
+
+        assertThat(tenDays.bucketStart(start.plusDays(9))).isEqualTo(start);
+        assertThat(tenDays.bucketStart(start.plusDays(10))).isEqualTo(start.plusDays(10));
+        assertThat(BucketSize.QUARTER.monthBucketStart(2025 * 4 + 2)).isEqualTo(LocalDate.of(2025, 7, 1));
+    }
+
+    @Test
+    @DisplayName("Should count the buckets of a series, clipped ones included")
+    void shouldCountBuckets() {
+        LocalDate start = LocalDate.of(2025, 8, 13);
+
+        assertThat(BucketSize.DAY.bucketCount(start, start)).isEqualTo(1);
+        assertThat(BucketSize.DAY.bucketCount(start, start.plusDays(30))).isEqualTo(31);
+        assertThat(BucketSize.WEEK.bucketCount(start, LocalDate.of(2025, 8, 18))).isEqualTo(2);
+        assertThat(BucketSize.MONTH.bucketCount(start, LocalDate.of(2025, 9, 1))).isEqualTo(2);
+        assertThat(BucketSize.QUARTER.bucketCount(start, LocalDate.of(2026, 1, 1))).isEqualTo(3);
+        assertThat(BucketSize.YEAR.bucketCount(LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31))).isEqualTo(9999);
+    }
+}
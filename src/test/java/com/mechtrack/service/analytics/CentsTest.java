@@ -0,0 +1,38 @@
+package com.mechtrack.service.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CentsTest {
+
+    @Test
+    @DisplayName("Should convert amounts to cents and back without losing precision")
+    void shouldRoundTripAmounts() {
+        assertThat(Cents.of(new BigDecimal("1234.56"))).isEqualTo(123456);
+        assertThat(Cents.of(new BigDecimal("-0.5"))).isEqualTo(-50);
+        assertThat(Cents.of(null)).isZero();
+        assertThat(Cents.toAmount(123456)).isEqualTo(new BigDecimal("1234.56"));
+        assertThat(Cents.divide(1000, 3)).isEqualTo(new BigDecimal("3.33"));
+        assertThat(Cents.divide(-1001, 2)).isEqualTo(new BigDecimal("-5.01"));
+
+        assertThatThrownBy(() -> Cents.of(new BigDecimal("0.001")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail instead of wrapping when totals overflow")
+    void shouldDetectOverflow() {
+        AmountTotals totals = new AmountTotals(Long.MAX_VALUE, 1, 0, 0);
+
+        assertThat(totals.plus(AmountTotals.EMPTY)).isEqualTo(totals);
+        assertThatThrownBy(() -> totals.plus(new AmountTotals(1, 1, 0, 0)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> new AmountTotals(Long.MIN_VALUE, 0, 1, 0).netProfitCents())
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
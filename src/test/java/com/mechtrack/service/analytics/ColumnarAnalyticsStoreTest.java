@@ -0,0 +1,110 @@
+package com.mechtrack.service.analytics;
+
+import com.mechtrack.config.AnalyticsProperties;
+import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.enums.JobType;
+import com.mechtrack.model.event.JobChangedEvent;
+import com.mechtrack.model.event.JobSnapshot;
+import com.mechtrack.model.event.PartChangedEvent;
+import com.mechtrack.model.event.PartSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarAnalyticsStoreTest {
+
+    private static final LocalDate MAY_1 = LocalDate.of(2025, 5, 1);
+
+    private ColumnarAnalyticsStore underTest;
+
+    @BeforeEach
+    void setUp() {
+        AnalyticsProperties properties = new AnalyticsProperties();
+        properties.getColumnar().setEnabled(true);
+        underTest = new ColumnarAnalyticsStore(properties, null, null, null, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should sum date ranges with inclusive bounds regardless of load order")
+    void shouldSumInclusiveRanges() {
+        underTest.load(
+                Stream.of(job(MAY_1.plusDays(2), "30.00"), job(MAY_1, "100.50"), job(MAY_1.plusDays(1), "20.00")),
+                Stream.of(part(MAY_1.plusDays(1), "5.25"), part(MAY_1.plusDays(5), "7.00")));
+
+        assertThat(underTest.isReady()).isTrue();
+        assertThat(underTest.sum(MAY_1, MAY_1.plusDays(1)))
+                .isEqualTo(new AmountTotals(12050, 2, 525, 1));
+        assertThat(underTest.sum(MAY_1.plusDays(2), MAY_1.plusDays(5)))
+                .isEqualTo(new AmountTotals(3000, 1, 700, 1));
+        assertThat(underTest.sum(MAY_1.minusDays(10), MAY_1.minusDays(1)))
+                .isEqualTo(new AmountTotals(0, 0, 0, 0));
+        assertThat(underTest.rowCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should apply creations, updates and deletions from change events")
+    void shouldApplyChangeEvents() {
+        JobSnapshot job = job(MAY_1, "100.00");
+        PartSnapshot part = part(MAY_1, "40.00");
+        underTest.load(Stream.empty(), Stream.empty());
+
+        underTest.onJobChanged(JobChangedEvent.created(job));
+        underTest.onPartChanged(PartChangedEvent.created(part));
+        JobSnapshot moved = new JobSnapshot(job.id(), "Customer", "Car", MAY_1.plusDays(3), new BigDecimal("150.00"),
+                JobStatus.DONE, JobType.OIL_CHANGE);
+        underTest.onJobChanged(JobChangedEvent.updated(job, moved));
+
+        assertThat(underTest.sum(MAY_1, MAY_1)).isEqualTo(new AmountTotals(0, 0, 4000, 1));
+        assertThat(underTest.sum(MAY_1, MAY_1.plusDays(3))).isEqualTo(new AmountTotals(15000, 1, 4000, 1));
+
+        underTest.onJobChanged(JobChangedEvent.deleted(moved));
+        underTest.onPartChanged(PartChangedEvent.deleted(part));
+
+        assertThat(underTest.rowCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should aggregate income and counts per type and status")
+    void shouldAggregatePerTypeAndStatus() {
+        underTest.load(Stream.of(
+                new JobSnapshot(UUID.randomUUID(), "A", "Car", MAY_1, new BigDecimal("10.00"), JobStatus.DONE, JobType.OIL_CHANGE),
+                new JobSnapshot(UUID.randomUUID(), "B", "Car", MAY_1, new BigDecimal("15.00"), JobStatus.DONE, JobType.OIL_CHANGE),
+                new JobSnapshot(UUID.randomUUID(), "C", "Car", MAY_1, new BigDecimal("99.00"), JobStatus.WAITING, JobType.BODYWORK),
+                new JobSnapshot(UUID.randomUUID(), "D", "Car", MAY_1.plusDays(1), new BigDecimal("1.00"), JobStatus.DONE, JobType.OIL_CHANGE)
+        ), Stream.empty());
+
+        List<String> rows = new ArrayList<>();
+        underTest.forEachTypeAndStatus(MAY_1, MAY_1, (type, status, incomeCents, count) ->
+                rows.add(type + "/" + status + "=" + incomeCents + "x" + count));
+
+        assertThat(rows).containsExactlyInAnyOrder("OIL_CHANGE/DONE=2500x2", "BODYWORK/WAITING=9900x1");
+    }
+
+    @Test
+    @DisplayName("Should report memory footprint from array capacity")
+    void shouldReportMemoryFootprint() {
+        underTest.load(Stream.of(job(MAY_1, "1.00")), Stream.empty());
+
+        assertThat(underTest.memoryFootprintBytes()).isEqualTo(
+                1024L * ColumnarAnalyticsStore.JOB_ROW_BYTES + 1024L * ColumnarAnalyticsStore.PART_ROW_BYTES);
+    }
+
+    private static JobSnapshot job(LocalDate date, String income) {
+        return new JobSnapshot(UUID.randomUUID(), "Customer", "Car", date, new BigDecimal(income),
+                JobStatus.WAITING, JobType.GENERAL_MAINTENANCE);
+    }
+
+    private static PartSnapshot part(LocalDate date, String cost) {
+        return new PartSnapshot(UUID.randomUUID(), UUID.randomUUID(), "Part", date, new BigDecimal(cost));
+    }
+}
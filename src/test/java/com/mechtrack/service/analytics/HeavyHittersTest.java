@@ -0,0 +1,58 @@
+package com.mechtrack.service.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHittersTest {
+
+    @Test
+    @DisplayName("Should keep heavy items of a long tail with estimates bounded by their error")
+    void shouldFindHeavyHittersInLongTail() {
+        HeavyHitters summary = new HeavyHitters();
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            // Five popular models, then thousands of one-off spellings
+            String item = i % 2 == 0 ? "Model " + (i / 2 % 5) : "Rare " + random.nextInt(5_000);
+            summary.add(item, 1);
+            exact.merge(item, 1L, Long::sum);
+        }
+
+        List<HeavyHitters.Estimate> top = summary.top(5);
+
+        assertThat(top).extracting(HeavyHitters.Estimate::item)
+                .containsExactlyInAnyOrder("Model 0", "Model 1", "Model 2", "Model 3", "Model 4");
+        for (HeavyHitters.Estimate estimate : top) {
+            long trueWeight = exact.get(estimate.item());
+            assertThat(estimate.weight()).isBetween(trueWeight, trueWeight + estimate.error());
+        }
+        assertThat(summary.size()).isEqualTo(HeavyHitters.CAPACITY);
+    }
+
+    @Test
+    @DisplayName("Should merge summaries and survive a serialization round trip")
+    void shouldMergeAndRoundTrip() {
+        HeavyHitters january = new HeavyHitters();
+        HeavyHitters february = new HeavyHitters();
+        january.add("Toyota Camry, 2020: blue", 300);
+        january.add("Honda Civic", 100);
+        february.add("Honda Civic", 250);
+        february.add("Ford Focus", 50);
+        february.remove("Ford Focus", 20);
+        february.remove("Unknown", 5);
+
+        HeavyHitters merged = HeavyHitters.deserialize(january.serialize()).merge(HeavyHitters.deserialize(february.serialize()));
+
+        assertThat(merged.top(3)).containsExactly(
+                new HeavyHitters.Estimate("Honda Civic", 350, 0),
+                new HeavyHitters.Estimate("Toyota Camry, 2020: blue", 300, 0),
+                new HeavyHitters.Estimate("Ford Focus", 30, 0));
+    }
+}
@@ -0,0 +1,91 @@
+package com.mechtrack.service.analytics;
+
+import com.mechtrack.config.AnalyticsProperties;
+import com.mechtrack.model.enums.JobStatus;
+import com.mechtrack.model.enums.JobType;
+import com.mechtrack.model.event.JobSnapshot;
+import com.mechtrack.model.event.PartSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelAggregatorTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    private ParallelAggregator parallel;
+    private ParallelAggregator sequential;
+
+    @AfterEach
+    void tearDown() {
+        parallel.destroy();
+        sequential.destroy();
+    }
+
+    @Test
+    @DisplayName("Should produce the same daily series in parallel as sequentially over five years")
+    void shouldMatchSequentialSeries() {
+        parallel = aggregator(4, 16);
+        sequential = aggregator(1, Integer.MAX_VALUE);
+        ColumnarAnalyticsStore store = randomStore(new Random(42), 5 * 365);
+
+        List<LocalDate> days = IntStream.range(0, 5 * 365).mapToObj(START::plusDays).toList();
+        Function<LocalDate, AmountTotals> sumDay = day -> store.sum(day, day);
+
+        List<AmountTotals> expected = sequential.mapInOrder(days, sumDay);
+        assertThat(parallel.mapInOrder(days, sumDay)).containsExactlyElementsOf(expected);
+        assertThat(expected.stream().mapToInt(AmountTotals::jobCount).sum()).isEqualTo(5 * 365 * 3);
+    }
+
+    @Test
+    @DisplayName("Should use the dedicated pool only for lists of at least the minimum size")
+    void shouldSplitOnlyLongLists() {
+        parallel = aggregator(4, 100);
+        sequential = aggregator(1, 1);
+        Function<Integer, String> threadName = i -> Thread.currentThread().getName();
+        String caller = Thread.currentThread().getName();
+
+        assertThat(parallel.mapInOrder(List.of(1, 2, 3), threadName)).containsOnly(caller);
+        assertThat(parallel.mapInOrder(IntStream.range(0, 1000).boxed().toList(), threadName))
+                .allMatch(name -> name.startsWith("analytics-aggregate-"));
+        assertThat(sequential.mapInOrder(IntStream.range(0, 1000).boxed().toList(), threadName)).containsOnly(caller);
+    }
+
+    private static ParallelAggregator aggregator(int threads, int minBuckets) {
+        AnalyticsProperties properties = new AnalyticsProperties();
+        properties.getParallel().setThreads(threads);
+        properties.getParallel().setMinBuckets(minBuckets);
+        return new ParallelAggregator(properties);
+    }
+
+    private static ColumnarAnalyticsStore randomStore(Random random, int days) {
+        AnalyticsProperties properties = new AnalyticsProperties();
+        properties.getColumnar().setEnabled(true);
+        ColumnarAnalyticsStore store = new ColumnarAnalyticsStore(properties, null, null, null, new SimpleMeterRegistry());
+
+        List<JobSnapshot> jobs = new ArrayList<>();
+        List<PartSnapshot> parts = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            for (int i = 0; i < 3; i++) {
+                jobs.add(new JobSnapshot(UUID.randomUUID(), "Customer", "Car", START.plusDays(day),
+                        BigDecimal.valueOf(random.nextInt(100_000), 2), JobStatus.WAITING, JobType.GENERAL_MAINTENANCE));
+                parts.add(new PartSnapshot(UUID.randomUUID(), null, "Part", START.plusDays(day),
+                        BigDecimal.valueOf(random.nextInt(10_000), 2)));
+            }
+        }
+        store.load(jobs.stream(), parts.stream());
+        return store;
+    }
+}
@@ -0,0 +1,62 @@
+package com.mechtrack.service.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+
+    @Test
+    @DisplayName("Should estimate quantiles within the relative accuracy")
+    void shouldEstimateQuantilesWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 1; i <= 1000; i++) {
+            sketch.add(BigDecimal.valueOf(i));
+        }
+
+        assertThat(sketch.getCount()).isEqualTo(1000);
+        assertThat(sketch.quantile(0.50).doubleValue()).isCloseTo(500, within(500 * QuantileSketch.RELATIVE_ACCURACY + 0.01));
+        assertThat(sketch.quantile(0.90).doubleValue()).isCloseTo(900, within(900 * QuantileSketch.RELATIVE_ACCURACY + 0.01));
+        assertThat(sketch.quantile(0.99).doubleValue()).isCloseTo(990, within(990 * QuantileSketch.RELATIVE_ACCURACY + 0.01));
+    }
+
+    @Test
+    @DisplayName("Should give the same quantiles after merging as when adding all values to one sketch")
+    void shouldMergeLosslessly() {
+        QuantileSketch all = new QuantileSketch();
+        QuantileSketch low = new QuantileSketch();
+        QuantileSketch high = new QuantileSketch();
+        for (int i = 0; i < 200; i++) {
+            BigDecimal value = BigDecimal.valueOf(i * 7L % 500);
+            all.add(value);
+            (i < 100 ? low : high).add(value);
+        }
+
+        QuantileSketch merged = low.merge(high);
+
+        assertThat(merged.getCount()).isEqualTo(all.getCount());
+        assertThat(merged.quantile(0.5)).isEqualTo(all.quantile(0.5));
+        assertThat(merged.quantile(0.99)).isEqualTo(all.quantile(0.99));
+        assertThat(merged.serialize()).isEqualTo(all.serialize());
+    }
+
+    @Test
+    @DisplayName("Should round-trip through its text form including zero values")
+    void shouldRoundTripSerializedForm() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(BigDecimal.ZERO);
+        sketch.add(new BigDecimal("0.50"));
+        sketch.add(new BigDecimal("1250.00"));
+
+        QuantileSketch restored = QuantileSketch.deserialize(sketch.serialize());
+
+        assertThat(restored.getCount()).isEqualTo(3);
+        assertThat(restored.quantile(0)).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(restored.quantile(1)).isEqualTo(sketch.quantile(1));
+        assertThat(QuantileSketch.deserialize(new QuantileSketch().serialize()).quantile(0.5)).isNull();
+    }
+}
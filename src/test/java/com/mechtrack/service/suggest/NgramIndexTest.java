@@ -0,0 +1,103 @@
+package com.mechtrack.service.suggest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgramIndexTest {
+
+    @Test
+    @DisplayName("Should rank value prefixes before word starts before inner matches, then by count")
+    void shouldRankMatches() {
+        NgramIndex index = new NgramIndex();
+        index.add("Golfmobile");
+        index.add("VW Golf");
+        index.add("VW Golf");
+        index.add("Volkswagen Golf");
+        index.add("Minigolf Cart");
+        index.add("Toyota Camry");
+
+        assertThat(index.search("GOL", 10))
+                .containsExactly(
+                        new NgramIndex.Match("Golfmobile", 1),
+                        new NgramIndex.Match("VW Golf", 2),
+                        new NgramIndex.Match("Volkswagen Golf", 1),
+                        new NgramIndex.Match("Minigolf Cart", 1));
+        assertThat(index.search("gol", 2))
+                .extracting(NgramIndex.Match::value)
+                .containsExactly("Golfmobile", "VW Golf");
+        assertThat(index.search("bmw", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should require the whole query, not just its trigrams")
+    void shouldVerifyLongQueries() {
+        NgramIndex index = new NgramIndex();
+        // Contains the trigrams "bra" and "rak" of "brak" but not "brak" itself
+        index.add("bra rak");
+        index.add("Brake pads");
+
+        assertThat(index.search("brak", 10))
+                .extracting(NgramIndex.Match::value)
+                .containsExactly("Brake pads");
+        assertThat(index.search("  brake   PADS ", 10))
+                .extracting(NgramIndex.Match::value)
+                .containsExactly("Brake pads");
+    }
+
+    @Test
+    @DisplayName("Should count duplicates and drop a value when its last record is removed")
+    void shouldCountAndRemoveValues() {
+        NgramIndex index = new NgramIndex();
+        index.add("John Smith");
+        index.add("john  smith");
+        index.add("Jane Doe");
+
+        assertThat(index.search("smith", 10)).containsExactly(new NgramIndex.Match("John Smith", 2));
+
+        index.remove("JOHN SMITH");
+        assertThat(index.search("smith", 10)).containsExactly(new NgramIndex.Match("John Smith", 1));
+
+        index.remove("John Smith");
+        index.remove("Unknown");
+        assertThat(index.search("smith", 10)).isEmpty();
+        assertThat(index.search("j", 10)).extracting(NgramIndex.Match::value).containsExactly("Jane Doe");
+        assertThat(index.size()).isEqualTo(1);
+
+        // The freed id is reused without leaving stale postings behind
+        index.add("Jim Beam");
+        assertThat(index.search("j", 10)).extracting(NgramIndex.Match::value).containsExactly("Jane Doe", "Jim Beam");
+    }
+
+    @Test
+    @DisplayName("Should match the brute-force scan after many adds and removes")
+    void shouldMatchBruteForce() {
+        NgramIndex index = new NgramIndex();
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+        String[] words = {"golf", "polo", "passat", "camry", "corolla", "civic", "focus", "fiesta"};
+        for (int i = 0; i < 5_000; i++) {
+            String value = words[random.nextInt(words.length)] + " " + random.nextInt(200);
+            if (random.nextInt(4) == 0 && expected.containsKey(value)) {
+                index.remove(value);
+                expected.computeIfPresent(value, (v, count) -> count == 1 ? null : count - 1);
+            } else {
+                index.add(value);
+                expected.merge(value, 1, Integer::sum);
+            }
+        }
+
+        for (String query : new String[] {"o", "ol", "olf 1", "passat 19", "a 7"}) {
+            long bruteForce = expected.keySet().stream().filter(value -> value.contains(query)).count();
+            assertThat(index.search(query, 10_000)).hasSize((int) bruteForce)
+                    .allSatisfy(match -> assertThat(match.count()).isEqualTo(expected.get(match.value())));
+        }
+        assertThat(index.size()).isEqualTo(expected.size());
+        assertThat(index.estimatedBytes()).isPositive();
+    }
+}